@@ -0,0 +1,35 @@
+package org.commonjava.redhat.maven.rv.bench;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+
+public final class BenchmarkDirs
+{
+
+    private BenchmarkDirs()
+    {
+    }
+
+    public static File create( final String prefix )
+        throws IOException
+    {
+        final File dir = File.createTempFile( prefix, ".dir" );
+        if ( !dir.delete() || !dir.mkdirs() )
+        {
+            throw new IOException( "Cannot create benchmark directory: " + dir );
+        }
+
+        return dir;
+    }
+
+    public static void delete( final File dir )
+    {
+        if ( dir != null )
+        {
+            FileUtils.deleteQuietly( dir );
+        }
+    }
+
+}
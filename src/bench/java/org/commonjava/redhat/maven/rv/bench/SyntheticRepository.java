@@ -0,0 +1,346 @@
+package org.commonjava.redhat.maven.rv.bench;
+
+import static org.apache.commons.io.IOUtils.closeQuietly;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Writer;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+
+/**
+ * Generates a Maven repository of configurable size for the benchmarks. Every project inherits from a shared parent and
+ * imports a shared BOM; dependency versions and groupIds are written partly as expressions, and a share of the
+ * dependencies point at projects that do not exist, so the validator has missing references to report. The same
+ * settings and seed always produce the same repository.
+ */
+public class SyntheticRepository
+{
+
+    public static final String GROUP_PREFIX = "org.commonjava.rv.bench";
+
+    public static final String PARENT_ARTIFACT = "bench-parent";
+
+    public static final String BOM_ARTIFACT = "bench-bom";
+
+    public static final String INFRA_VERSION = "1";
+
+    private int groups = 10;
+
+    private int artifactsPerGroup = 10;
+
+    private int versionsPerArtifact = 2;
+
+    private int dependenciesPerPom = 5;
+
+    private int missingPercent = 5;
+
+    private long seed = 1L;
+
+    private final List<File> pomFiles = new ArrayList<File>();
+
+    public SyntheticRepository withGroups( final int groups )
+    {
+        this.groups = groups;
+        return this;
+    }
+
+    public SyntheticRepository withArtifactsPerGroup( final int artifactsPerGroup )
+    {
+        this.artifactsPerGroup = artifactsPerGroup;
+        return this;
+    }
+
+    public SyntheticRepository withVersionsPerArtifact( final int versionsPerArtifact )
+    {
+        this.versionsPerArtifact = versionsPerArtifact;
+        return this;
+    }
+
+    public SyntheticRepository withDependenciesPerPom( final int dependenciesPerPom )
+    {
+        this.dependenciesPerPom = dependenciesPerPom;
+        return this;
+    }
+
+    public SyntheticRepository withMissingPercent( final int missingPercent )
+    {
+        this.missingPercent = missingPercent;
+        return this;
+    }
+
+    public SyntheticRepository withSeed( final long seed )
+    {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Writes the repository into <code>dir</code> and returns the POM files of the generated projects (not including
+     * the shared parent and BOM).
+     */
+    public List<File> generate( final File dir )
+        throws IOException
+    {
+        pomFiles.clear();
+
+        final Random random = new Random( seed );
+
+        final Model parent = newModel( GROUP_PREFIX, PARENT_ARTIFACT, INFRA_VERSION, "pom" );
+        writeProject( dir, parent, null );
+
+        final Model bom = newModel( GROUP_PREFIX, BOM_ARTIFACT, INFRA_VERSION, "pom" );
+        final DependencyManagement bomManagement = new DependencyManagement();
+        for ( int g = 0; g < groups; g++ )
+        {
+            final Dependency managed = new Dependency();
+            managed.setGroupId( groupId( g ) );
+            managed.setArtifactId( artifactId( 0 ) );
+            managed.setVersion( version( versionsPerArtifact - 1 ) );
+            bomManagement.addDependency( managed );
+        }
+        bom.setDependencyManagement( bomManagement );
+        writeProject( dir, bom, null );
+
+        for ( int g = 0; g < groups; g++ )
+        {
+            for ( int a = 0; a < artifactsPerGroup; a++ )
+            {
+                final List<String> versions = new ArrayList<String>();
+                for ( int v = 0; v < versionsPerArtifact; v++ )
+                {
+                    final String version = version( v );
+                    versions.add( version );
+
+                    final Model model = newModel( groupId( g ), artifactId( a ), version, "jar" );
+                    model.setGroupId( null );
+
+                    final Parent p = new Parent();
+                    p.setGroupId( groupId( g ) );
+                    p.setArtifactId( PARENT_ARTIFACT );
+                    p.setVersion( INFRA_VERSION );
+                    model.setParent( p );
+
+                    final Dependency importBom = new Dependency();
+                    importBom.setGroupId( GROUP_PREFIX );
+                    importBom.setArtifactId( BOM_ARTIFACT );
+                    importBom.setVersion( INFRA_VERSION );
+                    importBom.setType( "pom" );
+                    importBom.setScope( "import" );
+
+                    final DependencyManagement dm = new DependencyManagement();
+                    dm.addDependency( importBom );
+                    model.setDependencyManagement( dm );
+
+                    for ( int d = 0; d < dependenciesPerPom; d++ )
+                    {
+                        model.addDependency( newDependency( model, d, g, random ) );
+                    }
+
+                    writeProject( dir, model, versions );
+                }
+            }
+
+            // one parent per group, so the inheritance chain is two deep.
+            final Model groupParent = newModel( groupId( g ), PARENT_ARTIFACT, INFRA_VERSION, "pom" );
+            final Parent p = new Parent();
+            p.setGroupId( GROUP_PREFIX );
+            p.setArtifactId( PARENT_ARTIFACT );
+            p.setVersion( INFRA_VERSION );
+            groupParent.setParent( p );
+            writeProject( dir, groupParent, null );
+        }
+
+        return new ArrayList<File>( pomFiles );
+    }
+
+    private Dependency newDependency( final Model model, final int index, final int group, final Random random )
+    {
+        final Dependency dep = new Dependency();
+        if ( random.nextInt( 100 ) < missingPercent )
+        {
+            dep.setGroupId( groupId( group ) );
+            dep.setArtifactId( "missing-" + random.nextInt( artifactsPerGroup ) );
+            dep.setVersion( version( 0 ) );
+            return dep;
+        }
+
+        final int g = random.nextInt( groups );
+        final int a = random.nextInt( artifactsPerGroup );
+        final int v = random.nextInt( versionsPerArtifact );
+
+        dep.setGroupId( g == group ? "${project.groupId}" : groupId( g ) );
+        dep.setArtifactId( artifactId( a ) );
+
+        if ( random.nextBoolean() )
+        {
+            final String property = "dep" + index + ".version";
+            model.addProperty( property, version( v ) );
+            dep.setVersion( "${" + property + "}" );
+        }
+        else
+        {
+            dep.setVersion( version( v ) );
+        }
+
+        if ( index == 0 )
+        {
+            dep.setScope( "test" );
+        }
+
+        return dep;
+    }
+
+    private void writeProject( final File dir, final Model model, final List<String> versions )
+        throws IOException
+    {
+        final String groupId = model.getGroupId() == null ? model.getParent()
+                                                                 .getGroupId() : model.getGroupId();
+
+        final File artifactDir = new File( dir, groupId.replace( '.', '/' ) + "/" + model.getArtifactId() );
+        final File versionDir = new File( artifactDir, model.getVersion() );
+        if ( !versionDir.isDirectory() && !versionDir.mkdirs() )
+        {
+            throw new IOException( "Cannot create directory: " + versionDir );
+        }
+
+        final String base = model.getArtifactId() + "-" + model.getVersion();
+
+        final File pom = new File( versionDir, base + ".pom" );
+        Writer writer = null;
+        try
+        {
+            writer = new FileWriter( pom );
+            new MavenXpp3Writer().write( writer, model );
+        }
+        finally
+        {
+            closeQuietly( writer );
+        }
+
+        if ( "jar".equals( model.getPackaging() ) )
+        {
+            OutputStream out = null;
+            try
+            {
+                out = new FileOutputStream( new File( versionDir, base + ".jar" ) );
+                out.write( base.getBytes( "UTF-8" ) );
+            }
+            finally
+            {
+                closeQuietly( out );
+            }
+
+            pomFiles.add( pom );
+        }
+
+        if ( versions != null && model.getVersion()
+                                      .equals( versions.get( versions.size() - 1 ) ) )
+        {
+            final Versioning versioning = new Versioning();
+            versioning.setVersions( new ArrayList<String>( versions ) );
+            versioning.setLatest( model.getVersion() );
+            versioning.setRelease( model.getVersion() );
+
+            final Metadata metadata = new Metadata();
+            metadata.setGroupId( groupId );
+            metadata.setArtifactId( model.getArtifactId() );
+            metadata.setVersioning( versioning );
+
+            try
+            {
+                writer = new FileWriter( new File( artifactDir, "maven-metadata.xml" ) );
+                new MetadataXpp3Writer().write( writer, metadata );
+            }
+            finally
+            {
+                closeQuietly( writer );
+            }
+        }
+    }
+
+    private static Model newModel( final String groupId, final String artifactId, final String version,
+                                   final String packaging )
+    {
+        final Model model = new Model();
+        model.setModelVersion( "4.0.0" );
+        model.setGroupId( groupId );
+        model.setArtifactId( artifactId );
+        model.setVersion( version );
+        model.setPackaging( packaging );
+
+        return model;
+    }
+
+    public static String groupId( final int group )
+    {
+        return GROUP_PREFIX + ".g" + group;
+    }
+
+    public static String artifactId( final int artifact )
+    {
+        return "a" + artifact;
+    }
+
+    public static String version( final int version )
+    {
+        return "1." + version;
+    }
+
+    /**
+     * Usage: <code>SyntheticRepository &lt;dir&gt; [groups] [artifacts-per-group] [versions-per-artifact]
+     * [dependencies-per-pom] [missing-percent] [seed]</code>
+     */
+    public static void main( final String[] args )
+        throws IOException
+    {
+        if ( args.length < 1 )
+        {
+            System.err.println( "Usage: SyntheticRepository <dir> [groups] [artifacts-per-group] [versions-per-artifact] [dependencies-per-pom] [missing-percent] [seed]" );
+            System.exit( 1 );
+        }
+
+        final SyntheticRepository repo = new SyntheticRepository();
+        if ( args.length > 1 )
+        {
+            repo.withGroups( Integer.parseInt( args[1] ) );
+        }
+        if ( args.length > 2 )
+        {
+            repo.withArtifactsPerGroup( Integer.parseInt( args[2] ) );
+        }
+        if ( args.length > 3 )
+        {
+            repo.withVersionsPerArtifact( Integer.parseInt( args[3] ) );
+        }
+        if ( args.length > 4 )
+        {
+            repo.withDependenciesPerPom( Integer.parseInt( args[4] ) );
+        }
+        if ( args.length > 5 )
+        {
+            repo.withMissingPercent( Integer.parseInt( args[5] ) );
+        }
+        if ( args.length > 6 )
+        {
+            repo.withSeed( Long.parseLong( args[6] ) );
+        }
+
+        final List<File> poms = repo.generate( new File( args[0] ) );
+        System.out.printf( "Generated %d project POMs in: %s\n", poms.size(), args[0] );
+    }
+
+}
@@ -0,0 +1,98 @@
+package org.commonjava.redhat.maven.rv.comp;
+
+import static org.commonjava.redhat.maven.rv.bench.SyntheticRepository.artifactId;
+import static org.commonjava.redhat.maven.rv.bench.SyntheticRepository.groupId;
+import static org.commonjava.redhat.maven.rv.bench.SyntheticRepository.version;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.commonjava.redhat.maven.rv.bench.BenchmarkDirs;
+import org.commonjava.redhat.maven.rv.bench.SyntheticRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sonatype.aether.artifact.Artifact;
+import org.sonatype.aether.util.artifact.DefaultArtifact;
+
+/**
+ * Looks up artifacts and versions in a synthetic repository, roughly one in five of them absent, with and without a
+ * {@link RepositoryIndex}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class DirWorkspaceReaderBenchmark
+{
+
+    @Param( { "10" } )
+    public int groups;
+
+    @Param( { "20" } )
+    public int artifactsPerGroup;
+
+    @Param( { "false", "true" } )
+    public boolean indexed;
+
+    private File repository;
+
+    private DirWorkspaceReader reader;
+
+    private List<Artifact> artifacts;
+
+    @Setup
+    public void setup()
+        throws Exception
+    {
+        repository = BenchmarkDirs.create( "rv-bench-workspace" );
+        new SyntheticRepository().withGroups( groups )
+                                 .withArtifactsPerGroup( artifactsPerGroup )
+                                 .generate( repository );
+
+        reader = new DirWorkspaceReader( repository, indexed ? RepositoryWalker.scan( repository ) : null );
+
+        artifacts = new ArrayList<Artifact>();
+        for ( int g = 0; g < groups; g++ )
+        {
+            for ( int a = 0; a < artifactsPerGroup; a++ )
+            {
+                final String artifactId = a % 5 == 4 ? "absent-" + a : artifactId( a );
+                artifacts.add( new DefaultArtifact( groupId( g ), artifactId, "jar", version( 0 ) ) );
+            }
+        }
+    }
+
+    @TearDown
+    public void teardown()
+    {
+        BenchmarkDirs.delete( repository );
+    }
+
+    @Benchmark
+    public void findArtifact( final Blackhole bh )
+    {
+        for ( final Artifact artifact : artifacts )
+        {
+            bh.consume( reader.findArtifact( artifact ) );
+        }
+    }
+
+    @Benchmark
+    public void findVersions( final Blackhole bh )
+    {
+        for ( final Artifact artifact : artifacts )
+        {
+            bh.consume( reader.findVersions( artifact ) );
+        }
+    }
+
+}
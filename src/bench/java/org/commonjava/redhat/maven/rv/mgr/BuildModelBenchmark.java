@@ -0,0 +1,111 @@
+package org.commonjava.redhat.maven.rv.mgr;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.Model;
+import org.commonjava.redhat.maven.rv.bench.BenchmarkDirs;
+import org.commonjava.redhat.maven.rv.bench.SyntheticRepository;
+import org.commonjava.redhat.maven.rv.comp.MavenComponentManager;
+import org.commonjava.redhat.maven.rv.comp.RepositoryWalker;
+import org.commonjava.redhat.maven.rv.session.ValidatorSession;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Builds effective models for the POMs of a synthetic repository, one POM per call, using the same components and
+ * session setup as a validation run.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class BuildModelBenchmark
+{
+
+    @Param( { "5" } )
+    public int groups;
+
+    @Param( { "10" } )
+    public int artifactsPerGroup;
+
+    @Param( { "5" } )
+    public int dependenciesPerPom;
+
+    @Param( { "5000" } )
+    public int modelCacheSize;
+
+    private File repository;
+
+    private File workspace;
+
+    private Weld weld;
+
+    private ValidationManager manager;
+
+    private ValidatorSession session;
+
+    private List<File> poms;
+
+    private int next;
+
+    @Setup
+    public void setup()
+        throws Exception
+    {
+        repository = BenchmarkDirs.create( "rv-bench-repo" );
+        workspace = BenchmarkDirs.create( "rv-bench-workspace" );
+
+        poms = new SyntheticRepository().withGroups( groups )
+                                        .withArtifactsPerGroup( artifactsPerGroup )
+                                        .withDependenciesPerPom( dependenciesPerPom )
+                                        .generate( repository );
+
+        weld = new Weld();
+        final WeldContainer container = weld.initialize();
+        manager = container.instance()
+                           .select( ValidationManager.class )
+                           .get();
+
+        session = new ValidatorSession.Builder( repository, workspace ).withGraphingEnabled( false )
+                                                                       .withModelCacheSize( modelCacheSize )
+                                                                       .build();
+
+        session.initializeMavenComponents( container.instance()
+                                                    .select( MavenComponentManager.class )
+                                                    .get() );
+
+        session.setRepositoryIndex( RepositoryWalker.scan( repository ) );
+    }
+
+    @TearDown
+    public void teardown()
+    {
+        if ( weld != null )
+        {
+            weld.shutdown();
+        }
+
+        BenchmarkDirs.delete( repository );
+        BenchmarkDirs.delete( workspace );
+    }
+
+    @Benchmark
+    public Model buildModel()
+    {
+        final File pom = poms.get( next );
+        next = ( next + 1 ) % poms.size();
+
+        return manager.buildModel( pom, session );
+    }
+
+}
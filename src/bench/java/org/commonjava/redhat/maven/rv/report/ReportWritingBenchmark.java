@@ -0,0 +1,96 @@
+package org.commonjava.redhat.maven.rv.report;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.graph.common.ref.ProjectRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.commonjava.redhat.maven.rv.ValidationException;
+import org.commonjava.redhat.maven.rv.bench.BenchmarkDirs;
+import org.commonjava.redhat.maven.rv.session.ValidatorSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Writes the reports that don't need the relationship graph from a session filled with synthetic results.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+public class ReportWritingBenchmark
+{
+
+    @Param( { "SeenReport", "ValidReport", "MissingReport", "ModelWithFailureReport", "FailedVersionResolutionReport",
+        "LowLevelErrorReport" } )
+    public String report;
+
+    @Param( { "20000" } )
+    public int projects;
+
+    /**
+     * One in this many projects is missing, and one in this many has an error.
+     */
+    @Param( { "20" } )
+    public int failureInterval;
+
+    private File workspace;
+
+    private ValidatorSession session;
+
+    private ValidationReport writer;
+
+    @Setup
+    public void setup()
+        throws Exception
+    {
+        workspace = BenchmarkDirs.create( "rv-bench-reports" );
+        session = new ValidatorSession.Builder( workspace, workspace ).withGraphingEnabled( false )
+                                                                      .build();
+
+        for ( int i = 0; i < projects; i++ )
+        {
+            final ProjectVersionRef ref =
+                new ProjectVersionRef( "org.commonjava.rv.bench.g" + ( i % 100 ), "a" + i, "1." + ( i % 7 ) );
+
+            session.addSeen( ref );
+            if ( i % failureInterval == 0 )
+            {
+                session.addMissing( ref );
+                session.addMissing( new ArtifactRef( ref, "jar", null, false ) );
+                session.addVersionResolutionFailure( new ProjectRef( ref.getGroupId(), ref.getArtifactId() ) );
+            }
+            else if ( i % failureInterval == 1 )
+            {
+                final ValidationException error = new ValidationException( "Synthetic failure for: %s", ref );
+                session.addError( ref, error );
+                session.addLowLevelError( error );
+            }
+        }
+
+        writer = (ValidationReport) Class.forName( ValidationReport.class.getPackage()
+                                                                         .getName() + "." + report )
+                                         .newInstance();
+    }
+
+    @TearDown
+    public void teardown()
+    {
+        BenchmarkDirs.delete( workspace );
+    }
+
+    @Benchmark
+    public void write()
+        throws Exception
+    {
+        writer.write( session );
+    }
+
+}
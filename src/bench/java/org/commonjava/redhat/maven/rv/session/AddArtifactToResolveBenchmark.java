@@ -0,0 +1,74 @@
+package org.commonjava.redhat.maven.rv.session;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.commonjava.redhat.maven.rv.bench.BenchmarkDirs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Queues references for resolution, cycling through a fixed set so that most calls after the first pass hit
+ * references the session has already queued.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+public class AddArtifactToResolveBenchmark
+{
+
+    @Param( { "10000" } )
+    public int distinctRefs;
+
+    private File workspace;
+
+    private ValidatorSession session;
+
+    private ProjectVersionRef[] refs;
+
+    private int next;
+
+    @Setup( Level.Trial )
+    public void setupRefs()
+        throws Exception
+    {
+        workspace = BenchmarkDirs.create( "rv-bench-queue" );
+
+        refs = new ProjectVersionRef[distinctRefs];
+        for ( int i = 0; i < distinctRefs; i++ )
+        {
+            refs[i] = new ProjectVersionRef( "org.commonjava.rv.bench.g" + ( i % 100 ), "a" + i, "1." + ( i % 7 ) );
+        }
+    }
+
+    @Setup( Level.Iteration )
+    public void setupSession()
+    {
+        session = new ValidatorSession.Builder( workspace, workspace ).withGraphingEnabled( false )
+                                                                      .build();
+        next = 0;
+    }
+
+    @TearDown( Level.Trial )
+    public void teardown()
+    {
+        BenchmarkDirs.delete( workspace );
+    }
+
+    @Benchmark
+    public void addArtifactToResolve()
+    {
+        session.addArtifactToResolve( refs[next], "jar" );
+        next = ( next + 1 ) % refs.length;
+    }
+
+}
@@ -0,0 +1,219 @@
+package org.commonjava.redhat.maven.rv.session;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Heap retained by the session's per-reference tables (seen, missing, model problems, errors, files per project and
+ * resolution repositories per artifact), filled the way a validation run fills them: every call site builds its own
+ * reference instances over shared coordinate strings. Compares the concurrent hash sets and maps the session used to
+ * keep against the {@link RefIdSet}/{@link RefIdMap} tables over one {@link RefSymbolTable}. The time is meaningless;
+ * read the <code>retainedBytes</code> counter.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.SingleShotTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 1 )
+@Measurement( iterations = 1 )
+@Fork( 1 )
+public class RefTablesBenchmark
+{
+
+    @Param( { "100000" } )
+    public int size;
+
+    private String[] groupIds;
+
+    private String[] artifactIds;
+
+    private String[] versions;
+
+    private String[] missingArtifactIds;
+
+    private final Set<ModelProblemStub> problems = Collections.singleton( new ModelProblemStub() );
+
+    private final Set<Exception> errors = Collections.<Exception> singleton( new Exception() );
+
+    private final Set<String> files = Collections.singleton( "file.jar" );
+
+    private final List<String> repos = Collections.singletonList( "central" );
+
+    // keeps the tables being measured reachable.
+    private Object tables;
+
+    /**
+     * Stands in for the model problems; only the table structure is measured.
+     */
+    private static final class ModelProblemStub
+    {
+    }
+
+    @State( Scope.Thread )
+    @AuxCounters( AuxCounters.Type.EVENTS )
+    public static class Retained
+    {
+        public long retainedBytes;
+
+        @Setup( Level.Iteration )
+        public void reset()
+        {
+            retainedBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setup()
+    {
+        groupIds = new String[size];
+        artifactIds = new String[size];
+        versions = new String[size];
+        missingArtifactIds = new String[size];
+        for ( int i = 0; i < size; i++ )
+        {
+            groupIds[i] = "org.commonjava.rv.bench.g" + ( i % 100 );
+            artifactIds[i] = "a" + i;
+            versions[i] = "1." + ( i % 7 );
+            missingArtifactIds[i] = "missing-a" + i;
+        }
+    }
+
+    @Benchmark
+    public void hashTables( final Retained retained )
+    {
+        tables = null;
+        final long before = usedHeap();
+
+        final Set<ProjectVersionRef> seen =
+            Collections.newSetFromMap( new ConcurrentHashMap<ProjectVersionRef, Boolean>() );
+        final Set<ProjectVersionRef> missing =
+            Collections.newSetFromMap( new ConcurrentHashMap<ProjectVersionRef, Boolean>() );
+        final Map<ProjectVersionRef, Set<ModelProblemStub>> modelProblems =
+            new ConcurrentHashMap<ProjectVersionRef, Set<ModelProblemStub>>();
+        final Map<ProjectVersionRef, Set<Exception>> errorsByRef =
+            new ConcurrentHashMap<ProjectVersionRef, Set<Exception>>();
+        final Map<ProjectVersionRef, Set<String>> filesPerProject =
+            new ConcurrentHashMap<ProjectVersionRef, Set<String>>();
+        final Map<ArtifactRef, List<String>> reposPerArtifact = new HashMap<ArtifactRef, List<String>>();
+
+        for ( int i = 0; i < size; i++ )
+        {
+            seen.add( project( i ) );
+            filesPerProject.put( project( i ), files );
+            reposPerArtifact.put( artifact( i, "pom" ), repos );
+            reposPerArtifact.put( artifact( i, "jar" ), repos );
+
+            if ( i % 10 == 0 )
+            {
+                missing.add( project( i + size ) );
+                reposPerArtifact.put( artifact( i + size, "jar" ), repos );
+            }
+
+            if ( i % 5 == 0 )
+            {
+                modelProblems.put( project( i ), problems );
+                errorsByRef.put( project( i ), errors );
+            }
+        }
+
+        tables = new Object[] { seen, missing, modelProblems, errorsByRef, filesPerProject, reposPerArtifact };
+        retained.retainedBytes = usedHeap() - before;
+    }
+
+    @Benchmark
+    public void symbolTables( final Retained retained )
+    {
+        tables = null;
+        final long before = usedHeap();
+
+        final RefSymbolTable symbols = new RefSymbolTable();
+        final RefIdSet seen = new RefIdSet( symbols );
+        final RefIdSet missing = new RefIdSet( symbols );
+        final RefIdMap<ProjectVersionRef, Set<ModelProblemStub>> modelProblems =
+            new RefIdMap<ProjectVersionRef, Set<ModelProblemStub>>( symbols );
+        final RefIdMap<ProjectVersionRef, Set<Exception>> errorsByRef =
+            new RefIdMap<ProjectVersionRef, Set<Exception>>( symbols );
+        final RefIdMap<ProjectVersionRef, Set<String>> filesPerProject =
+            new RefIdMap<ProjectVersionRef, Set<String>>( symbols );
+        final RefIdMap<ArtifactRef, List<String>> reposPerArtifact = new RefIdMap<ArtifactRef, List<String>>( symbols );
+
+        for ( int i = 0; i < size; i++ )
+        {
+            seen.add( project( i ) );
+            filesPerProject.put( project( i ), files );
+            reposPerArtifact.put( artifact( i, "pom" ), repos );
+            reposPerArtifact.put( artifact( i, "jar" ), repos );
+
+            if ( i % 10 == 0 )
+            {
+                missing.add( project( i + size ) );
+                reposPerArtifact.put( artifact( i + size, "jar" ), repos );
+            }
+
+            if ( i % 5 == 0 )
+            {
+                modelProblems.put( project( i ), problems );
+                errorsByRef.put( project( i ), errors );
+            }
+        }
+
+        tables = new Object[] { symbols, seen, missing, modelProblems, errorsByRef, filesPerProject, reposPerArtifact };
+        retained.retainedBytes = usedHeap() - before;
+    }
+
+    // indexes past size are missing projects.
+    private ProjectVersionRef project( final int index )
+    {
+        final int i = index % size;
+        return new ProjectVersionRef( groupIds[i], index < size ? artifactIds[i] : missingArtifactIds[i], versions[i] );
+    }
+
+    private ArtifactRef artifact( final int index, final String type )
+    {
+        return new ArtifactRef( project( index ), type, null, false );
+    }
+
+    private static long usedHeap()
+    {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        for ( int i = 0; i < 5; i++ )
+        {
+            System.gc();
+
+            final long current = memory.getHeapMemoryUsage()
+                                       .getUsed();
+            if ( current >= used )
+            {
+                break;
+            }
+
+            used = current;
+        }
+
+        return used;
+    }
+
+}
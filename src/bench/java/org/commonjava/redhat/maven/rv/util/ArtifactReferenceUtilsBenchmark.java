@@ -0,0 +1,109 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import static org.commonjava.redhat.maven.rv.util.ArtifactReferenceUtils.toArtifactRef;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.commonjava.redhat.maven.rv.bench.BenchmarkDirs;
+import org.commonjava.redhat.maven.rv.session.ValidatorSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Converts a POM's dependencies into artifact references, with and without expressions to interpolate.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class ArtifactReferenceUtilsBenchmark
+{
+
+    @Param( { "false", "true" } )
+    public boolean expressions;
+
+    @Param( { "20" } )
+    public int dependencies;
+
+    private File workspace;
+
+    private ValidatorSession session;
+
+    private Model model;
+
+    private ProjectVersionRef src;
+
+    private List<Dependency> deps;
+
+    @Setup
+    public void setup()
+        throws Exception
+    {
+        workspace = BenchmarkDirs.create( "rv-bench-refs" );
+        session = new ValidatorSession.Builder( workspace, workspace ).withGraphingEnabled( false )
+                                                                      .build();
+
+        model = new Model();
+        model.setModelVersion( "4.0.0" );
+        model.setGroupId( "org.commonjava.rv.bench" );
+        model.setArtifactId( "refs" );
+        model.setVersion( "1.0" );
+
+        src = new ProjectVersionRef( model.getGroupId(), model.getArtifactId(), model.getVersion() );
+
+        deps = new ArrayList<Dependency>();
+        for ( int i = 0; i < dependencies; i++ )
+        {
+            final Dependency dep = new Dependency();
+            dep.setArtifactId( "dep-" + i );
+            if ( expressions )
+            {
+                model.addProperty( "dep" + i + ".version", "1." + i );
+                dep.setGroupId( "${project.groupId}" );
+                dep.setVersion( "${dep" + i + ".version}" );
+            }
+            else
+            {
+                dep.setGroupId( model.getGroupId() );
+                dep.setVersion( "1." + i );
+            }
+
+            deps.add( dep );
+        }
+    }
+
+    @TearDown
+    public void teardown()
+    {
+        BenchmarkDirs.delete( workspace );
+    }
+
+    @Benchmark
+    public void dependencies( final Blackhole bh )
+    {
+        for ( final Dependency dep : deps )
+        {
+            bh.consume( toArtifactRef( dep, src, session, model ) );
+        }
+    }
+
+    @Benchmark
+    public ProjectVersionRef model()
+    {
+        return toArtifactRef( model, session );
+    }
+
+}
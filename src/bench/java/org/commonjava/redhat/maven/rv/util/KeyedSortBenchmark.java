@@ -0,0 +1,113 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.graph.common.DependencyScope;
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.apache.maven.graph.effective.rel.DependencyRelationship;
+import org.apache.maven.graph.effective.rel.ProjectRelationship;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Sorts project references and relationships the way the reports do, against the comparators that render both sides
+ * of every comparison. Run with {@code -prof gc} to see the allocation per sort.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+public class KeyedSortBenchmark
+{
+
+    @Param( { "200000" } )
+    public int size;
+
+    private List<ProjectVersionRef> refs;
+
+    private List<ProjectRelationship<?>> rels;
+
+    @Setup
+    public void setup()
+    {
+        final Random random = new Random( 1 );
+
+        refs = new ArrayList<ProjectVersionRef>( size );
+        rels = new ArrayList<ProjectRelationship<?>>( size );
+        for ( int i = 0; i < size; i++ )
+        {
+            final ProjectVersionRef ref =
+                new ProjectVersionRef( "org.commonjava.rv.bench.g" + random.nextInt( 100 ), "a" + random.nextInt( size ),
+                                       "1." + random.nextInt( 7 ) );
+
+            refs.add( ref );
+            rels.add( new DependencyRelationship( ref, new ArtifactRef( ref, "jar", null, false ),
+                                                  DependencyScope.compile, 0, false ) );
+        }
+    }
+
+    @Benchmark
+    public List<ProjectVersionRef> refsByToStringComparator()
+    {
+        final List<ProjectVersionRef> sorted = new ArrayList<ProjectVersionRef>( refs );
+        Collections.sort( sorted, new Comparator<ProjectVersionRef>()
+        {
+            public int compare( final ProjectVersionRef first, final ProjectVersionRef second )
+            {
+                return first.toString()
+                            .compareTo( second.toString() );
+            }
+        } );
+
+        return sorted;
+    }
+
+    @Benchmark
+    public List<ProjectVersionRef> refsByKey()
+    {
+        return KeyedSort.sortByToString( refs );
+    }
+
+    @Benchmark
+    public List<ProjectRelationship<?>> relationshipsByDeclarationComparator()
+    {
+        final List<ProjectRelationship<?>> sorted = new ArrayList<ProjectRelationship<?>>( rels );
+        Collections.sort( sorted, new Comparator<ProjectRelationship<?>>()
+        {
+            public int compare( final ProjectRelationship<?> first, final ProjectRelationship<?> second )
+            {
+                if ( first.getType() != second.getType() )
+                {
+                    return first.getType()
+                                .ordinal() - second.getType()
+                                                   .ordinal();
+                }
+
+                return first.getDeclaring()
+                            .toString()
+                            .compareTo( second.getDeclaring()
+                                              .toString() );
+            }
+        } );
+
+        return sorted;
+    }
+
+    @Benchmark
+    public List<ProjectRelationship<?>> relationshipsByKey()
+    {
+        return KeyedSort.sortByDeclaration( rels );
+    }
+
+}
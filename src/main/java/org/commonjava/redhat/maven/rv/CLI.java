@@ -11,8 +11,11 @@ import java.io.File;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import org.commonjava.redhat.maven.rv.comp.SimpleModelCache;
+import org.commonjava.redhat.maven.rv.graph.GraphBackend;
 import org.commonjava.redhat.maven.rv.mgr.ValidationManager;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
+import org.commonjava.redhat.maven.rv.util.PhaseTimer;
 import org.commonjava.redhat.maven.rv.util.ValidationLevel;
 import org.jboss.weld.environment.se.Weld;
 import org.kohsuke.args4j.Argument;
@@ -27,6 +30,18 @@ public class CLI
     @Argument( index = 0, metaVar = "repository", usage = "Directory containing repository to validate." )
     private File repository = new File( USER_DIR );
 
+    @Option( name = "-B", aliases = { "--graph-batch-size" }, usage = "With -G, number of relationships written to the graph at a time.\nDefault: 1000" )
+    private int graphBatchSize = ValidatorSession.DEFAULT_GRAPH_BATCH_SIZE;
+
+    @Option( name = "-C", aliases = { "--connections-per-repository" }, usage = "Maximum concurrent artifact requests against any one repository (0 for no limit).\nDefault: 4" )
+    private int connectionsPerRepository = ValidatorSession.DEFAULT_CONNECTIONS_PER_REPOSITORY;
+
+    @Option( name = "-D", aliases = { "--detailed-impacts" }, usage = "With -G, also list every path from a root project to each missing project (missing-impacts.txt). Can be slow and memory-hungry on large graphs." )
+    private boolean detailedImpacts;
+
+    @Option( name = "-d", aliases = { "--max-impact-depth" }, usage = "With -D, longest path (in relationships) listed for a missing project (0 for no limit).\nDefault: 50" )
+    private int maxImpactDepth = ValidatorSession.DEFAULT_MAX_IMPACT_DEPTH;
+
     @Option( name = "-e", usage = "POM exclude path pattern (glob)" )
     private String pomExcludePattern;
 
@@ -42,15 +57,51 @@ public class CLI
     @Option( name = "-r", aliases = { "--remote-repository" }, usage = "Remote repository URL to use in resolving dependencies, plugins, etc. (specify more than once to use multiple remotes)", multiValued = true )
     private List<String> remoteRepositories;
 
+    @Option( name = "-i", aliases = { "--metrics-interval" }, usage = "Seconds between the metrics snapshots written to metrics.json (and appended to metrics.jsonl) in the workspace during a run (0 for none).\nDefault: 60" )
+    private int metricsInterval = ValidatorSession.DEFAULT_METRICS_INTERVAL;
+
+    @Option( name = "-I", aliases = { "--incremental" }, usage = "Reuse the results of the previous run in the workspace, re-validating only changed POMs and the POMs that inherit from or import them." )
+    private boolean incremental;
+
+    @Option( name = "-m", aliases = { "--memory-graph" }, usage = "With -G, keep the relationship graph in memory instead of in an embedded Neo4j database under the workspace." )
+    private boolean memoryGraph;
+
+    @Option( name = "-L", aliases = { "--max-impact-paths" }, usage = "With -D, maximum number of paths listed per missing project (0 for no limit).\nDefault: 1000" )
+    private int maxImpactPaths = ValidatorSession.DEFAULT_MAX_IMPACT_PATHS;
+
+    @Option( name = "-M", aliases = { "--model-cache-size" }, usage = "Maximum number of parent/BOM models cached across model builds (0 disables the cache).\nDefault: 5000" )
+    private int modelCacheSize = SimpleModelCache.DEFAULT_MAX_ENTRIES;
+
+    @Option( name = "-p", aliases = { "--progress-interval" }, usage = "Seconds between progress lines (validation rate, queued work and estimated time left) during validation (0 for none).\nDefault: 10" )
+    private int progressInterval = ValidatorSession.DEFAULT_PROGRESS_INTERVAL;
+
+    @Option( name = "-P", aliases = { "--report-threads" }, usage = "Number of threads used to write reports that only read the validation results.\nDefault: 1" )
+    private int reportThreads = 1;
+
+    @Option( name = "-Q", aliases = { "--queue-capacity" }, usage = "Maximum number of discovered POMs, and of built models, waiting for the next validation stage.\nDefault: 64" )
+    private int queueCapacity = ValidatorSession.DEFAULT_QUEUE_CAPACITY;
+
     @Option( name = "-R", aliases = { "--reports" }, usage = "Write reports here.\nDefault: rv-workspace/reports" )
     private File reports;
 
     @Option( name = "-s", aliases = { "--settings" }, usage = "Settings.xml used to specify server authentications for use in artifact resolution" )
     private String settingsXml;
 
+    @Option( name = "-S", aliases = { "--shortest-impact-paths" }, usage = "With -D, list only the shortest paths to each missing project." )
+    private boolean shortestImpactPaths;
+
+    @Option( name = "-t", aliases = { "--threads" }, usage = "Number of threads used to build POMs, and number used to validate them.\nDefault: 1" )
+    private int threads = 1;
+
+    @Option( name = "-T", aliases = { "--resolver-threads" }, usage = "Number of threads used to resolve referenced artifacts.\nDefault: 1" )
+    private int resolverThreads = 1;
+
     @Option( name = "-v", aliases = { "-version", "--version" }, usage = "Print the version and quit." )
     private boolean showVersion;
 
+    @Option( name = "-V", aliases = { "--verbose" }, usage = "Log every POM and artifact as it's processed, in addition to the progress lines." )
+    private boolean verbose;
+
     @Option( name = "-W", aliases = { "--workspace" }, usage = "Location where output should be written, temp files cached, etc.\nDefault: rv-workspace" )
     private File workspace = new File( USER_DIR, "rv-workspace" );
 
@@ -76,6 +127,10 @@ public class CLI
                 System.out.printf( "\n\n%s, version: %s\n\n%s\n\nBuilt by: %s\nOn: %s\nCommit ID: %s\n\n\n", APP_NAME,
                                    APP_VERSION, APP_DESCRIPTION, APP_BUILDER, APP_TIMESTAMP, APP_COMMIT_ID );
             }
+            else if ( cli.memoryGraph && !cli.graphRelationships )
+            {
+                throw new CmdLineException( "-m (--memory-graph) only applies together with -G (--graph-relationships)." );
+            }
             else
             {
                 cli.run();
@@ -109,20 +164,44 @@ public class CLI
                                                                      .withPomExcludes( pomExcludePattern )
                                                                      .withSettingsXmlPath( settingsXml )
                                                                      .withRemoteRepositoryUrls( remoteRepositories )
-                                                                     .withGraphingEnabled( graphRelationships );
+                                                                     .withGraphingEnabled( graphRelationships )
+                                                                     .withGraphBatchSize( graphBatchSize )
+                                                                     .withDetailedImpacts( detailedImpacts )
+                                                                     .withImpactPathLimits( maxImpactPaths,
+                                                                                            maxImpactDepth,
+                                                                                            shortestImpactPaths )
+                                                                     .withThreads( threads )
+                                                                     .withModelCacheSize( modelCacheSize )
+                                                                     .withResolverThreads( resolverThreads )
+                                                                     .withConnectionsPerRepository( connectionsPerRepository )
+                                                                     .withReportThreads( reportThreads )
+                                                                     .withQueueCapacity( queueCapacity )
+                                                                     .withVerbose( verbose )
+                                                                     .withProgressInterval( progressInterval )
+                                                                     .withMetricsInterval( metricsInterval )
+                                                                     .withIncremental( incremental );
 
             if ( fullValidation )
             {
                 builder.withValidationLevel( ValidationLevel.FULL );
             }
 
+            if ( memoryGraph )
+            {
+                builder.withGraphBackend( GraphBackend.MEMORY );
+            }
+
             final ValidatorSession session = builder.build();
 
-            new Weld().initialize()
-                      .instance()
-                      .select( ValidationManager.class )
-                      .get()
-                      .validate( session );
+            final PhaseTimer timer = session.getPhaseTimer();
+            final PhaseTimer.Split init = timer.start();
+            final ValidationManager manager = new Weld().initialize()
+                                                        .instance()
+                                                        .select( ValidationManager.class )
+                                                        .get();
+            timer.stop( "init.weld", init );
+
+            manager.validate( session );
         }
         finally
         {
@@ -0,0 +1,59 @@
+package org.commonjava.redhat.maven.rv.comp;
+
+import static org.apache.commons.io.IOUtils.closeQuietly;
+import static org.apache.commons.io.IOUtils.toByteArray;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.maven.model.building.ModelSource;
+
+/**
+ * Reads the wrapped {@link ModelSource} once and serves every later request from memory, so falling back to the raw
+ * model after a failed build doesn't go back to the disk (or the network) for the same POM.
+ */
+public class BufferedModelSource
+    implements ModelSource
+{
+
+    private final ModelSource delegate;
+
+    private byte[] content;
+
+    public BufferedModelSource( final ModelSource delegate )
+    {
+        this.delegate = delegate;
+    }
+
+    public synchronized InputStream getInputStream()
+        throws IOException
+    {
+        if ( content == null )
+        {
+            final InputStream in = delegate.getInputStream();
+            try
+            {
+                content = toByteArray( in );
+            }
+            finally
+            {
+                closeQuietly( in );
+            }
+        }
+
+        return new ByteArrayInputStream( content );
+    }
+
+    public String getLocation()
+    {
+        return delegate.getLocation();
+    }
+
+    @Override
+    public String toString()
+    {
+        return delegate.toString();
+    }
+
+}
@@ -23,61 +23,53 @@ public class DirWorkspaceReader
 
     private final Logger logger = new Logger( getClass() );
 
-    private char FS = File.separatorChar;
-
     private File dir;
 
+    private final RepositoryIndex index;
+
     private final WorkspaceRepository repo = new WorkspaceRepository( "validator", "validator" );
 
     public DirWorkspaceReader( final File dir )
+    {
+        this( dir, null );
+    }
+
+    /**
+     * @param index listing of <code>dir</code> to answer lookups from; until it is complete (or if it is null), lookups
+     *            it can't answer check the filesystem
+     */
+    public DirWorkspaceReader( final File dir, final RepositoryIndex index )
     {
         this.dir = dir;
+        this.index = index;
     }
 
     public File findArtifact( final Artifact a )
     {
-        final StringBuilder path = new StringBuilder();
-        path.append( a.getGroupId()
-                      .replace( '.', FS ) )
-            .append( FS )
-            .append( a.getArtifactId() )
-            .append( FS )
-            .append( a.getVersion() )
-            .append( FS )
-            .append( a.getArtifactId() )
+        final String versionDir = getArtifactDirectory( a ) + '/' + a.getVersion();
+
+        final StringBuilder name = new StringBuilder();
+        name.append( a.getArtifactId() )
             .append( '-' )
             .append( a.getVersion() );
 
-        if ( a.getClassifier() != null )
+        if ( a.getClassifier() != null && a.getClassifier()
+                                             .length() > 0 )
         {
-            path.append( '-' )
+            name.append( '-' )
                 .append( a.getClassifier() );
         }
 
-        path.append( '.' )
+        name.append( '.' )
             .append( a.getExtension() );
 
-        final File f = new File( dir, path.toString() );
-        if ( f.exists() )
-        {
-            return f;
-        }
-
-        return null;
+        return find( versionDir, name.toString() );
     }
 
     public List<String> findVersions( final Artifact a )
     {
-        final StringBuilder path = new StringBuilder();
-        path.append( a.getGroupId()
-                      .replace( '.', FS ) )
-            .append( FS )
-            .append( a.getArtifactId() )
-            .append( FS )
-            .append( "maven-metadata.xml" );
-
-        File f = new File( dir, path.toString() );
-        if ( f.exists() )
+        File f = find( getArtifactDirectory( a ), "maven-metadata.xml" );
+        if ( f != null )
         {
             FileInputStream in = null;
             try
@@ -115,6 +107,35 @@ public class DirWorkspaceReader
         return null;
     }
 
+    private static String getArtifactDirectory( final Artifact a )
+    {
+        return a.getGroupId()
+                .replace( '.', '/' ) + '/' + a.getArtifactId();
+    }
+
+    private File find( final String directory, final String name )
+    {
+        if ( index != null )
+        {
+            if ( index.contains( directory, name ) )
+            {
+                return new File( dir, directory + '/' + name );
+            }
+            else if ( index.isComplete() )
+            {
+                return null;
+            }
+        }
+
+        final File f = new File( dir, directory + '/' + name );
+        if ( f.exists() )
+        {
+            return f;
+        }
+
+        return null;
+    }
+
     public WorkspaceRepository getRepository()
     {
         return repo;
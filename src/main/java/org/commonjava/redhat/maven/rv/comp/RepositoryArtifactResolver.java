@@ -0,0 +1,21 @@
+package org.commonjava.redhat.maven.rv.comp;
+
+import java.util.List;
+
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.graph.common.ref.ArtifactRef;
+
+/**
+ * Resolves an artifact against one remote repository at a time, so callers can tell which repository supplied it and
+ * limit how many requests each repository sees at once.
+ */
+public interface RepositoryArtifactResolver
+{
+
+    /**
+     * @param repository the remote repository to try, or null to consult only the local repository
+     * @return the errors encountered; empty if the artifact was resolved
+     */
+    List<Exception> resolve( ArtifactRef ref, ArtifactRepository repository );
+
+}
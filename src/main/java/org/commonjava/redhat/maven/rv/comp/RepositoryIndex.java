@@ -0,0 +1,98 @@
+package org.commonjava.redhat.maven.rv.comp;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory listing of a repository directory, filled in by a single scan. Files are grouped by the directory that
+ * holds them, which in the Maven 2 layout is one directory per GAV (plus one per GA for <code>maven-metadata.xml</code>),
+ * so checking whether an artifact exists never has to touch the filesystem once the scan is complete. While a scan is
+ * still running, a directory that hasn't been listed yet is simply unknown; see {@link #isComplete()}.
+ */
+public class RepositoryIndex
+{
+
+    private final File basedir;
+
+    private final Map<String, Set<String>> filesByDirectory = new ConcurrentHashMap<String, Set<String>>();
+
+    private final AtomicInteger files = new AtomicInteger();
+
+    private volatile boolean complete;
+
+    /**
+     * Empty index, to be filled in by a {@link RepositoryWalker}.
+     */
+    public RepositoryIndex( final File basedir )
+    {
+        this.basedir = basedir;
+    }
+
+    /**
+     * Records the files found in one directory. Each directory is listed once, so this replaces anything recorded for
+     * it before.
+     *
+     * @param directory path relative to the repository root, using '/' separators
+     */
+    void addDirectory( final String directory, final Collection<String> names )
+    {
+        final Set<String> previous =
+            filesByDirectory.put( directory, Collections.unmodifiableSet( new TreeSet<String>( names ) ) );
+
+        files.addAndGet( names.size() - ( previous == null ? 0 : previous.size() ) );
+    }
+
+    void setComplete()
+    {
+        complete = true;
+    }
+
+    /**
+     * Whether every directory in the repository has been listed. Until then, a lookup that misses the index may still
+     * find the file on disk.
+     */
+    public boolean isComplete()
+    {
+        return complete;
+    }
+
+    public File getBasedir()
+    {
+        return basedir;
+    }
+
+    /**
+     * @param directory path relative to the repository root, using '/' separators
+     */
+    public boolean contains( final String directory, final String name )
+    {
+        final Set<String> names = filesByDirectory.get( directory );
+        return names != null && names.contains( name );
+    }
+
+    /**
+     * @param directory path relative to the repository root, using '/' separators
+     * @return the (sorted) file names in the directory, or null if it hasn't been listed
+     */
+    public Set<String> getFiles( final String directory )
+    {
+        return filesByDirectory.get( directory );
+    }
+
+    public int getDirectoryCount()
+    {
+        return filesByDirectory.size();
+    }
+
+    public int getFileCount()
+    {
+        return files.get();
+    }
+
+}
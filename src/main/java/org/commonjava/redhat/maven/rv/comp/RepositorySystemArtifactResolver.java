@@ -0,0 +1,75 @@
+package org.commonjava.redhat.maven.rv.comp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.resolver.ArtifactResolutionRequest;
+import org.apache.maven.artifact.resolver.ArtifactResolutionResult;
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.repository.RepositorySystem;
+import org.commonjava.redhat.maven.rv.ValidationException;
+
+/**
+ * {@link RepositoryArtifactResolver} backed by Maven's {@link RepositorySystem}, using the session's base resolution
+ * request for the local repository and everything else.
+ */
+public class RepositorySystemArtifactResolver
+    implements RepositoryArtifactResolver
+{
+
+    private final RepositorySystem repoSystem;
+
+    private final ArtifactResolutionRequest baseRequest;
+
+    public RepositorySystemArtifactResolver( final RepositorySystem repoSystem,
+                                             final ArtifactResolutionRequest baseRequest )
+    {
+        this.repoSystem = repoSystem;
+        this.baseRequest = baseRequest;
+    }
+
+    public List<Exception> resolve( final ArtifactRef ref, final ArtifactRepository repository )
+    {
+        final ArtifactResolutionRequest req = new ArtifactResolutionRequest( baseRequest );
+
+        req.setArtifact( repoSystem.createArtifact( ref.getGroupId(), ref.getArtifactId(), ref.getVersionSpec()
+                                                                                              .renderStandard(),
+                                                    ref.getType() ) );
+
+        final List<ArtifactRepository> repositories;
+        if ( repository == null )
+        {
+            repositories = Collections.emptyList();
+        }
+        else
+        {
+            repositories = Collections.singletonList( repository );
+        }
+
+        req.setRemoteRepositories( repositories );
+
+        final ArtifactResolutionResult result = repoSystem.resolve( req );
+
+        final List<Exception> errors = new ArrayList<Exception>();
+        if ( result.getExceptions() != null )
+        {
+            errors.addAll( result.getExceptions() );
+        }
+
+        // not-found is reported apart from the other errors, so without this a missing artifact looks resolved.
+        if ( result.hasMissingArtifacts() )
+        {
+            for ( final Artifact artifact : result.getMissingArtifacts() )
+            {
+                errors.add( new ValidationException( "Artifact not found: %s in: %s", artifact,
+                                                     repository == null ? "local repository" : repository.getUrl() ) );
+            }
+        }
+
+        return errors;
+    }
+
+}
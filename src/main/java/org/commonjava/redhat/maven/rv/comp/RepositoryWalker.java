@@ -0,0 +1,445 @@
+package org.commonjava.redhat.maven.rv.comp;
+
+import static org.apache.commons.io.IOUtils.closeQuietly;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+
+import org.codehaus.plexus.util.DirectoryScanner;
+import org.codehaus.plexus.util.SelectorUtils;
+import org.commonjava.redhat.maven.rv.util.PhaseTimer;
+import org.commonjava.util.logging.Logger;
+
+/**
+ * Walks a repository directory on a fork/join pool, one task per directory, following symlinks and skipping the
+ * {@link DirectoryScanner} default excludes. Like {@link DirectoryScanner}, a directory reachable through several
+ * symlinked aliases is walked under each of them; only a symlink back to one of its own ancestors is skipped. Each
+ * listing is sorted by name: its files go into a {@link RepositoryIndex} and the POMs among them are handed out
+ * through {@link #discovered()} as soon as the listing is recorded, so validation can start before the walk
+ * finishes. With a bounded queue, the walk pauses whenever that many POMs are waiting to be consumed.
+ */
+public class RepositoryWalker
+{
+
+    // end-of-walk marker in the POM queue, compared by identity.
+    private static final String DONE = new String( "<done>" );
+
+    private final Logger logger = new Logger( getClass() );
+
+    private final File basedir;
+
+    private final String[] pomIncludes;
+
+    private final String[] pomExcludes;
+
+    private final String[] defaultExcludes;
+
+    private final int parallelism;
+
+    private final RepositoryIndex index;
+
+    private final BlockingQueue<String> poms;
+
+    private final CountDownLatch finished = new CountDownLatch( 1 );
+
+    private ForkJoinPool pool;
+
+    private PhaseTimer timer;
+
+    public RepositoryWalker( final File basedir, final String[] pomIncludes, final String[] pomExcludes,
+                             final int parallelism )
+    {
+        this( basedir, pomIncludes, pomExcludes, parallelism, Integer.MAX_VALUE );
+    }
+
+    /**
+     * @param queueCapacity maximum number of discovered POMs waiting to be consumed
+     */
+    public RepositoryWalker( final File basedir, final String[] pomIncludes, final String[] pomExcludes,
+                             final int parallelism, final int queueCapacity )
+    {
+        this.basedir = basedir;
+        this.pomIncludes = normalizePatterns( pomIncludes );
+        this.pomExcludes = normalizePatterns( pomExcludes == null ? new String[0] : pomExcludes );
+        this.defaultExcludes = normalizePatterns( DirectoryScanner.DEFAULTEXCLUDES );
+        this.parallelism = parallelism < 1 ? 1 : parallelism;
+        this.index = new RepositoryIndex( basedir );
+        this.poms = new LinkedBlockingQueue<String>( queueCapacity < 1 ? 1 : queueCapacity );
+    }
+
+    /**
+     * Lists everything under <code>basedir</code> and returns the complete index.
+     */
+    public static RepositoryIndex scan( final File basedir )
+    {
+        final RepositoryWalker walker =
+            new RepositoryWalker( basedir, new String[0], null, Runtime.getRuntime()
+                                                                      .availableProcessors() );
+        walker.start();
+        walker.awaitCompletion();
+
+        return walker.getIndex();
+    }
+
+    /**
+     * The index this walker fills in. It can be handed to readers before the walk starts; see
+     * {@link RepositoryIndex#isComplete()}.
+     */
+    public RepositoryIndex getIndex()
+    {
+        return index;
+    }
+
+    /**
+     * Times the directory listings as the <code>scan.poms</code> phase; set before {@link #start()}. Time spent waiting
+     * for room in the POM queue isn't counted.
+     */
+    public void setPhaseTimer( final PhaseTimer timer )
+    {
+        this.timer = timer;
+    }
+
+    public synchronized void start()
+    {
+        if ( pool != null )
+        {
+            throw new IllegalStateException( "Walk already started." );
+        }
+
+        final Path root = basedir.toPath();
+        Object rootKey;
+        try
+        {
+            rootKey = keyOf( root, Files.readAttributes( root, BasicFileAttributes.class ) );
+        }
+        catch ( final IOException e )
+        {
+            logger.error( "Cannot read repository directory: %s. Reason: %s", e, basedir, e.getMessage() );
+            rootKey = root.toAbsolutePath();
+        }
+
+        final Object key = rootKey;
+
+        pool = new ForkJoinPool( parallelism );
+        pool.execute( new RecursiveAction()
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute()
+            {
+                try
+                {
+                    new DirectoryTask( null, root, key, "" ).invoke();
+                }
+                finally
+                {
+                    index.setComplete();
+                    enqueue( DONE );
+                    finished.countDown();
+                    pool.shutdown();
+                }
+            }
+        } );
+    }
+
+    /**
+     * Blocks until the walk has finished; the POMs it found are still available from {@link #discovered()}.
+     */
+    public void awaitCompletion()
+    {
+        try
+        {
+            finished.await();
+        }
+        catch ( final InterruptedException e )
+        {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    /**
+     * POM paths relative to <code>basedir</code>, in the order they are found; with a parallelism of 1 that order is
+     * fixed. <code>hasNext()</code> blocks until the next POM is found or the walk finishes. The POMs can only be
+     * consumed once, by one thread.
+     */
+    public Iterator<String> discovered()
+    {
+        return new Iterator<String>()
+        {
+            private String next;
+
+            private boolean done;
+
+            public boolean hasNext()
+            {
+                if ( next == null && !done )
+                {
+                    try
+                    {
+                        next = poms.take();
+                    }
+                    catch ( final InterruptedException e )
+                    {
+                        Thread.currentThread()
+                              .interrupt();
+                    }
+
+                    if ( next == null || next == DONE )
+                    {
+                        next = null;
+                        done = true;
+                    }
+                }
+
+                return next != null;
+            }
+
+            public String next()
+            {
+                if ( !hasNext() )
+                {
+                    throw new NoSuchElementException();
+                }
+
+                final String result = next;
+                next = null;
+                return result;
+            }
+
+            public void remove()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private final class DirectoryTask
+        extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final DirectoryTask parent;
+
+        private final Path dir;
+
+        private final Object key;
+
+        private final String relativePath;
+
+        DirectoryTask( final DirectoryTask parent, final Path dir, final Object key, final String relativePath )
+        {
+            this.parent = parent;
+            this.dir = dir;
+            this.key = key;
+            this.relativePath = relativePath;
+        }
+
+        /**
+         * Guards against symlink cycles: true if this directory or one of its ancestors is the given physical
+         * directory.
+         */
+        boolean isWithin( final Object dirKey )
+        {
+            for ( DirectoryTask task = this; task != null; task = task.parent )
+            {
+                if ( task.key.equals( dirKey ) )
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        protected void compute()
+        {
+            final List<String> files = new ArrayList<String>();
+            final List<DirectoryTask> subdirs = new ArrayList<DirectoryTask>();
+            final PhaseTimer.Split split = timer == null ? null : timer.start();
+
+            final List<Path> entries = new ArrayList<Path>();
+            DirectoryStream<Path> stream = null;
+            try
+            {
+                stream = Files.newDirectoryStream( dir );
+                for ( final Path entry : stream )
+                {
+                    entries.add( entry );
+                }
+            }
+            catch ( final IOException e )
+            {
+                logger.error( "Failed to list directory: %s. Reason: %s", e, dir, e.getMessage() );
+            }
+            finally
+            {
+                closeQuietly( stream );
+            }
+
+            Collections.sort( entries );
+            for ( final Path entry : entries )
+            {
+                final String name = entry.getFileName()
+                                         .toString();
+                final String path = relativePath.length() == 0 ? name : relativePath + File.separator + name;
+
+                if ( matchesAny( path, defaultExcludes ) )
+                {
+                    continue;
+                }
+
+                BasicFileAttributes attrs;
+                try
+                {
+                    attrs = Files.readAttributes( entry, BasicFileAttributes.class );
+                }
+                catch ( final IOException e )
+                {
+                    // dangling symlink, or removed since the listing was taken.
+                    continue;
+                }
+
+                if ( attrs.isDirectory() )
+                {
+                    final Object entryKey = keyOf( entry, attrs );
+                    if ( !isWithin( entryKey ) )
+                    {
+                        subdirs.add( new DirectoryTask( this, entry, entryKey, path ) );
+                    }
+                }
+                else
+                {
+                    files.add( name );
+                }
+            }
+
+            index.addDirectory( relativePath.replace( File.separatorChar, '/' ), files );
+            if ( split != null )
+            {
+                timer.stop( "scan.poms", split );
+            }
+
+            for ( final String name : files )
+            {
+                final String path = relativePath.length() == 0 ? name : relativePath + File.separator + name;
+                if ( matchesAny( path, pomIncludes ) && !matchesAny( path, pomExcludes ) )
+                {
+                    enqueue( path );
+                }
+            }
+
+            invokeAll( subdirs );
+        }
+    }
+
+    /**
+     * Waits for room in the POM queue without starving the pool: the blocked worker is compensated for while it waits.
+     */
+    private void enqueue( final String pom )
+    {
+        if ( poms.offer( pom ) )
+        {
+            return;
+        }
+
+        try
+        {
+            ForkJoinPool.managedBlock( new ForkJoinPool.ManagedBlocker()
+            {
+                private boolean queued;
+
+                public boolean block()
+                    throws InterruptedException
+                {
+                    poms.put( pom );
+                    queued = true;
+                    return true;
+                }
+
+                public boolean isReleasable()
+                {
+                    return queued || ( queued = poms.offer( pom ) );
+                }
+            } );
+        }
+        catch ( final InterruptedException e )
+        {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    /**
+     * Identifies the physical directory behind a path.
+     */
+    private static Object keyOf( final Path dir, final BasicFileAttributes attrs )
+    {
+        Object key = attrs.fileKey();
+        if ( key == null )
+        {
+            try
+            {
+                key = dir.toRealPath();
+            }
+            catch ( final IOException e )
+            {
+                key = dir.toAbsolutePath();
+            }
+        }
+
+        return key;
+    }
+
+    /**
+     * Normalized the same way {@link DirectoryScanner} normalizes its include and exclude patterns.
+     */
+    private static String[] normalizePatterns( final String[] patterns )
+    {
+        final String[] normalized = new String[patterns.length];
+        for ( int i = 0; i < patterns.length; i++ )
+        {
+            String pattern = patterns[i].trim()
+                                        .replace( '/', File.separatorChar )
+                                        .replace( '\\', File.separatorChar );
+            if ( pattern.endsWith( File.separator ) )
+            {
+                pattern += "**";
+            }
+
+            normalized[i] = pattern;
+        }
+
+        return normalized;
+    }
+
+    private static boolean matchesAny( final String path, final String[] patterns )
+    {
+        for ( final String pattern : patterns )
+        {
+            if ( SelectorUtils.matchPath( pattern, path ) )
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+}
@@ -1,25 +1,88 @@
 package org.commonjava.redhat.maven.rv.comp;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.apache.maven.model.building.ModelCache;
+import org.commonjava.redhat.maven.rv.util.CacheStats;
 
+/**
+ * Bounded, thread-safe {@link ModelCache} shared by every model build in a session. Parent POMs and BOM imports are
+ * held in least-recently-used order, and the eldest entry is evicted once the configured size is exceeded.
+ */
 public class SimpleModelCache
     implements ModelCache
 {
 
-    private Map<Key, Object> cache = new HashMap<Key, Object>();
+    public static final int DEFAULT_MAX_ENTRIES = 5000;
 
-    public void put( final String groupId, final String artifactId, final String version, final String tag,
-                     final Object data )
+    private final CacheStats stats = new CacheStats();
+
+    private final int maxEntries;
+
+    private final Map<Key, Object> cache;
+
+    public SimpleModelCache()
+    {
+        this( DEFAULT_MAX_ENTRIES );
+    }
+
+    public SimpleModelCache( final int maxEntries )
+    {
+        this.maxEntries = maxEntries;
+        this.cache = new LinkedHashMap<Key, Object>( 256, 0.75f, true )
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry<Key, Object> eldest )
+            {
+                if ( size() > SimpleModelCache.this.maxEntries )
+                {
+                    stats.eviction();
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    public synchronized void put( final String groupId, final String artifactId, final String version,
+                                  final String tag, final Object data )
     {
         cache.put( new Key( groupId, artifactId, version, tag ), data );
     }
 
-    public Object get( final String groupId, final String artifactId, final String version, final String tag )
+    public synchronized Object get( final String groupId, final String artifactId, final String version,
+                                    final String tag )
+    {
+        final Object data = cache.get( new Key( groupId, artifactId, version, tag ) );
+        if ( data == null )
+        {
+            stats.miss();
+        }
+        else
+        {
+            stats.hit();
+        }
+
+        return data;
+    }
+
+    public synchronized int size()
+    {
+        return cache.size();
+    }
+
+    public int getMaxEntries()
+    {
+        return maxEntries;
+    }
+
+    public CacheStats getStats()
     {
-        return cache.get( new Key( groupId, artifactId, version, tag ) );
+        return stats;
     }
 
     private static final class Key
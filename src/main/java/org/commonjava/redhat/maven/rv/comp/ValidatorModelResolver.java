@@ -24,7 +24,7 @@ public class ValidatorModelResolver
 
     private final SimpleModelResolver delegate;
 
-    private DirWorkspaceReader workspaceReader;
+    private final DirWorkspaceReader workspaceReader;
 
     public ValidatorModelResolver( final ValidatorSession session, final String pomPath,
                                    final ArtifactResolver artifactResolver,
@@ -37,7 +37,7 @@ public class ValidatorModelResolver
             new SimpleModelResolver( rss, repos, new DefaultRequestTrace( pomPath ), artifactResolver,
                                      remoteRepositoryManager );
 
-        this.workspaceReader = new DirWorkspaceReader( session.getRepositoryDirectory() );
+        this.workspaceReader = session.getWorkspaceReader();
     }
 
     public ModelSource resolveModel( final String groupId, final String artifactId, final String version )
@@ -0,0 +1,15 @@
+package org.commonjava.redhat.maven.rv.graph;
+
+/**
+ * Where the project relationship graph is kept when graphing is enabled.
+ */
+public enum GraphBackend
+{
+
+    /** Embedded Neo4j database under the workspace's depgraph directory. */
+    NEO4J,
+
+    /** {@link MemoryEGraphDriver}, held on the heap for the length of the session. */
+    MEMORY;
+
+}
@@ -0,0 +1,100 @@
+package org.commonjava.redhat.maven.rv.graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.graph.common.RelationshipType;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.apache.maven.graph.effective.rel.ProjectRelationship;
+
+/**
+ * The relationships of a finished graph grouped by target project, then by type, built in one pass over all of them.
+ * Lets the inverse reports look up each project's users without going back to the graph driver once per project and
+ * per report.
+ */
+public class InverseRelationshipIndex
+{
+
+    private final Map<ProjectVersionRef, Map<RelationshipType, List<ProjectRelationship<?>>>> byTarget =
+        new HashMap<ProjectVersionRef, Map<RelationshipType, List<ProjectRelationship<?>>>>();
+
+    private final int size;
+
+    public InverseRelationshipIndex( final Collection<? extends ProjectRelationship<?>> rels )
+    {
+        int count = 0;
+        for ( final ProjectRelationship<?> rel : rels )
+        {
+            final ProjectVersionRef target = rel.getTarget()
+                                                .asProjectVersionRef();
+
+            Map<RelationshipType, List<ProjectRelationship<?>>> byType = byTarget.get( target );
+            if ( byType == null )
+            {
+                byType = new EnumMap<RelationshipType, List<ProjectRelationship<?>>>( RelationshipType.class );
+                byTarget.put( target, byType );
+            }
+
+            List<ProjectRelationship<?>> typed = byType.get( rel.getType() );
+            if ( typed == null )
+            {
+                typed = new ArrayList<ProjectRelationship<?>>( 2 );
+                byType.put( rel.getType(), typed );
+            }
+
+            typed.add( rel );
+            count++;
+        }
+
+        this.size = count;
+    }
+
+    /**
+     * @return a new set of the relationships of the given types (all types if none are given) that target the project
+     *         or any of its artifacts; empty if there are none
+     */
+    public Set<ProjectRelationship<?>> getRelationshipsTargeting( final ProjectVersionRef ref,
+                                                                 final RelationshipType... types )
+    {
+        final Set<ProjectRelationship<?>> result = new HashSet<ProjectRelationship<?>>();
+
+        final Map<RelationshipType, List<ProjectRelationship<?>>> byType = byTarget.get( ref.asProjectVersionRef() );
+        if ( byType == null )
+        {
+            return result;
+        }
+
+        if ( types.length == 0 )
+        {
+            for ( final List<ProjectRelationship<?>> typed : byType.values() )
+            {
+                result.addAll( typed );
+            }
+        }
+        else
+        {
+            for ( final RelationshipType type : types )
+            {
+                final List<ProjectRelationship<?>> typed = byType.get( type );
+                if ( typed != null )
+                {
+                    result.addAll( typed );
+                }
+            }
+        }
+
+        return result;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+}
@@ -0,0 +1,969 @@
+package org.commonjava.redhat.maven.rv.graph;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.maven.graph.common.RelationshipType;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.apache.maven.graph.effective.EProjectCycle;
+import org.apache.maven.graph.effective.EProjectNet;
+import org.apache.maven.graph.effective.filter.ProjectRelationshipFilter;
+import org.apache.maven.graph.effective.rel.ProjectRelationship;
+import org.apache.maven.graph.effective.traverse.ProjectNetTraversal;
+import org.apache.maven.graph.effective.traverse.TraversalType;
+import org.apache.maven.graph.spi.GraphDriverException;
+import org.apache.maven.graph.spi.effective.EGraphDriver;
+import org.commonjava.redhat.maven.rv.session.RefSymbolTable;
+
+/**
+ * {@link EGraphDriver} that keeps the project relationship graph on the heap, as adjacency lists. Each project gets a
+ * dense int id from a {@link RefSymbolTable}, each relationship an int id, and each project's outgoing and incoming
+ * relationships are packed int arrays of relationship ids, kept separately per {@link RelationshipType}. Reads share a
+ * read lock, so reports can query the graph concurrently.
+ * <p>
+ * Like the Neo4j driver, projects are keyed by {@link ProjectVersionRef#asProjectVersionRef()}, the roots are the
+ * projects the driver was created with, traversals follow outgoing relationships visiting each relationship at most
+ * once per pass, and paths run from a root to the target. Unlike it, relationships that close a cycle aren't detected
+ * (or rejected) when they're added; only cycles passed to {@link #addCycle(EProjectCycle)} are known. Selected versions
+ * are recorded, but not applied to the graph.
+ */
+public class MemoryEGraphDriver
+    implements EGraphDriver
+{
+
+    private static final int TYPES = RelationshipType.values().length;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Set<ProjectVersionRef> roots = new HashSet<ProjectVersionRef>();
+
+    // everything below is guarded by lock.
+
+    // node ids; only projects are registered, so they run from 0 to nodeCount.
+    private final RefSymbolTable nodes = new RefSymbolTable();
+
+    private int nodeCount;
+
+    // edge id + 1 of each relationship, 0 for a free slot.
+    private int[] edgeSlots = new int[8192];
+
+    private ProjectRelationship<?>[] edges = new ProjectRelationship<?>[4096];
+
+    private int[] edgeSources = new int[4096];
+
+    private int[] edgeTargets = new int[4096];
+
+    private int edgeCount;
+
+    private final EdgeLists[] outgoing = newEdgeLists();
+
+    private final EdgeLists[] incoming = newEdgeLists();
+
+    // projects that declared relationships of their own, or were added without any; the rest are missing.
+    private final BitSet declared = new BitSet();
+
+    private final Set<EProjectCycle> cycles = new HashSet<EProjectCycle>();
+
+    private final Map<Integer, Map<String, String>> metadata = new HashMap<Integer, Map<String, String>>();
+
+    private final Map<ProjectVersionRef, ProjectVersionRef> selected =
+        new HashMap<ProjectVersionRef, ProjectVersionRef>();
+
+    public MemoryEGraphDriver( final ProjectVersionRef... roots )
+    {
+        for ( final ProjectVersionRef root : roots )
+        {
+            this.roots.add( root.asProjectVersionRef() );
+        }
+    }
+
+    public EGraphDriver newInstance()
+    {
+        return new MemoryEGraphDriver();
+    }
+
+    public EGraphDriver newInstanceFrom( final EProjectNet net, final ProjectRelationshipFilter filter,
+                                         final ProjectVersionRef... refs )
+    {
+        final MemoryEGraphDriver driver = new MemoryEGraphDriver( refs );
+
+        lock.readLock()
+            .lock();
+        try
+        {
+            final BitSet copied = new BitSet( edgeCount );
+            final Deque<Step> steps = new ArrayDeque<Step>();
+            for ( final ProjectVersionRef ref : refs )
+            {
+                final int node = nodeId( ref );
+                if ( node < 0 )
+                {
+                    driver.addDisconnectedProject( ref );
+                }
+                else
+                {
+                    steps.add( new Step( node, null, filter ) );
+                }
+            }
+
+            while ( !steps.isEmpty() )
+            {
+                final Step step = steps.poll();
+                for ( int type = 0; type < TYPES; type++ )
+                {
+                    final EdgeLists lists = outgoing[type];
+                    for ( int i = 0; i < lists.size( step.node ); i++ )
+                    {
+                        final int edge = lists.get( step.node, i );
+                        final ProjectRelationship<?> rel = edges[edge];
+                        if ( copied.get( edge ) || ( step.filter != null && !step.filter.accept( rel ) ) )
+                        {
+                            continue;
+                        }
+
+                        copied.set( edge );
+                        driver.addRelationships( rel );
+
+                        steps.add( new Step( edgeTargets[edge], null, step.filter == null ? null
+                                        : step.filter.getChildFilter( rel ) ) );
+                    }
+                }
+            }
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+
+        return driver;
+    }
+
+    public void reindex()
+    {
+    }
+
+    public void close()
+        throws IOException
+    {
+    }
+
+    public Set<ProjectRelationship<?>> addRelationships( final ProjectRelationship<?>... rels )
+    {
+        lock.writeLock()
+            .lock();
+        try
+        {
+            for ( final ProjectRelationship<?> rel : rels )
+            {
+                if ( edgeId( rel ) > -1 )
+                {
+                    continue;
+                }
+
+                final int source = addNode( rel.getDeclaring() );
+                final int target = addNode( rel.getTarget() );
+
+                if ( edgeCount == edges.length )
+                {
+                    edges = Arrays.copyOf( edges, edgeCount * 2 );
+                    edgeSources = Arrays.copyOf( edgeSources, edgeCount * 2 );
+                    edgeTargets = Arrays.copyOf( edgeTargets, edgeCount * 2 );
+                }
+
+                final int edge = edgeCount++;
+                edges[edge] = rel;
+                edgeSources[edge] = source;
+                edgeTargets[edge] = target;
+                addEdgeSlot( rel, edge );
+
+                final int type = rel.getType()
+                                    .ordinal();
+                outgoing[type].add( source, edge );
+                incoming[type].add( target, edge );
+                declared.set( source );
+            }
+        }
+        finally
+        {
+            lock.writeLock()
+                .unlock();
+        }
+
+        return Collections.emptySet();
+    }
+
+    public void addDisconnectedProject( final ProjectVersionRef ref )
+    {
+        lock.writeLock()
+            .lock();
+        try
+        {
+            declared.set( addNode( ref ) );
+        }
+        finally
+        {
+            lock.writeLock()
+                .unlock();
+        }
+    }
+
+    public Collection<? extends ProjectRelationship<?>> getRelationshipsDeclaredBy( final ProjectVersionRef ref )
+    {
+        return getRelationships( outgoing, ref );
+    }
+
+    public Collection<? extends ProjectRelationship<?>> getRelationshipsTargeting( final ProjectVersionRef ref )
+    {
+        return getRelationships( incoming, ref );
+    }
+
+    public Collection<ProjectRelationship<?>> getAllRelationships()
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            return new ArrayList<ProjectRelationship<?>>( Arrays.asList( edges )
+                                                                .subList( 0, edgeCount ) );
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    public Set<ProjectVersionRef> getAllProjects()
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            final Set<ProjectVersionRef> projects = new HashSet<ProjectVersionRef>();
+            for ( int node = 0; node < nodeCount; node++ )
+            {
+                projects.add( nodes.get( node ) );
+            }
+
+            return projects;
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    public Set<ProjectVersionRef> getRoots()
+    {
+        return new HashSet<ProjectVersionRef>( roots );
+    }
+
+    /**
+     * Every cycle-free path from a root to any of the given projects, each ordered from the root's relationship to the
+     * one targeting the project.
+     */
+    public Set<List<ProjectRelationship<?>>> getAllPathsTo( final ProjectVersionRef... refs )
+    {
+        final Set<List<ProjectRelationship<?>>> paths = new HashSet<List<ProjectRelationship<?>>>();
+
+        lock.readLock()
+            .lock();
+        try
+        {
+            final BitSet rootNodes = new BitSet( nodeCount );
+            for ( final ProjectVersionRef root : roots )
+            {
+                final int node = nodeId( root );
+                if ( node > -1 )
+                {
+                    rootNodes.set( node );
+                }
+            }
+
+            final BitSet onPath = new BitSet( nodeCount );
+            for ( final ProjectVersionRef ref : refs )
+            {
+                final int node = nodeId( ref );
+                if ( node > -1 && !rootNodes.isEmpty() )
+                {
+                    collectPathsTo( node, new LinkedList<ProjectRelationship<?>>(), rootNodes, onPath, paths );
+                }
+            }
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+
+        return paths;
+    }
+
+    public void traverse( final ProjectNetTraversal traversal, final EProjectNet net, final ProjectVersionRef root )
+        throws GraphDriverException
+    {
+        for ( int pass = 0; pass < traversal.getRequiredPasses(); pass++ )
+        {
+            traversal.startTraverse( pass, net );
+
+            lock.readLock()
+                .lock();
+            try
+            {
+                final int node = nodeId( root );
+                if ( node > -1 )
+                {
+                    traverse( traversal, node, pass );
+                }
+            }
+            finally
+            {
+                lock.readLock()
+                    .unlock();
+            }
+
+            traversal.endTraverse( pass, net );
+        }
+    }
+
+    public boolean introducesCycle( final ProjectRelationship<?> rel )
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            final int source = nodeId( rel.getDeclaring() );
+            final int target = nodeId( rel.getTarget() );
+            if ( source < 0 || target < 0 )
+            {
+                return rel.getDeclaring()
+                          .asProjectVersionRef()
+                          .equals( rel.getTarget()
+                                      .asProjectVersionRef() );
+            }
+
+            final BitSet reached = new BitSet( nodeCount );
+            final Deque<Integer> next = new ArrayDeque<Integer>();
+            reached.set( target );
+            next.add( target );
+            while ( !next.isEmpty() )
+            {
+                final int node = next.poll();
+                if ( node == source )
+                {
+                    return true;
+                }
+
+                for ( int type = 0; type < TYPES; type++ )
+                {
+                    final EdgeLists lists = outgoing[type];
+                    for ( int i = 0; i < lists.size( node ); i++ )
+                    {
+                        final int child = edgeTargets[lists.get( node, i )];
+                        if ( !reached.get( child ) )
+                        {
+                            reached.set( child );
+                            next.add( child );
+                        }
+                    }
+                }
+            }
+
+            return false;
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    public boolean containsProject( final ProjectVersionRef ref )
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            return nodeId( ref ) > -1;
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    public boolean containsRelationship( final ProjectRelationship<?> rel )
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            return edgeId( rel ) > -1;
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    public boolean isDerivedFrom( final EGraphDriver driver )
+    {
+        return false;
+    }
+
+    public boolean isMissing( final ProjectVersionRef ref )
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            final int node = nodeId( ref );
+            return node > -1 && !declared.get( node );
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    public boolean hasMissingProjects()
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            return declared.cardinality() < nodeCount;
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    public Set<ProjectVersionRef> getMissingProjects()
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            final Set<ProjectVersionRef> missing = new HashSet<ProjectVersionRef>();
+            for ( int node = declared.nextClearBit( 0 ); node < nodeCount; node = declared.nextClearBit( node + 1 ) )
+            {
+                missing.add( nodes.get( node ) );
+            }
+
+            return missing;
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    public boolean hasVariableProjects()
+    {
+        return !getVariableProjects().isEmpty();
+    }
+
+    public Set<ProjectVersionRef> getVariableProjects()
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            final Set<ProjectVersionRef> variable = new HashSet<ProjectVersionRef>();
+            for ( int node = 0; node < nodeCount; node++ )
+            {
+                final ProjectVersionRef ref = nodes.get( node );
+                if ( ref.isVariableVersion() )
+                {
+                    variable.add( ref );
+                }
+            }
+
+            return variable;
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    public boolean addCycle( final EProjectCycle cycle )
+    {
+        lock.writeLock()
+            .lock();
+        try
+        {
+            return cycles.add( cycle );
+        }
+        finally
+        {
+            lock.writeLock()
+                .unlock();
+        }
+    }
+
+    public Set<EProjectCycle> getCycles()
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            return new HashSet<EProjectCycle>( cycles );
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    public boolean isCycleParticipant( final ProjectRelationship<?> rel )
+    {
+        for ( final EProjectCycle cycle : getCycles() )
+        {
+            if ( cycle.contains( rel ) )
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public boolean isCycleParticipant( final ProjectVersionRef ref )
+    {
+        for ( final EProjectCycle cycle : getCycles() )
+        {
+            if ( cycle.contains( ref ) )
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public void recomputeIncompleteSubgraphs()
+    {
+        // missing projects are worked out when asked for.
+    }
+
+    public Map<String, String> getProjectMetadata( final ProjectVersionRef ref )
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            final Map<String, String> projectMetadata = metadata.get( nodeId( ref ) );
+            return projectMetadata == null ? new HashMap<String, String>()
+                            : new HashMap<String, String>( projectMetadata );
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    public void addProjectMetadata( final ProjectVersionRef ref, final String key, final String value )
+    {
+        addProjectMetadata( ref, Collections.singletonMap( key, value ) );
+    }
+
+    public void addProjectMetadata( final ProjectVersionRef ref, final Map<String, String> values )
+    {
+        lock.writeLock()
+            .lock();
+        try
+        {
+            final int node = addNode( ref );
+            Map<String, String> projectMetadata = metadata.get( node );
+            if ( projectMetadata == null )
+            {
+                projectMetadata = new HashMap<String, String>();
+                metadata.put( node, projectMetadata );
+            }
+
+            projectMetadata.putAll( values );
+        }
+        finally
+        {
+            lock.writeLock()
+                .unlock();
+        }
+    }
+
+    public Set<ProjectVersionRef> getProjectsWithMetadata( final String key )
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            final Set<ProjectVersionRef> refs = new HashSet<ProjectVersionRef>();
+            for ( final Map.Entry<Integer, Map<String, String>> entry : metadata.entrySet() )
+            {
+                if ( entry.getValue()
+                          .containsKey( key ) )
+                {
+                    refs.add( nodes.get( entry.getKey() ) );
+                }
+            }
+
+            return refs;
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    public void selectVersionFor( final ProjectVersionRef variable, final ProjectVersionRef select )
+    {
+        lock.writeLock()
+            .lock();
+        try
+        {
+            selected.put( variable, select );
+        }
+        finally
+        {
+            lock.writeLock()
+                .unlock();
+        }
+    }
+
+    public Map<ProjectVersionRef, ProjectVersionRef> clearSelectedVersions()
+    {
+        lock.writeLock()
+            .lock();
+        try
+        {
+            final Map<ProjectVersionRef, ProjectVersionRef> cleared =
+                new HashMap<ProjectVersionRef, ProjectVersionRef>( selected );
+            selected.clear();
+
+            return cleared;
+        }
+        finally
+        {
+            lock.writeLock()
+                .unlock();
+        }
+    }
+
+    public Map<ProjectVersionRef, ProjectVersionRef> getSelectedVersions()
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            return new HashMap<ProjectVersionRef, ProjectVersionRef>( selected );
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    private Collection<? extends ProjectRelationship<?>> getRelationships( final EdgeLists[] adjacency,
+                                                                           final ProjectVersionRef ref )
+    {
+        lock.readLock()
+            .lock();
+        try
+        {
+            final List<ProjectRelationship<?>> rels = new ArrayList<ProjectRelationship<?>>();
+            final int node = nodeId( ref );
+            if ( node > -1 )
+            {
+                for ( int type = 0; type < TYPES; type++ )
+                {
+                    final EdgeLists lists = adjacency[type];
+                    for ( int i = 0; i < lists.size( node ); i++ )
+                    {
+                        rels.add( edges[lists.get( node, i )] );
+                    }
+                }
+            }
+
+            return rels;
+        }
+        finally
+        {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    // called with the read lock held. Relationships are offered in depth- or breadth-first order from the root, each
+    // at most once; one the traversal's preCheck turns down isn't followed any further.
+    private void traverse( final ProjectNetTraversal traversal, final int root, final int pass )
+    {
+        final boolean depthFirst = traversal.getType( pass ) == TraversalType.depth_first;
+        final BitSet traversed = new BitSet( edgeCount );
+        final Deque<Step> steps = new ArrayDeque<Step>();
+
+        addSteps( steps, root, Collections.<ProjectRelationship<?>> emptyList(), depthFirst );
+        while ( !steps.isEmpty() )
+        {
+            final Step step = depthFirst ? steps.pollLast() : steps.pollFirst();
+            if ( traversed.get( step.edge ) )
+            {
+                continue;
+            }
+
+            traversed.set( step.edge );
+
+            final ProjectRelationship<?> rel = edges[step.edge];
+            final List<ProjectRelationship<?>> path = new ArrayList<ProjectRelationship<?>>( step.path );
+            if ( !traversal.preCheck( rel, path, pass ) )
+            {
+                continue;
+            }
+
+            if ( traversal.traverseEdge( rel, path, pass ) )
+            {
+                traversal.edgeTraversed( rel, path, pass );
+            }
+
+            final List<ProjectRelationship<?>> childPath = new ArrayList<ProjectRelationship<?>>( step.path );
+            childPath.add( rel );
+
+            addSteps( steps, edgeTargets[step.edge], childPath, depthFirst );
+        }
+    }
+
+    // queues the node's outgoing relationships so they come off the deque in declaration order.
+    private void addSteps( final Deque<Step> steps, final int node, final List<ProjectRelationship<?>> path,
+                           final boolean depthFirst )
+    {
+        final List<Step> added = new ArrayList<Step>();
+        for ( int type = 0; type < TYPES; type++ )
+        {
+            final EdgeLists lists = outgoing[type];
+            for ( int i = 0; i < lists.size( node ); i++ )
+            {
+                added.add( new Step( lists.get( node, i ), path ) );
+            }
+        }
+
+        if ( depthFirst )
+        {
+            Collections.reverse( added );
+        }
+
+        steps.addAll( added );
+    }
+
+    // called with the read lock held. Paths through a root to the target are kept, and so are the longer ones that
+    // reach it from another root further up.
+    private void collectPathsTo( final int node, final LinkedList<ProjectRelationship<?>> path, final BitSet rootNodes,
+                                 final BitSet onPath, final Set<List<ProjectRelationship<?>>> paths )
+    {
+        if ( rootNodes.get( node ) && !path.isEmpty() )
+        {
+            paths.add( new ArrayList<ProjectRelationship<?>>( path ) );
+        }
+
+        onPath.set( node );
+        for ( int type = 0; type < TYPES; type++ )
+        {
+            final EdgeLists lists = incoming[type];
+            for ( int i = 0; i < lists.size( node ); i++ )
+            {
+                final int edge = lists.get( node, i );
+                final int source = edgeSources[edge];
+                if ( onPath.get( source ) )
+                {
+                    continue;
+                }
+
+                path.addFirst( edges[edge] );
+                collectPathsTo( source, path, rootNodes, onPath, paths );
+                path.removeFirst();
+            }
+        }
+
+        onPath.clear( node );
+    }
+
+    // called with the read lock held.
+    private int nodeId( final ProjectVersionRef ref )
+    {
+        return nodes.findProject( ref );
+    }
+
+    // called with the write lock held.
+    private int addNode( final ProjectVersionRef ref )
+    {
+        final int id = nodes.findProject( ref );
+        if ( id > -1 )
+        {
+            return id;
+        }
+
+        nodeCount++;
+        return nodes.register( ref.asProjectVersionRef() );
+    }
+
+    // called with the read lock held.
+    private int edgeId( final ProjectRelationship<?> rel )
+    {
+        final int mask = edgeSlots.length - 1;
+        for ( int slot = spread( rel.hashCode() ) & mask;; slot = ( slot + 1 ) & mask )
+        {
+            final int edge = edgeSlots[slot] - 1;
+            if ( edge < 0 || edges[edge].equals( rel ) )
+            {
+                return edge;
+            }
+        }
+    }
+
+    // called with the write lock held, after edgeCount counts the edge. Rehashes once the table would be half full.
+    private void addEdgeSlot( final ProjectRelationship<?> rel, final int edge )
+    {
+        if ( edgeCount * 2 > edgeSlots.length )
+        {
+            final int[] slots = edgeSlots;
+            edgeSlots = new int[slots.length * 2];
+            for ( final int stored : slots )
+            {
+                if ( stored != 0 )
+                {
+                    placeEdge( edges[stored - 1], stored - 1 );
+                }
+            }
+        }
+
+        placeEdge( rel, edge );
+    }
+
+    // called with the write lock held.
+    private void placeEdge( final ProjectRelationship<?> rel, final int edge )
+    {
+        final int mask = edgeSlots.length - 1;
+        int slot = spread( rel.hashCode() ) & mask;
+        while ( edgeSlots[slot] != 0 )
+        {
+            slot = ( slot + 1 ) & mask;
+        }
+
+        edgeSlots[slot] = edge + 1;
+    }
+
+    // the slots are masked down to their low bits; mix the high ones in.
+    private static int spread( final int hash )
+    {
+        return hash ^ ( hash >>> 16 );
+    }
+
+    private static EdgeLists[] newEdgeLists()
+    {
+        final EdgeLists[] lists = new EdgeLists[TYPES];
+        for ( int i = 0; i < TYPES; i++ )
+        {
+            lists[i] = new EdgeLists();
+        }
+
+        return lists;
+    }
+
+    /**
+     * Relationship ids per node, one packed int array for each node that has any.
+     */
+    private static final class EdgeLists
+    {
+        private int[][] lists = new int[1024][];
+
+        private int[] sizes = new int[1024];
+
+        void add( final int node, final int edge )
+        {
+            if ( node >= lists.length )
+            {
+                final int length = Math.max( node + 1, lists.length * 2 );
+                lists = Arrays.copyOf( lists, length );
+                sizes = Arrays.copyOf( sizes, length );
+            }
+
+            int[] list = lists[node];
+            if ( list == null )
+            {
+                list = new int[4];
+                lists[node] = list;
+            }
+            else if ( sizes[node] == list.length )
+            {
+                list = Arrays.copyOf( list, list.length * 2 );
+                lists[node] = list;
+            }
+
+            list[sizes[node]++] = edge;
+        }
+
+        int size( final int node )
+        {
+            return node < sizes.length ? sizes[node] : 0;
+        }
+
+        int get( final int node, final int index )
+        {
+            return lists[node][index];
+        }
+    }
+
+    private static final class Step
+    {
+        private final int node;
+
+        private final int edge;
+
+        private final List<ProjectRelationship<?>> path;
+
+        private final ProjectRelationshipFilter filter;
+
+        Step( final int edge, final List<ProjectRelationship<?>> path )
+        {
+            this.node = -1;
+            this.edge = edge;
+            this.path = path;
+            this.filter = null;
+        }
+
+        Step( final int node, final List<ProjectRelationship<?>> path, final ProjectRelationshipFilter filter )
+        {
+            this.node = node;
+            this.edge = -1;
+            this.path = path;
+            this.filter = filter;
+        }
+    }
+
+}
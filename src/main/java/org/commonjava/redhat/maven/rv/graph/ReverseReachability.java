@@ -0,0 +1,179 @@
+package org.commonjava.redhat.maven.rv.graph;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.apache.maven.graph.effective.rel.ProjectRelationship;
+
+/**
+ * Answers "which projects depend, directly or transitively, on each of these targets" for many targets at once. The
+ * relationships are read once into packed int arrays of declaring-project ids, grouped by target. One backward pass
+ * from all targets together then labels each project with a bitset of the targets it reaches. A project is queued
+ * again only when its label gains a bit, so projects shared between the targets' ancestries are walked once per
+ * change rather than once per target.
+ */
+public class ReverseReachability
+{
+
+    private final Map<ProjectVersionRef, Integer> ids = new HashMap<ProjectVersionRef, Integer>();
+
+    private final ProjectVersionRef[] refs;
+
+    // declaring projects of the relationships targeting project t are sources[offsets[t]] to sources[offsets[t+1]-1].
+    private final int[] offsets;
+
+    private final int[] sources;
+
+    public ReverseReachability( final Collection<? extends ProjectRelationship<?>> rels )
+    {
+        final int[] from = new int[rels.size()];
+        final int[] to = new int[rels.size()];
+
+        int edges = 0;
+        for ( final ProjectRelationship<?> rel : rels )
+        {
+            from[edges] = id( rel.getDeclaring() );
+            to[edges] = id( rel.getTarget() );
+            edges++;
+        }
+
+        refs = new ProjectVersionRef[ids.size()];
+        for ( final Map.Entry<ProjectVersionRef, Integer> entry : ids.entrySet() )
+        {
+            refs[entry.getValue()] = entry.getKey();
+        }
+
+        offsets = new int[refs.length + 1];
+        for ( int i = 0; i < edges; i++ )
+        {
+            offsets[to[i] + 1]++;
+        }
+
+        for ( int i = 0; i < refs.length; i++ )
+        {
+            offsets[i + 1] += offsets[i];
+        }
+
+        sources = new int[edges];
+        final int[] next = Arrays.copyOf( offsets, refs.length );
+        for ( int i = 0; i < edges; i++ )
+        {
+            sources[next[to[i]]++] = from[i];
+        }
+    }
+
+    /**
+     * @return for each target, in the order given, the projects that reach it through one or more relationships (empty
+     *         if the target isn't in the graph)
+     */
+    public Map<ProjectVersionRef, Set<ProjectVersionRef>> getImpacted( final List<ProjectVersionRef> targets )
+    {
+        final BitSet[] labels = new BitSet[refs.length];
+        final Deque<Integer> queue = new ArrayDeque<Integer>();
+        final BitSet queued = new BitSet( refs.length );
+
+        for ( int i = 0; i < targets.size(); i++ )
+        {
+            final Integer node = ids.get( targets.get( i )
+                                                 .asProjectVersionRef() );
+            if ( node != null )
+            {
+                label( labels, node ).set( i );
+                if ( !queued.get( node ) )
+                {
+                    queued.set( node );
+                    queue.add( node );
+                }
+            }
+        }
+
+        while ( !queue.isEmpty() )
+        {
+            final int node = queue.poll();
+            queued.clear( node );
+
+            final BitSet label = labels[node];
+            for ( int i = offsets[node]; i < offsets[node + 1]; i++ )
+            {
+                final int source = sources[i];
+                final BitSet sourceLabel = label( labels, source );
+
+                final BitSet added = (BitSet) label.clone();
+                added.andNot( sourceLabel );
+                if ( added.isEmpty() )
+                {
+                    continue;
+                }
+
+                sourceLabel.or( added );
+                if ( !queued.get( source ) )
+                {
+                    queued.set( source );
+                    queue.add( source );
+                }
+            }
+        }
+
+        final Map<ProjectVersionRef, Set<ProjectVersionRef>> impacted =
+            new LinkedHashMap<ProjectVersionRef, Set<ProjectVersionRef>>();
+        for ( final ProjectVersionRef target : targets )
+        {
+            impacted.put( target, new HashSet<ProjectVersionRef>() );
+        }
+
+        for ( int node = 0; node < refs.length; node++ )
+        {
+            final BitSet label = labels[node];
+            if ( label == null )
+            {
+                continue;
+            }
+
+            for ( int i = label.nextSetBit( 0 ); i > -1; i = label.nextSetBit( i + 1 ) )
+            {
+                final ProjectVersionRef target = targets.get( i );
+                if ( !refs[node].equals( target.asProjectVersionRef() ) )
+                {
+                    impacted.get( target )
+                            .add( refs[node] );
+                }
+            }
+        }
+
+        return impacted;
+    }
+
+    private int id( final ProjectVersionRef ref )
+    {
+        final ProjectVersionRef key = ref.asProjectVersionRef();
+        Integer id = ids.get( key );
+        if ( id == null )
+        {
+            id = ids.size();
+            ids.put( key, id );
+        }
+
+        return id;
+    }
+
+    private static BitSet label( final BitSet[] labels, final int node )
+    {
+        if ( labels[node] == null )
+        {
+            labels[node] = new BitSet();
+        }
+
+        return labels[node];
+    }
+
+}
@@ -0,0 +1,215 @@
+package org.commonjava.redhat.maven.rv.mgr;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.commonjava.redhat.maven.rv.ValidationException;
+import org.commonjava.redhat.maven.rv.comp.RepositoryArtifactResolver;
+import org.commonjava.redhat.maven.rv.session.ValidatorSession;
+import org.commonjava.redhat.maven.rv.util.AsyncLogger;
+import org.commonjava.redhat.maven.rv.util.MetricsRegistry;
+import org.commonjava.redhat.maven.rv.util.NamedThreadFactory;
+import org.commonjava.util.logging.Logger;
+
+/**
+ * Resolves the artifacts queued in a {@link ValidatorSession} on a pool of worker threads. Each artifact is tried
+ * against the repositories in order, and a permit per repository caps how many requests any one of them has in
+ * flight.
+ */
+public class ArtifactResolutionStage
+{
+    private final Logger logger = new Logger( getClass() );
+
+    private final AsyncLogger itemLogger = new AsyncLogger( getClass() );
+
+    private final RepositoryArtifactResolver resolver;
+
+    private final int threads;
+
+    private final int connectionsPerRepository;
+
+    private final ConcurrentMap<String, Semaphore> permits = new ConcurrentHashMap<String, Semaphore>();
+
+    /**
+     * @param connectionsPerRepository maximum concurrent requests against a single repository; 0 or less for no limit
+     */
+    public ArtifactResolutionStage( final RepositoryArtifactResolver resolver, final int threads,
+                                    final int connectionsPerRepository )
+    {
+        this.resolver = resolver;
+        this.threads = threads < 1 ? 1 : threads;
+        this.connectionsPerRepository = connectionsPerRepository;
+    }
+
+    public void run( final ValidatorSession session, final List<ArtifactRepository> repositories )
+    {
+        if ( threads == 1 )
+        {
+            ArtifactRef ref = null;
+            while ( ( ref = session.getNextArtifactToResolve() ) != null )
+            {
+                resolve( ref, repositories, session );
+            }
+
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool( threads, new NamedThreadFactory( "rv-resolve" ) );
+        try
+        {
+            final List<Future<?>> futures = new ArrayList<Future<?>>();
+
+            ArtifactRef ref = null;
+            while ( ( ref = session.getNextArtifactToResolve() ) != null )
+            {
+                final ArtifactRef artifact = ref;
+                futures.add( executor.submit( new Runnable()
+                {
+                    public void run()
+                    {
+                        resolve( artifact, repositories, session );
+                    }
+                } ) );
+            }
+
+            logger.info( "Resolving %d artifacts on %d threads.", futures.size(), threads );
+
+            for ( final Future<?> future : futures )
+            {
+                try
+                {
+                    future.get();
+                }
+                catch ( final InterruptedException e )
+                {
+                    logger.error( "Interrupted while waiting for artifact resolution to complete." );
+                    Thread.currentThread()
+                          .interrupt();
+                    return;
+                }
+                catch ( final ExecutionException e )
+                {
+                    final Throwable cause = e.getCause();
+                    logger.error( "Artifact resolution task failed: %s", cause, cause.getMessage() );
+                    session.addLowLevelError( new ValidationException( "Artifact resolution task failed: %s", cause,
+                                                                       cause.getMessage() ) );
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    void resolve( final ArtifactRef ref, final List<ArtifactRepository> repositories, final ValidatorSession session )
+    {
+        if ( session.isVerbose() )
+        {
+            itemLogger.info( "Resolving: %s", ref );
+        }
+
+        final MetricsRegistry metrics = session.getMetrics();
+        final List<Exception> errors = new ArrayList<Exception>();
+        if ( repositories == null || repositories.isEmpty() )
+        {
+            final long start = System.nanoTime();
+            errors.addAll( resolver.resolve( ref, null ) );
+            metrics.histogram( "resolve.local" )
+                   .recordSince( start );
+        }
+        else
+        {
+            for ( final ArtifactRepository repository : repositories )
+            {
+                final Semaphore permit = getPermit( repository );
+                if ( permit != null )
+                {
+                    try
+                    {
+                        permit.acquire();
+                    }
+                    catch ( final InterruptedException e )
+                    {
+                        Thread.currentThread()
+                              .interrupt();
+                        return;
+                    }
+                }
+
+                List<Exception> failures;
+                final long start = System.nanoTime();
+                try
+                {
+                    failures = resolver.resolve( ref, repository );
+                }
+                finally
+                {
+                    if ( permit != null )
+                    {
+                        permit.release();
+                    }
+                }
+
+                // time spent waiting for a permit is left out, so this is the repository's own latency.
+                metrics.histogram( "resolve." + repository.getId() )
+                       .recordSince( start );
+
+                if ( failures.isEmpty() )
+                {
+                    metrics.increment( "artifacts.resolved" );
+                    session.addArtifactResolutionRepositories( ref, Collections.singletonList( repository ) );
+                    return;
+                }
+
+                errors.addAll( failures );
+            }
+        }
+
+        if ( errors.isEmpty() )
+        {
+            metrics.increment( "artifacts.resolved" );
+            return;
+        }
+
+        metrics.increment( "artifacts.missing" );
+        session.addMissing( ref );
+        for ( final Exception error : errors )
+        {
+            session.addError( ref.asProjectVersionRef(), error );
+        }
+    }
+
+    private Semaphore getPermit( final ArtifactRepository repository )
+    {
+        if ( connectionsPerRepository < 1 )
+        {
+            return null;
+        }
+
+        final String key = repository.getUrl();
+        Semaphore permit = permits.get( key );
+        if ( permit == null )
+        {
+            permit = new Semaphore( connectionsPerRepository );
+            final Semaphore existing = permits.putIfAbsent( key, permit );
+            if ( existing != null )
+            {
+                permit = existing;
+            }
+        }
+
+        return permit;
+    }
+
+}
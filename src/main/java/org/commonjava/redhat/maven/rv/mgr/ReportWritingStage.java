@@ -0,0 +1,206 @@
+package org.commonjava.redhat.maven.rv.mgr;
+
+import static org.commonjava.redhat.maven.rv.util.AnnotationUtils.findNamed;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.commonjava.redhat.maven.rv.ValidationException;
+import org.commonjava.redhat.maven.rv.report.ReadOnlyReport;
+import org.commonjava.redhat.maven.rv.report.SummaryReport;
+import org.commonjava.redhat.maven.rv.report.ValidationReport;
+import org.commonjava.redhat.maven.rv.session.ValidatorSession;
+import org.commonjava.redhat.maven.rv.util.NamedThreadFactory;
+import org.commonjava.redhat.maven.rv.util.PhaseTimer;
+import org.commonjava.util.logging.Logger;
+
+/**
+ * Writes the reports for a {@link ValidatorSession}. Reports annotated with {@link ReadOnlyReport} are written on a
+ * pool of worker threads; the rest are written one at a time once the pool has finished, and those annotated with
+ * {@link SummaryReport} come last.
+ */
+public class ReportWritingStage
+{
+
+    private final Logger logger = new Logger( getClass() );
+
+    private final int threads;
+
+    private final AtomicInteger written = new AtomicInteger();
+
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private final Map<String, Long> timings = Collections.synchronizedMap( new TreeMap<String, Long>() );
+
+    public ReportWritingStage( final int threads )
+    {
+        this.threads = threads < 1 ? 1 : threads;
+    }
+
+    public void run( final Iterable<ValidationReport> reports, final ValidatorSession session )
+    {
+        final List<ValidationReport> concurrent = new ArrayList<ValidationReport>();
+        final List<ValidationReport> serial = new ArrayList<ValidationReport>();
+        final List<ValidationReport> summaries = new ArrayList<ValidationReport>();
+        for ( final ValidationReport report : reports )
+        {
+            if ( !report.canRun( session ) )
+            {
+                logger.info( "...skipping %s", getName( report ) );
+                continue;
+            }
+
+            if ( report.getClass()
+                       .isAnnotationPresent( SummaryReport.class ) )
+            {
+                summaries.add( report );
+            }
+            else if ( threads > 1 && report.getClass()
+                                      .isAnnotationPresent( ReadOnlyReport.class ) )
+            {
+                concurrent.add( report );
+            }
+            else
+            {
+                serial.add( report );
+            }
+        }
+
+        if ( !concurrent.isEmpty() )
+        {
+            writeConcurrently( concurrent, session );
+        }
+
+        for ( final ValidationReport report : serial )
+        {
+            write( report, session );
+        }
+
+        for ( final ValidationReport report : summaries )
+        {
+            write( report, session );
+        }
+    }
+
+    private void writeConcurrently( final List<ValidationReport> reports, final ValidatorSession session )
+    {
+        logger.info( "Writing %d read-only reports on %d threads.", reports.size(), threads );
+
+        final ExecutorService executor = Executors.newFixedThreadPool( threads, new NamedThreadFactory( "rv-report" ) );
+        try
+        {
+            final List<Future<?>> futures = new ArrayList<Future<?>>();
+            for ( final ValidationReport report : reports )
+            {
+                futures.add( executor.submit( new Runnable()
+                {
+                    public void run()
+                    {
+                        write( report, session );
+                    }
+                } ) );
+            }
+
+            for ( int i = 0; i < futures.size(); i++ )
+            {
+                try
+                {
+                    futures.get( i )
+                           .get();
+                }
+                catch ( final InterruptedException e )
+                {
+                    logger.error( "Interrupted while waiting for reports to be written." );
+                    Thread.currentThread()
+                          .interrupt();
+                    return;
+                }
+                catch ( final ExecutionException e )
+                {
+                    final Throwable cause = e.getCause();
+                    logger.error( "Failed to write report: %s.\nError: %s", cause, getName( reports.get( i ) ),
+                                  cause.getMessage() );
+                    failed.incrementAndGet();
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private void write( final ValidationReport report, final ValidatorSession session )
+    {
+        final String named = getName( report );
+        logger.info( "...writing %s", named );
+
+        final PhaseTimer timer = session.getPhaseTimer();
+        final PhaseTimer.Split split = timer.start();
+        final long start = System.currentTimeMillis();
+        try
+        {
+            report.write( session );
+            written.incrementAndGet();
+        }
+        catch ( final IOException e )
+        {
+            logger.error( "Failed to write report: %s.\nError: %s", e, named, e.getMessage() );
+            failed.incrementAndGet();
+        }
+        catch ( final ValidationException e )
+        {
+            logger.error( "Failed to write report: %s.\nError: %s", e, named, e.getMessage() );
+            failed.incrementAndGet();
+        }
+        // just to be safe...
+        catch ( final Error e )
+        {
+            logger.error( "Failed to write report: %s.\nError: %s", e, named, e.getMessage() );
+            failed.incrementAndGet();
+        }
+        finally
+        {
+            timings.put( named, System.currentTimeMillis() - start );
+            timer.stop( "report." + named, split );
+        }
+    }
+
+    private static String getName( final ValidationReport report )
+    {
+        final String named = findNamed( report );
+        return named == null ? report.getClass()
+                                     .getName() : named;
+    }
+
+    public int getReportsWritten()
+    {
+        return written.get();
+    }
+
+    public int getReportsFailed()
+    {
+        return failed.get();
+    }
+
+    /**
+     * Wall-clock milliseconds spent writing each report, keyed by report name.
+     */
+    public Map<String, Long> getTimings()
+    {
+        synchronized ( timings )
+        {
+            return new TreeMap<String, Long>( timings );
+        }
+    }
+
+}
@@ -1,14 +1,23 @@
 package org.commonjava.redhat.maven.rv.mgr;
 
-import static org.commonjava.redhat.maven.rv.util.AnnotationUtils.findNamed;
+import static org.apache.commons.io.IOUtils.closeQuietly;
+import static org.apache.commons.lang.StringUtils.join;
 import static org.commonjava.redhat.maven.rv.util.ArtifactReferenceUtils.toArtifactRef;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
@@ -23,13 +32,12 @@ import org.apache.maven.artifact.repository.metadata.RepositoryMetadataManager;
 import org.apache.maven.artifact.repository.metadata.RepositoryMetadataResolutionException;
 import org.apache.maven.artifact.repository.metadata.Versioning;
 import org.apache.maven.artifact.resolver.ArtifactResolutionRequest;
-import org.apache.maven.artifact.resolver.ArtifactResolutionResult;
-import org.apache.maven.artifact.resolver.ResolutionNode;
 import org.apache.maven.graph.common.DependencyScope;
 import org.apache.maven.graph.common.ref.ArtifactRef;
 import org.apache.maven.graph.common.ref.ProjectRef;
 import org.apache.maven.graph.common.ref.ProjectVersionRef;
 import org.apache.maven.graph.common.version.InvalidVersionSpecificationException;
+import org.apache.maven.graph.common.version.SingleVersion;
 import org.apache.maven.graph.common.version.VersionSpec;
 import org.apache.maven.graph.common.version.VersionUtils;
 import org.apache.maven.model.Build;
@@ -59,13 +67,27 @@ import org.apache.maven.plugin.version.PluginVersionResolutionException;
 import org.apache.maven.plugin.version.PluginVersionResolver;
 import org.apache.maven.plugin.version.PluginVersionResult;
 import org.apache.maven.repository.RepositorySystem;
-import org.codehaus.plexus.util.DirectoryScanner;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.commonjava.redhat.maven.rv.ValidationException;
+import org.commonjava.redhat.maven.rv.comp.BufferedModelSource;
 import org.commonjava.redhat.maven.rv.comp.MavenComponentManager;
+import org.commonjava.redhat.maven.rv.comp.RepositoryIndex;
+import org.commonjava.redhat.maven.rv.comp.RepositoryWalker;
+import org.commonjava.redhat.maven.rv.comp.RepositorySystemArtifactResolver;
+import org.commonjava.redhat.maven.rv.comp.SimpleModelCache;
 import org.commonjava.redhat.maven.rv.comp.ValidatorModelResolver;
 import org.commonjava.redhat.maven.rv.report.ValidationReport;
+import org.commonjava.redhat.maven.rv.session.PomRecord;
+import org.commonjava.redhat.maven.rv.session.ResolutionCache;
+import org.commonjava.redhat.maven.rv.session.ResolutionCache.AvailableVersions;
+import org.commonjava.redhat.maven.rv.session.ResolutionCache.PluginVersion;
+import org.commonjava.redhat.maven.rv.session.ResolutionCache.PluginVersionLookup;
+import org.commonjava.redhat.maven.rv.session.ValidationState;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
+import org.commonjava.redhat.maven.rv.util.AsyncLogger;
+import org.commonjava.redhat.maven.rv.util.MetricsRegistry;
+import org.commonjava.redhat.maven.rv.util.NamedThreadFactory;
+import org.commonjava.redhat.maven.rv.util.PhaseTimer;
 import org.commonjava.redhat.maven.rv.util.ValidationLevel;
 import org.commonjava.util.logging.Logger;
 import org.sonatype.aether.impl.ArtifactResolver;
@@ -78,6 +100,8 @@ public class ValidationManager
 
     private final Logger logger = new Logger( getClass() );
 
+    private final AsyncLogger itemLogger = new AsyncLogger( getClass() );
+
     @Inject
     private ModelBuilder modelBuilder;
 
@@ -105,46 +129,34 @@ public class ValidationManager
     public void validate( final ValidatorSession session )
         throws ValidationException
     {
+        final PhaseTimer timer = session.getPhaseTimer();
+        final PhaseTimer.Split init = timer.start();
         session.initializeMavenComponents( mavenComponentManager );
+        timer.stop( "init.maven", init );
 
-        processPomFiles( session );
-        processReferencedArtifacts( session );
-
-        logger.info( "Writing reports..." );
-        // TODO: Report errors encountered and logged in session!
-        int reportsWritten = 0;
-        int reportsFailed = 0;
-        for ( final ValidationReport report : reports )
+        final ScheduledExecutorService snapshots = startMetricsSnapshots( session );
+        final ReportWritingStage reportStage = new ReportWritingStage( session.getReportThreads() );
+        try
         {
-            final String named = findNamed( report );
-            if ( !report.canRun( session ) )
-            {
-                logger.info( "...skipping %s", named );
-                continue;
-            }
-
-            logger.info( "...writing %s", named );
+            processPomFiles( session );
 
-            try
+            if ( session.isIncremental() )
             {
-                report.write( session );
-                reportsWritten++;
+                final PhaseTimer.Split save = timer.start();
+                saveValidationState( session );
+                timer.stop( "state.save", save );
             }
-            catch ( final IOException e )
-            {
-                logger.error( "Failed to write report: %s.\nError: %s", e, named, e.getMessage() );
-                reportsFailed++;
-            }
-            catch ( final ValidationException e )
-            {
-                logger.error( "Failed to write report: %s.\nError: %s", e, named, e.getMessage() );
-                reportsFailed++;
-            }
-            // just to be safe...
-            catch ( final Error e )
+
+            logger.info( "Writing reports..." );
+            // TODO: Report errors encountered and logged in session!
+            reportStage.run( reports, session );
+        }
+        finally
+        {
+            if ( snapshots != null )
             {
-                logger.error( "Failed to write report: %s.\nError: %s", e, named, e.getMessage() );
-                reportsFailed++;
+                snapshots.shutdownNow();
+                writeMetricsSnapshot( session );
             }
         }
 
@@ -156,17 +168,55 @@ public class ValidationManager
         final String totalMem = ( total / ( 1024 * 1024 ) ) + "M";
         final String maxMem = ( max / ( 1024 * 1024 ) ) + "M";
 
-        logger.info( "\n\n\nSummary:\n-----------------\n  Processed %d POMs\n  %d Reports written\n  %d Reports failed!\n  Memory Usage: %s / %s\n\n",
+        final SimpleModelCache modelCache = session.getModelCache();
+        final String modelCacheStats = modelCache == null ? "disabled" : modelCache.getStats()
+                                                                                   .toString();
+
+        final ResolutionCache resolutionCache = session.getResolutionCache();
+
+        logger.info( "\n\n\nSummary:\n-----------------\n  Processed %d POMs\n  %d Reports written\n  %d Reports failed!\n  Memory Usage: %s / %s\n  Model cache: %s\n  Version metadata cache: %s\n  Version range cache: %s\n  Plugin version cache: %s\n  Phase timings:\n    %s\n\n",
                      session.getSeen()
-                            .size(), reportsWritten, reportsFailed, totalMem, maxMem );
+                            .size(), reportStage.getReportsWritten(), reportStage.getReportsFailed(), totalMem,
+                     maxMem, modelCacheStats, resolutionCache.getMetadataStats(), resolutionCache.getRangeStats(),
+                     resolutionCache.getPluginStats(), join( timer.getTable(), "\n    " ) );
     }
 
-    private void processReferencedArtifacts( final ValidatorSession session )
+    /**
+     * Writes the session's metrics to the workspace every metrics interval while validation runs, so a long run can be
+     * watched (and a killed one examined) from outside.
+     */
+    private ScheduledExecutorService startMetricsSnapshots( final ValidatorSession session )
     {
-        ArtifactRef artiRef = null;
-        while ( ( artiRef = session.getNextArtifactToResolve() ) != null )
+        final int interval = session.getMetricsInterval();
+        if ( interval < 1 )
         {
-            resolveArtifact( artiRef, session );
+            return null;
+        }
+
+        final ScheduledExecutorService snapshots =
+            Executors.newSingleThreadScheduledExecutor( new NamedThreadFactory( "rv-metrics", true ) );
+        snapshots.scheduleAtFixedRate( new Runnable()
+        {
+            public void run()
+            {
+                writeMetricsSnapshot( session );
+            }
+        }, interval, interval, TimeUnit.SECONDS );
+
+        return snapshots;
+    }
+
+    private void writeMetricsSnapshot( final ValidatorSession session )
+    {
+        final File dir = session.getWorkspaceDirectory();
+        try
+        {
+            session.getMetrics()
+                   .writeSnapshot( dir );
+        }
+        catch ( final IOException e )
+        {
+            logger.warn( "Failed to write metrics snapshot to: %s. Reason: %s", e, dir, e.getMessage() );
         }
     }
 
@@ -174,65 +224,429 @@ public class ValidationManager
     {
         final File repositoryDir = session.getRepositoryDirectory();
 
-        final DirectoryScanner scanner = new DirectoryScanner();
-        scanner.setBasedir( repositoryDir );
-        scanner.setIncludes( POM_INCLUDES );
-        scanner.setFollowSymlinks( true );
-        scanner.setExcludes( session.getPomExcludes() );
-        scanner.addDefaultExcludes();
+        // one pass over the repository finds the POMs and indexes every file for later workspace lookups. POMs are
+        // validated as the walk finds them; lookups that miss the index before it's complete go to the filesystem.
+        final RepositoryWalker walker =
+            new RepositoryWalker( repositoryDir, POM_INCLUDES, session.getPomExcludes(), getScanThreads( session ),
+                                  session.getQueueCapacity() );
+        session.setRepositoryIndex( walker.getIndex() );
+        walker.setPhaseTimer( session.getPhaseTimer() );
+        walker.start();
+
+        Iterator<String> poms = walker.discovered();
+        if ( session.isIncremental() )
+        {
+            // the previous results can only be matched up against the full POM list.
+            final List<String> all = new ArrayList<String>();
+            while ( poms.hasNext() )
+            {
+                all.add( poms.next() );
+            }
+
+            Collections.sort( all );
+            poms = Arrays.asList( reuseUnchangedResults( all.toArray( new String[all.size()] ), session ) )
+                         .iterator();
+        }
+
+        final ArtifactResolutionRequest base = session.getBaseArtifactResolutionRequest();
+        final List<ArtifactRepository> repositories = base.getRemoteRepositories();
+        final ArtifactResolutionStage resolution =
+            new ArtifactResolutionStage( new RepositorySystemArtifactResolver( repoSystem, base ),
+                                         session.getResolverThreads(), session.getConnectionsPerRepository() );
+
+        final PhaseTimer timer = session.getPhaseTimer();
+        final ValidationPipeline.Stages<BuiltProject> stages = new ValidationPipeline.Stages<BuiltProject>()
+        {
+            public BuiltProject build( final String pom )
+            {
+                final PhaseTimer.Split split = timer.start();
+                try
+                {
+                    return buildPomFile( pom, session );
+                }
+                finally
+                {
+                    timer.stop( "build.poms", split );
+                }
+            }
+
+            public BuiltProject build( final ProjectVersionRef ref )
+            {
+                final PhaseTimer.Split split = timer.start();
+                try
+                {
+                    return buildQueuedProject( ref, session );
+                }
+                finally
+                {
+                    timer.stop( "build.queued", split );
+                }
+            }
+
+            public void validate( final BuiltProject project )
+            {
+                final PhaseTimer.Split split = timer.start();
+                try
+                {
+                    validateProject( project, session );
+                }
+                finally
+                {
+                    timer.stop( "validate", split );
+                }
+            }
+
+            public void resolve( final ArtifactRef ref )
+            {
+                final PhaseTimer.Split split = timer.start();
+                try
+                {
+                    resolution.resolve( ref, repositories, session );
+                }
+                finally
+                {
+                    timer.stop( "resolve.artifacts", split );
+                }
+            }
+        };
+
+        // model building and graph validation each get the validation threads; I/O-bound resolution gets its own.
+        final ValidationPipeline<BuiltProject> pipeline =
+            new ValidationPipeline<BuiltProject>( stages, session.getThreads(), session.getThreads(),
+                                                  session.getResolverThreads(), session.getQueueCapacity(),
+                                                  session.getProgressInterval() );
+        try
+        {
+            pipeline.run( poms, session );
+        }
+        finally
+        {
+            // relationships are written to the graph in batches; the last one is usually partial.
+            final PhaseTimer.Split flush = timer.start();
+            session.flushRelationships();
+            timer.stop( "graph.flush", flush );
+            AsyncLogger.flush();
+        }
+
+        final long dropped = AsyncLogger.getDropped();
+        if ( dropped > 0 )
+        {
+            logger.warn( "%d per-item log messages were dropped because the log buffer was full.", dropped );
+        }
+
+        walker.awaitCompletion();
+
+        final RepositoryIndex index = walker.getIndex();
+        logger.info( "Indexed %d files in %d directories under: %s", index.getFileCount(), index.getDirectoryCount(),
+                     repositoryDir );
+    }
+
+    /**
+     * Directory listing is mostly waiting on the filesystem, so the walk gets at least as many threads as there are
+     * processors, even when validation runs on one.
+     */
+    private int getScanThreads( final ValidatorSession session )
+    {
+        return Math.max( session.getThreads(), Runtime.getRuntime()
+                                                      .availableProcessors() );
+    }
+
+    /**
+     * Loads the state of the previous incremental run and replays the results for every POM that is unchanged and
+     * doesn't inherit from (or import) a changed one. Returns the POMs that still need validating.
+     */
+    private String[] reuseUnchangedResults( final String[] poms, final ValidatorSession session )
+    {
+        final File stateFile = session.getValidationStateFile();
+        if ( !stateFile.isFile() )
+        {
+            logger.info( "No previous validation state found at: %s. Validating all %d POMs.", stateFile,
+                         poms.length );
+            return poms;
+        }
 
-        scanner.scan();
+        ValidationState previous;
+        try
+        {
+            previous = ValidationState.load( stateFile );
+        }
+        catch ( final IOException e )
+        {
+            logger.warn( "Cannot read previous validation state from: %s. Validating all %d POMs. Reason: %s", e,
+                         stateFile, poms.length, e.getMessage() );
+            return poms;
+        }
 
-        final String[] poms = scanner.getIncludedFiles();
+        if ( !session.getStateFingerprint()
+                     .equals( previous.getFingerprint() ) )
+        {
+            logger.info( "Validation settings changed since the previous run. Validating all %d POMs.", poms.length );
+            return poms;
+        }
 
+        final File repositoryDir = session.getRepositoryDirectory();
+        final Set<String> current = new HashSet<String>( Arrays.asList( poms ) );
+        final Set<String> stale = new HashSet<String>();
+        final Set<ProjectRef> changedProjects = new HashSet<ProjectRef>();
         for ( final String pom : poms )
         {
             final File pomFile = new File( repositoryDir, pom );
-            if ( !pomFile.exists() )
+            final PomRecord record = previous.get( pom );
+            try
+            {
+                if ( record != null && record.isUnchanged( pomFile ) )
+                {
+                    continue;
+                }
+            }
+            catch ( final IOException e )
             {
-                continue;
+                logger.warn( "Cannot check %s for changes. Reason: %s", e, pom, e.getMessage() );
             }
 
-            final Model model = buildModel( pomFile, session );
+            stale.add( pom );
 
-            if ( model != null )
+            // the file may declare a different coordinate than it did last time (or be new altogether).
+            final ProjectRef ref = readProjectRef( pomFile, session );
+            if ( ref != null )
             {
-                logger.info( "Loading file list for: %s", model );
-                final File dir = pomFile.getParentFile();
-                final String[] files = dir.list();
+                changedProjects.add( ref );
+            }
+        }
 
-                session.addProjectFiles( toArtifactRef( model, session ), files );
+        for ( final PomRecord record : previous.getRecords() )
+        {
+            if ( !current.contains( record.getPath() ) )
+            {
+                stale.add( record.getPath() );
+            }
+        }
 
-                logger.info( "Validating: %s", pom );
-                validateProjectGraph( model, session );
+        final Set<String> dependents = previous.findDependents( stale, changedProjects );
+
+        final List<String> toValidate = new ArrayList<String>();
+        for ( final String pom : poms )
+        {
+            if ( stale.contains( pom ) || dependents.contains( pom ) )
+            {
+                toValidate.add( pom );
+            }
+            else
+            {
+                session.replay( previous.get( pom ) );
             }
         }
 
-        ProjectVersionRef ref = null;
-        while ( ( ref = session.getNextToProjectResolve() ) != null )
+        logger.info( "Reusing results for %d unchanged POMs; validating %d changed POMs and %d dependents.",
+                     poms.length - toValidate.size(), toValidate.size() - dependents.size(), dependents.size() );
+
+        return toValidate.toArray( new String[] {} );
+    }
+
+    private ProjectRef readProjectRef( final File pomFile, final ValidatorSession session )
+    {
+        InputStream in = null;
+        try
         {
-            if ( session.hasSeen( ref ) )
+            in = new FileInputStream( pomFile );
+            final long start = System.nanoTime();
+            final Model raw = new MavenXpp3Reader().read( in, false );
+            session.getMetrics()
+                   .histogram( "model.parse" )
+                   .recordSince( start );
+
+            String groupId = raw.getGroupId();
+            if ( groupId == null && raw.getParent() != null )
             {
-                continue;
+                groupId = raw.getParent()
+                             .getGroupId();
             }
 
-            logger.info( "\n\nValidating: %s\n\n", ref );
+            if ( groupId == null || raw.getArtifactId() == null )
+            {
+                return null;
+            }
 
-            final ModelSource source = resolveModel( ref, session );
-            if ( source == null )
+            return new ProjectRef( groupId, raw.getArtifactId() );
+        }
+        catch ( final IOException e )
+        {
+            logger.warn( "Cannot read: %s. Reason: %s", e, pomFile, e.getMessage() );
+        }
+        catch ( final XmlPullParserException e )
+        {
+            logger.warn( "Cannot parse: %s. Reason: %s", e, pomFile, e.getMessage() );
+        }
+        finally
+        {
+            closeQuietly( in );
+        }
+
+        return null;
+    }
+
+    private void saveValidationState( final ValidatorSession session )
+    {
+        final ValidationState state = session.getValidationState();
+        final File stateFile = session.getValidationStateFile();
+        try
+        {
+            state.save( stateFile );
+            logger.info( "Saved validation state for %d POMs to: %s", state.size(), stateFile );
+        }
+        catch ( final IOException e )
+        {
+            logger.error( "Failed to save validation state to: %s. Reason: %s", e, stateFile, e.getMessage() );
+        }
+    }
+
+    /**
+     * Per-POM and per-artifact messages, logged in the background and only in verbose mode; otherwise the pipeline's
+     * progress line stands in for them.
+     */
+    private void logItem( final ValidatorSession session, final String format, final Object... params )
+    {
+        if ( session.isVerbose() )
+        {
+            itemLogger.info( format, params );
+        }
+    }
+
+    /**
+     * A model on its way from the build stage of the pipeline to the validation stage, with the POM it was read from
+     * (null for projects queued by validation) and the record it is being captured into in incremental mode.
+     */
+    private static final class BuiltProject
+    {
+        private final Model model;
+
+        private final String pom;
+
+        private final File pomFile;
+
+        private final PomRecord record;
+
+        BuiltProject( final Model model, final String pom, final File pomFile, final PomRecord record )
+        {
+            this.model = model;
+            this.pom = pom;
+            this.pomFile = pomFile;
+            this.record = record;
+        }
+
+        @Override
+        public String toString()
+        {
+            return pom == null ? String.valueOf( model ) : pom;
+        }
+    }
+
+    private BuiltProject buildPomFile( final String pom, final ValidatorSession session )
+    {
+        final File pomFile = new File( session.getRepositoryDirectory(), pom );
+        if ( !pomFile.exists() )
+        {
+            return null;
+        }
+
+        PomRecord record = null;
+        if ( session.isIncremental() )
+        {
+            try
             {
-                session.addMissing( ref );
-                continue;
+                record = session.startRecording( pom, pomFile );
             }
+            catch ( final IOException e )
+            {
+                logger.warn( "Cannot record validation state for: %s. Reason: %s", e, pom, e.getMessage() );
+            }
+        }
 
-            final Model model = buildModel( ref.toString(), source, session );
-            if ( model == null )
+        try
+        {
+            final Model model = buildModel( pomFile, session );
+            return model == null ? null : new BuiltProject( model, pom, pomFile, record );
+        }
+        finally
+        {
+            if ( record != null )
+            {
+                session.stopRecording();
+            }
+        }
+    }
+
+    private BuiltProject buildQueuedProject( final ProjectVersionRef ref, final ValidatorSession session )
+    {
+        if ( !session.claimProject( ref ) )
+        {
+            return null;
+        }
+
+        logItem( session, "\n\nValidating: %s\n\n", ref );
+
+        final ModelSource source = resolveModel( ref, session );
+        if ( source == null )
+        {
+            session.addMissing( ref );
+            return null;
+        }
+
+        final Model model = buildModel( ref.toString(), source, session );
+        return model == null ? null : new BuiltProject( model, null, null, null );
+    }
+
+    /**
+     * The files next to a POM, from the listing the repository walk already took of its directory where possible.
+     */
+    private String[] listProjectFiles( final String pom, final File pomFile, final ValidatorSession session )
+    {
+        final RepositoryIndex index = session.getRepositoryIndex();
+        if ( index != null )
+        {
+            final String path = pom.replace( '\\', '/' );
+            final int idx = path.lastIndexOf( '/' );
+
+            final Set<String> files = index.getFiles( idx < 0 ? "" : path.substring( 0, idx ) );
+            if ( files != null )
+            {
+                return files.toArray( new String[files.size()] );
+            }
+        }
+
+        return pomFile.getParentFile()
+                      .list();
+    }
+
+    private void validateProject( final BuiltProject project, final ValidatorSession session )
+    {
+        if ( project.record != null )
+        {
+            session.resumeRecording( project.record );
+        }
+
+        try
+        {
+            final Model model = project.model;
+            if ( project.pom != null )
             {
-                continue;
+                logItem( session, "Loading file list for: %s", model );
+                final String[] files = listProjectFiles( project.pom, project.pomFile, session );
+
+                session.addProjectFiles( toArtifactRef( model, session ), files );
+
+                logItem( session, "Validating: %s", project.pom );
             }
 
             validateProjectGraph( model, session );
         }
+        finally
+        {
+            if ( project.record != null )
+            {
+                session.stopRecording();
+            }
+        }
     }
 
     private ModelSource resolveModel( ProjectVersionRef ref, final ValidatorSession session )
@@ -254,12 +668,12 @@ public class ValidationManager
 
         if ( session.isMissing( ref ) )
         {
-            logger.info( "%s is already marked as missing. Skipping.", ref );
+            logItem( session, "%s is already marked as missing. Skipping.", ref );
             return null;
         }
         else
         {
-            logger.info( "Resolving POM for %s", ref );
+            logItem( session, "Resolving POM for %s", ref );
         }
 
         ModelSource source = null;
@@ -278,8 +692,8 @@ public class ValidationManager
             logger.info( "Failed to resolve: %s, Error was: %s", e, ref, e.getMessage() );
             session.addError( ref, e );
 
-            logger.info( "Marking missing: %s[%s]", ref.getClass()
-                                                       .getName(), ref );
+            logItem( session, "Marking missing: %s[%s]", ref.getClass()
+                                                            .getName(), ref );
             session.addMissing( ref );
         }
 
@@ -288,12 +702,62 @@ public class ValidationManager
 
     private ProjectVersionRef resolveVersionRange( final ProjectVersionRef ref, final ValidatorSession session )
     {
-        final VersionSpec versionSpec = ref.getVersionSpec();
+        final ResolutionCache cache = session.getResolutionCache();
+
+        final AvailableVersions available = getAvailableVersions( ref, session );
+        if ( available.getError() != null )
+        {
+            session.addError( ref, available.getError() );
+            session.addVersionResolutionFailure( ref );
+        }
+
+        ProjectVersionRef resolved = null;
+        if ( cache.isRangeCached( ref ) )
+        {
+            resolved = cache.getResolvedRange( ref );
+        }
+        else
+        {
+            final VersionSpec versionSpec = ref.getVersionSpec();
+            for ( final SingleVersion version : available.getVersions() )
+            {
+                if ( versionSpec.contains( version ) )
+                {
+                    resolved = new ProjectVersionRef( ref.getGroupId(), ref.getArtifactId(), version );
+                    break;
+                }
+            }
+
+            cache.cacheResolvedRange( ref, resolved );
+        }
+
+        if ( resolved == null )
+        {
+            session.addVersionResolutionFailure( ref );
+        }
+
+        return resolved;
+    }
+
+    /**
+     * Reads the repository metadata for the project once per session, keeping the parsed versions newest-first for
+     * every range that refers to it afterward.
+     */
+    private AvailableVersions getAvailableVersions( final ProjectVersionRef ref, final ValidatorSession session )
+    {
+        final ResolutionCache cache = session.getResolutionCache();
+        final AvailableVersions cached = cache.getAvailableVersions( ref );
+        if ( cached != null )
+        {
+            return cached;
+        }
+
         final Artifact dummy = repoSystem.createProjectArtifact( ref.getGroupId(), ref.getArtifactId(), "1" );
         final ArtifactRepositoryMetadata mdWrapper = new ArtifactRepositoryMetadata( dummy );
 
         final DefaultRepositoryRequest drr = new DefaultRepositoryRequest( session.getBaseArtifactResolutionRequest() );
-        VersionSpec resolved = null;
+        final List<SingleVersion> versions = new ArrayList<SingleVersion>();
+        Exception error = null;
         try
         {
             repoMetadataManager.resolve( mdWrapper, drr );
@@ -302,51 +766,36 @@ public class ValidationManager
             final Versioning versioning = metadata.getVersioning();
             if ( versioning != null )
             {
-                final List<VersionSpec> versions = new ArrayList<VersionSpec>();
                 for ( final String v : versioning.getVersions() )
                 {
                     try
                     {
-                        final VersionSpec ver = VersionUtils.createSingleVersion( v );
-                        versions.add( ver );
+                        versions.add( VersionUtils.createSingleVersion( v ) );
                     }
                     catch ( final InvalidVersionSpecificationException e )
                     {
                         logger.warn( "Invalid version encountered: '%s' while resolving range: %s in POM reference: %s. Reason: %s\n\nSkipping it...\n\n",
-                                     e, v, versionSpec.renderStandard(), ref, e.getMessage() );
+                                     e, v, ref.getVersionSpec()
+                                              .renderStandard(), ref, e.getMessage() );
                     }
                 }
 
                 Collections.sort( versions );
                 Collections.reverse( versions );
-                for ( final VersionSpec version : versions )
-                {
-                    if ( versionSpec.contains( version ) )
-                    {
-                        resolved = version;
-                        break;
-                    }
-                }
             }
 
         }
         catch ( final RepositoryMetadataResolutionException e )
         {
-            logger.error( "Failed to resolve versions for range: %s in POM reference: %s. Reason: %s", e, versionSpec,
-                          ref, e.getMessage() );
-            session.addError( ref, e );
-            session.addVersionResolutionFailure( ref );
+            logger.error( "Failed to resolve versions for range: %s in POM reference: %s. Reason: %s", e,
+                          ref.getVersionSpec(), ref, e.getMessage() );
+            error = e;
         }
 
-        if ( resolved == null )
-        {
-            session.addVersionResolutionFailure( ref );
-        }
-
-        return resolved == null ? null : new ProjectVersionRef( ref.getGroupId(), ref.getArtifactId(), resolved );
+        return cache.cacheAvailableVersions( ref, new AvailableVersions( versions, error ) );
     }
 
-    private Model buildModel( final File pomFile, final ValidatorSession session )
+    Model buildModel( final File pomFile, final ValidatorSession session )
     {
         final ModelSource source = new FileModelSource( pomFile );
         final Model model = buildModel( pomFile.getPath(), source, session );
@@ -354,8 +803,11 @@ public class ValidationManager
         return model;
     }
 
-    private Model buildModel( final String pomPath, final ModelSource source, final ValidatorSession session )
+    private Model buildModel( final String pomPath, final ModelSource original, final ValidatorSession session )
     {
+        // the raw model is only re-parsed if the builder can't hand it back; keep the bytes around for that case.
+        final ModelSource source = new BufferedModelSource( original );
+
         final DefaultModelBuildingRequest mbr =
             new DefaultModelBuildingRequest( session.getBaseModelBuildingRequest() ).setModelSource( source )
                                                                                     .setModelResolver( new ValidatorModelResolver(
@@ -367,18 +819,32 @@ public class ValidationManager
         // FIXME: Which level ignores deployed status in distMgmt??
         mbr.setValidationLevel( ModelBuildingRequest.VALIDATION_LEVEL_MAVEN_3_0 );
 
+        // BOM imports only happen in the second phase, so a failing import still leaves the raw model of the first.
+        mbr.setTwoPhaseBuilding( true );
+
+        final MetricsRegistry metrics = session.getMetrics();
+        final long start = System.nanoTime();
+
         Model model = null;
         Model raw = null;
         ProjectVersionRef ref = null;
         try
         {
-            final ModelBuildingResult result = modelBuilder.build( mbr );
+            final ModelBuildingResult lineage = modelBuilder.build( mbr );
+            raw = lineage.getRawModel();
+
+            final ModelBuildingResult result = modelBuilder.build( mbr, lineage );
+            metrics.histogram( "model.build" )
+                   .recordSince( start );
             model = result.getEffectiveModel();
-            raw = result.getRawModel();
 
             if ( model == null )
             {
-                raw = readRawModel( source, session );
+                if ( raw == null )
+                {
+                    raw = readRawModel( source, session );
+                }
+
                 if ( raw != null )
                 {
                     ref = toArtifactRef( raw, session );
@@ -403,7 +869,18 @@ public class ValidationManager
         }
         catch ( final ModelBuildingException e )
         {
-            raw = readRawModel( source, session );
+            metrics.histogram( "model.buildFailed" )
+                   .recordSince( start );
+
+            // a failure in the first phase hands back the model it read, before any BOM was imported into it.
+            if ( raw == null )
+            {
+                raw = e.getModel();
+            }
+            if ( raw == null )
+            {
+                raw = readRawModel( source, session );
+            }
             if ( raw != null )
             {
                 ref = toArtifactRef( raw, session );
@@ -428,7 +905,8 @@ public class ValidationManager
 
         if ( model != null )
         {
-            session.addSeen( toArtifactRef( model, session ) );
+            // ref was computed from the effective model above.
+            session.addSeen( ref );
         }
 
         if ( raw != null && ref != null )
@@ -440,7 +918,7 @@ public class ValidationManager
                 session.addParentLink( ref, parentRef );
             }
 
-            logger.info( "Looking for BOM imports in raw model: %s", ref );
+            logItem( session, "Looking for BOM imports in raw model: %s", ref );
 
             // We have to process import-scoped deps from the raw model, 
             // since BOM references are REPLACED by their dependencyManagement contents
@@ -465,7 +943,7 @@ public class ValidationManager
                             continue;
                         }
 
-                        logger.info( "Adding BOM reference: %s", depRef );
+                        logItem( session, "Adding BOM reference: %s", depRef );
 
                         session.addBom( depRef.asProjectVersionRef() );
 
@@ -485,9 +963,18 @@ public class ValidationManager
 
     private Model readRawModel( final ModelSource source, final ValidatorSession session )
     {
+        InputStream in = null;
         try
         {
-            return new MavenXpp3Reader().read( source.getInputStream() );
+            in = source.getInputStream();
+
+            final long start = System.nanoTime();
+            final Model raw = new MavenXpp3Reader().read( in );
+            session.getMetrics()
+                   .histogram( "model.parse" )
+                   .recordSince( start );
+
+            return raw;
         }
         catch ( final IOException e )
         {
@@ -499,52 +986,17 @@ public class ValidationManager
             session.addLowLevelError( new ValidationException( "Failed to parse raw model: %s. Reason: %s", e,
                                                                source.getLocation(), e.getMessage() ) );
         }
-
-        return null;
-    }
-
-    private void resolveArtifact( final ArtifactRef ref, final ValidatorSession session )
-    {
-        logger.info( "Resolving: %s", ref );
-        final ArtifactResolutionRequest req =
-            new ArtifactResolutionRequest( session.getBaseArtifactResolutionRequest() );
-
-        req.setArtifact( repoSystem.createArtifact( ref.getGroupId(), ref.getArtifactId(), ref.getVersionSpec()
-                                                                                              .renderStandard(),
-                                                    ref.getType() ) );
-
-        final ArtifactResolutionResult result = repoSystem.resolve( req );
-
-        // TODO: Log repository from which this was resolved!
-
-        final List<Exception> exceptions = result.getExceptions();
-        if ( exceptions != null && !exceptions.isEmpty() )
+        finally
         {
-            session.addMissing( ref );
-            for ( final Exception exception : exceptions )
-            {
-                session.addError( ref.asProjectVersionRef(), exception );
-            }
-        }
-        else
-        {
-            final Set<ResolutionNode> nodes = result.getArtifactResolutionNodes();
-            for ( final ResolutionNode node : nodes )
-            {
-                final Artifact nodeArtifact = node.getArtifact();
-                if ( nodeArtifact.equals( req.getArtifact() ) )
-                {
-                    final List<ArtifactRepository> repositories = node.getRemoteRepositories();
-                    session.addArtifactResolutionRepositories( ref, repositories );
-                    break;
-                }
-            }
+            closeQuietly( in );
         }
+
+        return null;
     }
 
     private void validateProjectGraph( final Model model, final ValidatorSession session )
     {
-        logger.info( "Validating project references for: %s", model );
+        logItem( session, "Validating project references for: %s", model );
 
         final ProjectVersionRef src = toArtifactRef( model, session );
         if ( src == null )
@@ -554,6 +1006,8 @@ public class ValidationManager
             return;
         }
 
+        final long start = System.nanoTime();
+
         validateDependencySections( model, session, src, model );
         if ( session.getValidationLevel() == ValidationLevel.FULL )
         {
@@ -561,6 +1015,10 @@ public class ValidationManager
             validateReporting( model, session, src, model );
         }
 
+        session.getMetrics()
+               .histogram( "model.validate" )
+               .recordSince( start );
+
         // FIXME: Not sure what to do with profiles. 
         // I suspect checking them exhaustively will result in a lot of 
         // irrelevant results...
@@ -670,7 +1128,7 @@ public class ValidationManager
 
                     if ( !( ref instanceof ProjectVersionRef ) )
                     {
-                        logger.info( "Resolving version for: %s", ref );
+                        logItem( session, "Resolving version for: %s", ref );
                         ref = resolvePluginVersion( ref, session, src );
                     }
                     else if ( ( (ProjectVersionRef) ref ).isCompound() )
@@ -693,11 +1151,6 @@ public class ValidationManager
 
                     if ( ref != null )
                     {
-                        if ( session.hasSeen( (ProjectVersionRef) ref ) )
-                        {
-                            continue;
-                        }
-
                         session.addPluginLink( src, (ProjectVersionRef) ref, idx, false, true );
                         session.addArtifactToResolve( (ProjectVersionRef) ref, "maven-plugin" );
                     }
@@ -725,7 +1178,7 @@ public class ValidationManager
 
                 if ( !( ref instanceof ProjectVersionRef ) )
                 {
-                    logger.info( "Resolving version for: %s", ref );
+                    logItem( session, "Resolving version for: %s", ref );
                     ref = resolvePluginVersion( ref, session, src );
                 }
                 else if ( ( (ProjectVersionRef) ref ).isCompound() )
@@ -748,11 +1201,6 @@ public class ValidationManager
 
                 if ( ref != null )
                 {
-                    if ( session.hasSeen( (ProjectVersionRef) ref ) )
-                    {
-                        continue;
-                    }
-
                     session.addPluginLink( src, (ProjectVersionRef) ref, idx, managed, false );
                     session.addArtifactToResolve( (ProjectVersionRef) ref, "maven-plugin" );
                 }
@@ -777,11 +1225,6 @@ public class ValidationManager
                     continue;
                 }
 
-                if ( session.hasSeen( ref ) )
-                {
-                    continue;
-                }
-
                 session.addExtensionLink( src, ref, idx );
                 session.addArtifactToResolve( ref, "jar" );
 
@@ -833,11 +1276,6 @@ public class ValidationManager
                     }
                 }
 
-                if ( session.hasSeen( ref.asProjectVersionRef() ) )
-                {
-                    continue;
-                }
-
                 session.addDependencyLink( src, ref, DependencyScope.getScope( dependency.getScope() ), idx, managed );
                 session.addArtifactToResolve( ref, dependency.getType() );
 
@@ -904,6 +1342,25 @@ public class ValidationManager
 
     private ProjectVersionRef resolvePluginVersion( final ProjectRef ref, final ValidatorSession session,
                                                     final ProjectVersionRef src )
+    {
+        final PluginVersion resolved = session.getResolutionCache()
+                                              .getPluginVersion( ref, new PluginVersionLookup()
+                                              {
+                                                  public PluginVersion lookup( final ProjectRef plugin )
+                                                  {
+                                                      return lookupPluginVersion( plugin, session );
+                                                  }
+                                              } );
+
+        if ( resolved.getRef() == null )
+        {
+            resolved.reportFailure( session, ref, src );
+        }
+
+        return resolved.getRef();
+    }
+
+    private PluginVersion lookupPluginVersion( final ProjectRef ref, final ValidatorSession session )
     {
         final Plugin plugin = new Plugin();
         plugin.setGroupId( ref.getGroupId() );
@@ -920,22 +1377,17 @@ public class ValidationManager
 
             version = result.getVersion();
 
-            return new ProjectVersionRef( ref.getGroupId(), ref.getArtifactId(), version );
+            return new PluginVersion( new ProjectVersionRef( ref.getGroupId(), ref.getArtifactId(), version ),
+                                      version, null );
         }
         catch ( final PluginVersionResolutionException e )
         {
-            session.addError( src, e );
+            return new PluginVersion( null, version, e );
         }
         catch ( final InvalidVersionSpecificationException e )
         {
-            session.addLowLevelError( new ValidationException(
-                                                               "Failed to parse version: '%s'\nPlugin: %s\nPOM: %s\nReason: %s",
-                                                               e, version, ref, src, e.getMessage() ) );
+            return new PluginVersion( null, version, e );
         }
-
-        session.addVersionResolutionFailure( ref );
-
-        return null;
     }
 
 }
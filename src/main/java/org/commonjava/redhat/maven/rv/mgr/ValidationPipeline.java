@@ -0,0 +1,662 @@
+package org.commonjava.redhat.maven.rv.mgr;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.commonjava.redhat.maven.rv.ValidationException;
+import org.commonjava.redhat.maven.rv.session.ValidatorSession;
+import org.commonjava.redhat.maven.rv.util.MetricsRegistry;
+import org.commonjava.redhat.maven.rv.util.NamedThreadFactory;
+import org.commonjava.util.logging.Logger;
+
+/**
+ * Runs discovery, model building, graph validation and artifact resolution as concurrent stages, each on its own
+ * threads, so every stage starts as soon as the one before it has produced something.
+ * <p>
+ * Discovered POMs and built projects wait in queues of a fixed capacity; a stage that gets ahead blocks until the next
+ * one catches up, which keeps the number of built models held in memory bounded. Validation feeds the project and
+ * artifact queues of the {@link ValidatorSession}, which in turn feed the build and resolution stages. Queued projects
+ * are only built once every discovered POM has been, so whether a project is built from its POM file or from the
+ * queue never depends on timing. The pipeline has drained once discovery has finished and no project is queued, being
+ * built or being validated.
+ * <p>
+ * Optionally, a progress line with the validation rate, the work still waiting in each queue and an estimate of the
+ * time left is logged at a fixed interval while the pipeline runs.
+ *
+ * @param <P> a built project, handed from the build stage to the validation stage
+ */
+public class ValidationPipeline<P>
+{
+
+    /**
+     * The work done in each stage. Exceptions thrown from here are recorded as low-level errors and don't stop the
+     * stage.
+     */
+    public interface Stages<P>
+    {
+        /**
+         * @return the built project, or null if there is nothing to validate
+         */
+        P build( String pom );
+
+        /**
+         * @return the built project, or null if there is nothing to validate
+         */
+        P build( ProjectVersionRef ref );
+
+        void validate( P project );
+
+        void resolve( ArtifactRef ref );
+    }
+
+    private final Logger logger = new Logger( getClass() );
+
+    private final Stages<P> stages;
+
+    private final int buildThreads;
+
+    private final int validateThreads;
+
+    private final int resolveThreads;
+
+    private final int capacity;
+
+    private final int progressInterval;
+
+    private final Object lock = new Object();
+
+    private final ArrayDeque<String> poms = new ArrayDeque<String>();
+
+    private final ArrayDeque<P> projects = new ArrayDeque<P>();
+
+    // guarded by lock.
+    private boolean discovering = true;
+
+    // projects taken by the build stage and not yet validated; guarded by lock.
+    private int pending;
+
+    // discovered POMs taken by the build stage and not yet built; guarded by lock.
+    private int pomsBuilding;
+
+    // guarded by lock.
+    private boolean drained;
+
+    // guarded by lock.
+    private boolean aborted;
+
+    // guarded by lock.
+    private int peakQueued;
+
+    private final AtomicInteger discovered = new AtomicInteger();
+
+    private final AtomicInteger built = new AtomicInteger();
+
+    private final AtomicInteger validated = new AtomicInteger();
+
+    private final AtomicInteger resolved = new AtomicInteger();
+
+    /**
+     * @param capacity how many discovered POMs, and how many built projects, may wait for the next stage
+     */
+    public ValidationPipeline( final Stages<P> stages, final int buildThreads, final int validateThreads,
+                               final int resolveThreads, final int capacity )
+    {
+        this( stages, buildThreads, validateThreads, resolveThreads, capacity, 0 );
+    }
+
+    /**
+     * @param progressInterval seconds between progress lines, or 0 for none
+     */
+    public ValidationPipeline( final Stages<P> stages, final int buildThreads, final int validateThreads,
+                               final int resolveThreads, final int capacity, final int progressInterval )
+    {
+        this.stages = stages;
+        this.buildThreads = buildThreads < 1 ? 1 : buildThreads;
+        this.validateThreads = validateThreads < 1 ? 1 : validateThreads;
+        this.resolveThreads = resolveThreads < 1 ? 1 : resolveThreads;
+        this.capacity = capacity < 1 ? 1 : capacity;
+        this.progressInterval = progressInterval < 0 ? 0 : progressInterval;
+    }
+
+    /**
+     * Runs until every POM from <code>pomPaths</code>, every project and artifact queued in the session, and
+     * everything they lead to has been processed. <code>pomPaths</code> is always consumed to the end.
+     */
+    public void run( final Iterator<String> pomPaths, final ValidatorSession session )
+    {
+        logger.info( "Starting validation pipeline: %d build, %d validation and %d resolver threads, queue capacity %d.",
+                     buildThreads, validateThreads, resolveThreads, capacity );
+
+        registerGauges( session.getMetrics() );
+
+        final List<ExecutorService> executors = new ArrayList<ExecutorService>();
+        final List<Future<?>> futures = new ArrayList<Future<?>>();
+        try
+        {
+            if ( progressInterval > 0 )
+            {
+                final long started = System.nanoTime();
+                final ScheduledExecutorService progress =
+                    Executors.newSingleThreadScheduledExecutor( new NamedThreadFactory( "rv-progress", true ) );
+                executors.add( progress );
+
+                progress.scheduleAtFixedRate( new Runnable()
+                {
+                    public void run()
+                    {
+                        logProgress( started, session );
+                    }
+                }, progressInterval, progressInterval, TimeUnit.SECONDS );
+            }
+
+            start( "rv-discover", 1, new Runnable()
+            {
+                public void run()
+                {
+                    discover( pomPaths );
+                }
+            }, executors, futures, session );
+
+            start( "rv-build", buildThreads, new Runnable()
+            {
+                public void run()
+                {
+                    build( session );
+                }
+            }, executors, futures, session );
+
+            start( "rv-validate", validateThreads, new Runnable()
+            {
+                public void run()
+                {
+                    validate( session );
+                }
+            }, executors, futures, session );
+
+            start( "rv-resolve", resolveThreads, new Runnable()
+            {
+                public void run()
+                {
+                    resolve( session );
+                }
+            }, executors, futures, session );
+
+            for ( final Future<?> future : futures )
+            {
+                try
+                {
+                    future.get();
+                }
+                catch ( final InterruptedException e )
+                {
+                    logger.error( "Interrupted while waiting for the validation pipeline to drain." );
+                    abort();
+                    Thread.currentThread()
+                          .interrupt();
+                    return;
+                }
+                catch ( final ExecutionException e )
+                {
+                    final Throwable cause = e.getCause();
+                    logger.error( "Validation pipeline worker failed: %s", cause, cause.getMessage() );
+                    session.addLowLevelError( new ValidationException( "Validation pipeline worker failed: %s", cause,
+                                                                       cause.getMessage() ) );
+                }
+            }
+        }
+        finally
+        {
+            for ( final ExecutorService executor : executors )
+            {
+                executor.shutdownNow();
+            }
+        }
+
+        logger.info( "Validation pipeline drained: %d POMs discovered, %d projects built, %d validated, %d artifacts resolved. At most %d built projects were queued.",
+                     getPomsDiscovered(), getProjectsBuilt(), getProjectsValidated(), getArtifactsResolved(),
+                     getPeakProjectsQueued() );
+    }
+
+    public int getPomsDiscovered()
+    {
+        return discovered.get();
+    }
+
+    public int getProjectsBuilt()
+    {
+        return built.get();
+    }
+
+    public int getProjectsValidated()
+    {
+        return validated.get();
+    }
+
+    public int getArtifactsResolved()
+    {
+        return resolved.get();
+    }
+
+    /**
+     * The most built projects that were ever waiting for validation at once; never more than the capacity.
+     */
+    public int getPeakProjectsQueued()
+    {
+        synchronized ( lock )
+        {
+            return peakQueued;
+        }
+    }
+
+    private void registerGauges( final MetricsRegistry metrics )
+    {
+        metrics.gauge( "pipeline.pomsWaiting", new MetricsRegistry.Gauge()
+        {
+            public double getValue()
+            {
+                synchronized ( lock )
+                {
+                    return poms.size();
+                }
+            }
+        } );
+
+        metrics.gauge( "pipeline.builtWaiting", new MetricsRegistry.Gauge()
+        {
+            public double getValue()
+            {
+                synchronized ( lock )
+                {
+                    return projects.size();
+                }
+            }
+        } );
+
+        metrics.gauge( "pipeline.projectsValidated", new MetricsRegistry.Gauge()
+        {
+            public double getValue()
+            {
+                return getProjectsValidated();
+            }
+        } );
+    }
+
+    private void logProgress( final long started, final ValidatorSession session )
+    {
+        final int pomsWaiting;
+        final int inProgress;
+        final boolean stillDiscovering;
+        synchronized ( lock )
+        {
+            pomsWaiting = poms.size();
+            inProgress = pending;
+            stillDiscovering = discovering;
+        }
+
+        final int referenced = session.getProjectsToResolveCount();
+        final int done = getProjectsValidated();
+        final double seconds = ( System.nanoTime() - started ) / 1000000000.0;
+        final double rate = seconds > 0 ? done / seconds : 0;
+
+        // only counts the work known so far; discovery and validation keep adding to it.
+        final int remaining = pomsWaiting + inProgress + referenced;
+        final String eta = rate > 0 ? formatDuration( (long) ( remaining / rate ) ) : "unknown";
+
+        logger.info( "Progress: %d projects validated (%.1f/s), %d artifacts resolved. Waiting: %d POMs, %d projects being built or validated, %d referenced projects, %d artifacts. ETA: %s%s",
+                     done, rate, getArtifactsResolved(), pomsWaiting, inProgress, referenced,
+                     session.getArtifactsToResolveCount(), eta, stillDiscovering ? " (still discovering POMs)" : "" );
+    }
+
+    private static String formatDuration( final long seconds )
+    {
+        return String.format( "%d:%02d:%02d", seconds / 3600, ( seconds / 60 ) % 60, seconds % 60 );
+    }
+
+    private void start( final String name, final int threads, final Runnable worker,
+                        final List<ExecutorService> executors, final List<Future<?>> futures,
+                        final ValidatorSession session )
+    {
+        final ExecutorService executor = Executors.newFixedThreadPool( threads, new NamedThreadFactory( name ) );
+        executors.add( executor );
+
+        for ( int i = 0; i < threads; i++ )
+        {
+            futures.add( executor.submit( new Runnable()
+            {
+                public void run()
+                {
+                    boolean finished = false;
+                    try
+                    {
+                        worker.run();
+                        finished = true;
+                    }
+                    finally
+                    {
+                        // a worker that dies leaves the others waiting on work it would have done.
+                        if ( !finished )
+                        {
+                            abort();
+                        }
+                    }
+                }
+            } ) );
+        }
+    }
+
+    private void discover( final Iterator<String> pomPaths )
+    {
+        try
+        {
+            while ( pomPaths.hasNext() )
+            {
+                final String pom = pomPaths.next();
+                synchronized ( lock )
+                {
+                    while ( poms.size() >= capacity && !aborted )
+                    {
+                        lock.wait();
+                    }
+
+                    // once aborted, keep consuming so whatever produces the paths isn't left blocked.
+                    if ( !aborted )
+                    {
+                        poms.addLast( pom );
+                        discovered.incrementAndGet();
+                        lock.notifyAll();
+                    }
+                }
+            }
+        }
+        catch ( final InterruptedException e )
+        {
+            Thread.currentThread()
+                  .interrupt();
+            abort();
+        }
+        finally
+        {
+            synchronized ( lock )
+            {
+                discovering = false;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private void build( final ValidatorSession session )
+    {
+        Object work;
+        while ( ( work = nextToBuild( session ) ) != null )
+        {
+            P project = null;
+            try
+            {
+                if ( work instanceof String )
+                {
+                    project = stages.build( (String) work );
+                }
+                else
+                {
+                    project = stages.build( (ProjectVersionRef) work );
+                }
+            }
+            catch ( final RuntimeException e )
+            {
+                failed( "build", work, e, session );
+            }
+            finally
+            {
+                if ( work instanceof String )
+                {
+                    pomBuilt();
+                }
+            }
+
+            if ( project == null )
+            {
+                finished();
+            }
+            else
+            {
+                built.incrementAndGet();
+                enqueue( project );
+            }
+        }
+    }
+
+    private void validate( final ValidatorSession session )
+    {
+        P project;
+        while ( ( project = nextToValidate() ) != null )
+        {
+            try
+            {
+                stages.validate( project );
+                validated.incrementAndGet();
+            }
+            catch ( final RuntimeException e )
+            {
+                failed( "validate", project, e, session );
+            }
+            finally
+            {
+                finished();
+            }
+        }
+    }
+
+    private void resolve( final ValidatorSession session )
+    {
+        ArtifactRef ref;
+        while ( ( ref = nextToResolve( session ) ) != null )
+        {
+            try
+            {
+                stages.resolve( ref );
+                resolved.incrementAndGet();
+            }
+            catch ( final RuntimeException e )
+            {
+                failed( "resolve", ref, e, session );
+            }
+        }
+    }
+
+    /**
+     * Discovered POMs first, then, once discovery has finished and every discovered POM has been built, projects queued
+     * by validation. Returns null once the pipeline has drained.
+     */
+    private Object nextToBuild( final ValidatorSession session )
+    {
+        synchronized ( lock )
+        {
+            try
+            {
+                while ( !aborted )
+                {
+                    final String pom = poms.pollFirst();
+                    if ( pom != null )
+                    {
+                        pending++;
+                        pomsBuilding++;
+                        lock.notifyAll();
+                        return pom;
+                    }
+
+                    if ( !discovering && pomsBuilding == 0 )
+                    {
+                        final ProjectVersionRef ref = session.getNextToProjectResolve();
+                        if ( ref != null )
+                        {
+                            pending++;
+                            return ref;
+                        }
+                    }
+
+                    if ( !discovering && pending == 0 )
+                    {
+                        drained = true;
+                        lock.notifyAll();
+                        return null;
+                    }
+
+                    lock.wait();
+                }
+            }
+            catch ( final InterruptedException e )
+            {
+                Thread.currentThread()
+                      .interrupt();
+                abort();
+            }
+
+            return null;
+        }
+    }
+
+    private void enqueue( final P project )
+    {
+        synchronized ( lock )
+        {
+            try
+            {
+                while ( projects.size() >= capacity && !aborted )
+                {
+                    lock.wait();
+                }
+            }
+            catch ( final InterruptedException e )
+            {
+                Thread.currentThread()
+                      .interrupt();
+                abort();
+            }
+
+            if ( !aborted )
+            {
+                projects.addLast( project );
+                peakQueued = Math.max( peakQueued, projects.size() );
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private P nextToValidate()
+    {
+        synchronized ( lock )
+        {
+            try
+            {
+                while ( !aborted )
+                {
+                    final P project = projects.pollFirst();
+                    if ( project != null )
+                    {
+                        lock.notifyAll();
+                        return project;
+                    }
+
+                    if ( drained )
+                    {
+                        return null;
+                    }
+
+                    lock.wait();
+                }
+            }
+            catch ( final InterruptedException e )
+            {
+                Thread.currentThread()
+                      .interrupt();
+                abort();
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * Artifacts are only queued during validation, so an empty queue is final once the pipeline has drained.
+     */
+    private ArtifactRef nextToResolve( final ValidatorSession session )
+    {
+        final ArtifactRef next = session.getNextArtifactToResolve();
+        if ( next != null )
+        {
+            return next;
+        }
+
+        synchronized ( lock )
+        {
+            try
+            {
+                while ( !aborted )
+                {
+                    final ArtifactRef ref = session.getNextArtifactToResolve();
+                    if ( ref != null || drained )
+                    {
+                        return ref;
+                    }
+
+                    lock.wait();
+                }
+            }
+            catch ( final InterruptedException e )
+            {
+                Thread.currentThread()
+                      .interrupt();
+                abort();
+            }
+
+            return null;
+        }
+    }
+
+    private void pomBuilt()
+    {
+        synchronized ( lock )
+        {
+            pomsBuilding--;
+            lock.notifyAll();
+        }
+    }
+
+    private void finished()
+    {
+        synchronized ( lock )
+        {
+            pending--;
+            lock.notifyAll();
+        }
+    }
+
+    private void abort()
+    {
+        synchronized ( lock )
+        {
+            aborted = true;
+            lock.notifyAll();
+        }
+    }
+
+    private void failed( final String stage, final Object work, final RuntimeException error,
+                         final ValidatorSession session )
+    {
+        logger.error( "Failed to %s: %s. Reason: %s", error, stage, work, error.getMessage() );
+        session.addLowLevelError( new ValidationException( "Failed to %s: %s. Reason: %s", error, stage, work,
+                                                           error.getMessage() ) );
+    }
+
+}
@@ -1,26 +1,27 @@
 package org.commonjava.redhat.maven.rv.report;
 
 import static org.apache.commons.io.IOUtils.closeQuietly;
-import static org.apache.commons.lang.StringUtils.join;
+import static org.commonjava.redhat.maven.rv.util.KeyedSort.sortByDeclaration;
+import static org.commonjava.redhat.maven.rv.util.ReportUtils.printJoined;
 
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.maven.graph.common.RelationshipType;
 import org.apache.maven.graph.common.ref.ArtifactRef;
 import org.apache.maven.graph.common.ref.ProjectVersionRef;
-import org.apache.maven.graph.effective.EProjectWeb;
 import org.apache.maven.graph.effective.rel.DependencyRelationship;
 import org.apache.maven.graph.effective.rel.PluginDependencyRelationship;
 import org.apache.maven.graph.effective.rel.PluginRelationship;
 import org.apache.maven.graph.effective.rel.ProjectRelationship;
 import org.commonjava.redhat.maven.rv.ValidationException;
+import org.commonjava.redhat.maven.rv.graph.InverseRelationshipIndex;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
-import org.commonjava.redhat.maven.rv.util.RelationshipDeclarationComparator;
 
 public abstract class AbstractInverseRelationshipReport
     implements ValidationReport
@@ -34,7 +35,8 @@ public abstract class AbstractInverseRelationshipReport
         {
             writer = session.getReportWriter( this );
 
-            final EProjectWeb web = session.getProjectWeb();
+            final InverseRelationshipIndex index = session.getInverseRelationshipIndex();
+            final RelationshipType[] types = getRelationshipTypes();
             final Set<ProjectVersionRef> processed = new HashSet<ProjectVersionRef>();
 
             for ( ProjectVersionRef ref : getReferencesToReport( session ) )
@@ -49,7 +51,7 @@ public abstract class AbstractInverseRelationshipReport
                     continue;
                 }
 
-                Set<ProjectRelationship<?>> userRelationships = web.getUserRelationships( ref );
+                Set<ProjectRelationship<?>> userRelationships = index.getRelationshipsTargeting( ref, types );
                 userRelationships = filterRelationships( userRelationships );
 
                 final List<String> digests = digest( userRelationships );
@@ -59,7 +61,8 @@ public abstract class AbstractInverseRelationshipReport
                     continue;
                 }
 
-                writer.printf( "\n\n%s\n-------------------------------------\n\n  %s", ref, join( digests, "\n  " ) );
+                writer.printf( "\n\n%s\n-------------------------------------\n\n  ", ref );
+                printJoined( writer, digests, "\n  " );
 
                 processed.add( ref );
             }
@@ -70,12 +73,23 @@ public abstract class AbstractInverseRelationshipReport
         }
     }
 
+    /**
+     * @return the types of relationship worth passing to {@link #filterRelationships(Set)}; all of them by default
+     */
+    protected RelationshipType[] getRelationshipTypes()
+    {
+        return RelationshipType.values();
+    }
+
     protected Set<ProjectRelationship<?>> filterRelationships( final Set<ProjectRelationship<?>> rels )
     {
         return rels;
     }
 
-    protected abstract Set<ProjectVersionRef> getReferencesToReport( ValidatorSession session );
+    /**
+     * @return the projects to report on, in the order they're written
+     */
+    protected abstract Collection<ProjectVersionRef> getReferencesToReport( ValidatorSession session );
 
     // TODO: Find a better way of dealing with managed information. 
     // We need to report it somehow, since BOM imports can have a strong effect 
@@ -85,10 +99,7 @@ public abstract class AbstractInverseRelationshipReport
     {
         final List<String> result = new ArrayList<String>();
 
-        final List<ProjectRelationship<?>> sorted = new ArrayList<ProjectRelationship<?>>( userRelationships );
-        Collections.sort( sorted, new RelationshipDeclarationComparator() );
-
-        for ( final ProjectRelationship<?> rel : sorted )
+        for ( final ProjectRelationship<?> rel : sortByDeclaration( userRelationships ) )
         {
             final StringBuilder sb = new StringBuilder();
             sb.append( "by " )
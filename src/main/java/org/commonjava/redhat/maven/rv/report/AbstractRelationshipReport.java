@@ -4,6 +4,7 @@ import static org.apache.commons.io.IOUtils.closeQuietly;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -26,7 +27,7 @@ public abstract class AbstractRelationshipReport<T extends ProjectRelationship<?
 
             final EProjectWeb web = session.getProjectWeb();
 
-            final Set<ProjectVersionRef> refs = getProjectReferences( session );
+            final Collection<ProjectVersionRef> refs = getProjectReferences( session );
             for ( final ProjectVersionRef ref : refs )
             {
                 final Set<T> rels = filter( web.getDirectRelationships( ref ) );
@@ -51,7 +52,10 @@ public abstract class AbstractRelationshipReport<T extends ProjectRelationship<?
 
     protected abstract void print( T rel, PrintWriter writer, ValidatorSession session );
 
-    protected abstract Set<ProjectVersionRef> getProjectReferences( ValidatorSession session );
+    /**
+     * @return the projects to report on, in the order they're written
+     */
+    protected abstract Collection<ProjectVersionRef> getProjectReferences( ValidatorSession session );
 
     protected abstract Set<T> filter( Set<ProjectRelationship<?>> rels );
 
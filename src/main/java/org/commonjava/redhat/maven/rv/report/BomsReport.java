@@ -1,5 +1,7 @@
 package org.commonjava.redhat.maven.rv.report;
 
+import static org.commonjava.redhat.maven.rv.util.KeyedSort.sortByToString;
+
 import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -17,6 +19,7 @@ import org.apache.maven.graph.effective.rel.RelationshipComparator;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
 
 @Named( "boms.txt" )
+@ReadOnlyReport
 public class BomsReport
     extends AbstractRelationshipReport<DependencyRelationship>
 {
@@ -25,7 +28,7 @@ public class BomsReport
     protected void print( final DependencyRelationship rel, final PrintWriter writer, final ValidatorSession session )
     {
         final ArtifactRef target = rel.getTarget();
-        final boolean pomMissing = session.isMissing( target.asProjectVersionRef() );
+        final boolean pomMissing = session.isProjectOfMissing( target );
         final boolean artMissing = session.isMissing( target );
 
         writer.printf( "\n  %d. %s (scope: %s)\n    POM:      %s\n    Artifact: %s", rel.getIndex(), target,
@@ -33,9 +36,9 @@ public class BomsReport
     }
 
     @Override
-    protected Set<ProjectVersionRef> getProjectReferences( final ValidatorSession session )
+    protected List<ProjectVersionRef> getProjectReferences( final ValidatorSession session )
     {
-        return session.getBoms();
+        return sortByToString( session.getBoms() );
     }
 
     @Override
@@ -21,6 +21,7 @@ import org.apache.maven.graph.effective.rel.RelationshipComparator;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
 
 @Named( "build-requires.txt" )
+@ReadOnlyReport
 public class BuildRequiresReport
     extends AbstractRelationshipReport<ProjectRelationship<?>>
 {
@@ -32,7 +33,7 @@ public class BuildRequiresReport
         {
             final DependencyRelationship dr = (DependencyRelationship) rel;
             final ArtifactRef target = dr.getTarget();
-            final boolean pomMissing = session.isMissing( target.asProjectVersionRef() );
+            final boolean pomMissing = session.isProjectOfMissing( target );
             final boolean artMissing = session.isMissing( target );
 
             writer.printf( "\n  %d. %s (type: dependency, scope: %s)\n    POM:      %s\n    Artifact: %s",
@@ -52,9 +53,9 @@ public class BuildRequiresReport
     }
 
     @Override
-    protected Set<ProjectVersionRef> getProjectReferences( final ValidatorSession session )
+    protected List<ProjectVersionRef> getProjectReferences( final ValidatorSession session )
     {
-        return session.getSeen();
+        return session.getSortedSeen();
     }
 
     @Override
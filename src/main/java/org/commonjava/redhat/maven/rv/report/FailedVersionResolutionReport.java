@@ -1,7 +1,7 @@
 package org.commonjava.redhat.maven.rv.report;
 
 import static org.apache.commons.io.IOUtils.closeQuietly;
-import static org.apache.commons.lang.StringUtils.join;
+import static org.commonjava.redhat.maven.rv.util.ReportUtils.printJoined;
 
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -12,6 +12,7 @@ import org.commonjava.redhat.maven.rv.ValidationException;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
 
 @Named( "failed-version-resolution.log" )
+@ReadOnlyReport
 public class FailedVersionResolutionReport
     implements ValidationReport
 {
@@ -23,7 +24,7 @@ public class FailedVersionResolutionReport
         try
         {
             writer = session.getReportWriter( this );
-            writer.print( join( session.getVersionResolutionFailures(), "\n" ) );
+            printJoined( writer, session.getVersionResolutionFailures(), "\n" );
         }
         finally
         {
@@ -1,6 +1,7 @@
 package org.commonjava.redhat.maven.rv.report;
 
 import static org.apache.commons.io.IOUtils.closeQuietly;
+import static org.commonjava.redhat.maven.rv.util.KeyedSort.sortByToString;
 
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -17,6 +18,7 @@ import org.commonjava.redhat.maven.rv.ValidationException;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
 
 @Named( "files.log" )
+@ReadOnlyReport
 public class FilesReport
     implements ValidationReport
 {
@@ -29,10 +31,10 @@ public class FilesReport
         {
             writer = session.getReportWriter( this );
             final Map<ProjectVersionRef, Set<String>> allProjectFiles = session.getAllProjectFiles();
-            for ( final Map.Entry<ProjectVersionRef, Set<String>> entry : allProjectFiles.entrySet() )
+            for ( final ProjectVersionRef ref : sortByToString( allProjectFiles.keySet() ) )
             {
-                writer.printf( "%s:\n----------------------------------------\n", entry.getKey() );
-                final Set<String> files = entry.getValue();
+                writer.printf( "%s:\n----------------------------------------\n", ref );
+                final Set<String> files = allProjectFiles.get( ref );
                 if ( files == null || files.isEmpty() )
                 {
                     writer.printf( "\n  -None-" );
@@ -4,6 +4,7 @@ import static org.apache.maven.graph.common.DependencyScope.provided;
 import static org.apache.maven.graph.common.DependencyScope.test;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.inject.Named;
@@ -15,14 +16,15 @@ import org.apache.maven.graph.effective.rel.ProjectRelationship;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
 
 @Named( "inverse-build-requires.txt" )
+@ReadOnlyReport
 public class InverseBuildRequiresReport
     extends AbstractInverseRelationshipReport
 {
 
     @Override
-    protected Set<ProjectVersionRef> getReferencesToReport( final ValidatorSession session )
+    protected List<ProjectVersionRef> getReferencesToReport( final ValidatorSession session )
     {
-        return session.getSeen();
+        return session.getSortedSeen();
     }
 
     @Override
@@ -1,6 +1,6 @@
 package org.commonjava.redhat.maven.rv.report;
 
-import java.util.Set;
+import java.util.List;
 
 import javax.inject.Named;
 
@@ -8,14 +8,15 @@ import org.apache.maven.graph.common.ref.ProjectVersionRef;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
 
 @Named( "inverse-missing-requires.txt" )
+@ReadOnlyReport
 public class InverseMissingRequiresReport
     extends InverseRequiresReport
 {
 
     @Override
-    protected Set<ProjectVersionRef> getReferencesToReport( final ValidatorSession session )
+    protected List<ProjectVersionRef> getReferencesToReport( final ValidatorSession session )
     {
-        return session.getMissing();
+        return session.getSortedMissing();
     }
 
 }
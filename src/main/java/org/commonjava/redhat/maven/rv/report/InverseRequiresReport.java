@@ -4,11 +4,13 @@ import static org.apache.maven.graph.common.DependencyScope.compile;
 import static org.apache.maven.graph.common.DependencyScope.runtime;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.inject.Named;
 
 import org.apache.maven.graph.common.DependencyScope;
+import org.apache.maven.graph.common.RelationshipType;
 import org.apache.maven.graph.common.ref.ProjectVersionRef;
 import org.apache.maven.graph.effective.rel.DependencyRelationship;
 import org.apache.maven.graph.effective.rel.ParentRelationship;
@@ -16,14 +18,21 @@ import org.apache.maven.graph.effective.rel.ProjectRelationship;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
 
 @Named( "inverse-requires.txt" )
+@ReadOnlyReport
 public class InverseRequiresReport
     extends AbstractInverseRelationshipReport
 {
 
     @Override
-    protected Set<ProjectVersionRef> getReferencesToReport( final ValidatorSession session )
+    protected List<ProjectVersionRef> getReferencesToReport( final ValidatorSession session )
     {
-        return session.getSeen();
+        return session.getSortedSeen();
+    }
+
+    @Override
+    protected RelationshipType[] getRelationshipTypes()
+    {
+        return new RelationshipType[] { RelationshipType.DEPENDENCY, RelationshipType.PARENT };
     }
 
     @Override
@@ -12,6 +12,7 @@ import org.commonjava.redhat.maven.rv.ValidationException;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
 
 @Named( "low-level-errors.log" )
+@ReadOnlyReport
 public class LowLevelErrorReport
     implements ValidationReport
 {
@@ -0,0 +1,44 @@
+package org.commonjava.redhat.maven.rv.report;
+
+import static org.apache.commons.io.IOUtils.closeQuietly;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import javax.inject.Named;
+
+import org.commonjava.redhat.maven.rv.ValidationException;
+import org.commonjava.redhat.maven.rv.session.ValidatorSession;
+
+/**
+ * The run's metrics as of the end of validation, in the same JSON form as the snapshots written to the workspace
+ * during the run.
+ */
+@Named( "metrics.json" )
+@ReadOnlyReport
+public class MetricsReport
+    implements ValidationReport
+{
+
+    public void write( final ValidatorSession session )
+        throws IOException, ValidationException
+    {
+        PrintWriter writer = null;
+        try
+        {
+            writer = session.getReportWriter( this );
+            writer.println( session.getMetrics()
+                                   .toJson() );
+        }
+        finally
+        {
+            closeQuietly( writer );
+        }
+    }
+
+    public boolean canRun( final ValidatorSession session )
+    {
+        return session.getMetrics() != null;
+    }
+
+}
@@ -0,0 +1,242 @@
+package org.commonjava.redhat.maven.rv.report;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.apache.maven.graph.effective.rel.DependencyRelationship;
+import org.apache.maven.graph.effective.rel.PluginRelationship;
+import org.apache.maven.graph.effective.rel.ProjectRelationship;
+import org.apache.maven.graph.effective.traverse.AbstractTraversal;
+import org.apache.maven.graph.effective.traverse.TraversalType;
+
+/**
+ * Collects the paths from the traversal root to any of a set of missing projects, skipping managed dependencies and
+ * plugins. Stands in for atlas' ImpactTraversal, which fails on any relationship that doesn't target one of the
+ * missing projects.
+ * <p>
+ * Paths are kept in one trie of relationships, so paths sharing a prefix share its nodes. The number of paths kept per
+ * target and the path length can be capped (0 for no limit), and in shortest-only mode the traversal goes
+ * breadth-first and a target keeps only the shortest paths found so far. Once every target has its maximum number of
+ * paths, the rest of the graph is pruned.
+ */
+public class MissingImpactTraversal
+    extends AbstractTraversal
+{
+
+    private final Map<ProjectVersionRef, TargetPaths> targets = new HashMap<ProjectVersionRef, TargetPaths>();
+
+    private final PathNode trie = new PathNode( null, null );
+
+    private final int maxPaths;
+
+    private final int maxDepth;
+
+    private final boolean shortestOnly;
+
+    private int fullTargets;
+
+    public MissingImpactTraversal( final Set<ProjectVersionRef> missing, final int maxPaths, final int maxDepth,
+                                   final boolean shortestOnly )
+    {
+        super( shortestOnly ? TraversalType.breadth_first : TraversalType.depth_first );
+
+        this.maxPaths = maxPaths;
+        this.maxDepth = maxDepth;
+        this.shortestOnly = shortestOnly;
+
+        for ( final ProjectVersionRef ref : missing )
+        {
+            targets.put( ref.asProjectVersionRef(), new TargetPaths() );
+        }
+    }
+
+    public MissingImpactTraversal( final Set<ProjectVersionRef> missing )
+    {
+        this( missing, 0, 0, false );
+    }
+
+    /**
+     * Whether every target has all the paths it may keep, so further traversals can't add any.
+     */
+    public boolean isSaturated()
+    {
+        return !shortestOnly && maxPaths > 0 && fullTargets == targets.size();
+    }
+
+    /**
+     * @return the paths kept for the target, each from the root's relationship to the one targeting it
+     */
+    public List<List<ProjectRelationship<?>>> getPaths( final ProjectVersionRef target )
+    {
+        final TargetPaths paths = targets.get( target.asProjectVersionRef() );
+        if ( paths == null )
+        {
+            return Collections.emptyList();
+        }
+
+        final List<List<ProjectRelationship<?>>> result = new ArrayList<List<ProjectRelationship<?>>>();
+        for ( final PathNode end : paths.ends )
+        {
+            final List<ProjectRelationship<?>> path = new ArrayList<ProjectRelationship<?>>();
+            for ( PathNode node = end; node.rel != null; node = node.parent )
+            {
+                path.add( node.rel );
+            }
+
+            Collections.reverse( path );
+            result.add( path );
+        }
+
+        return result;
+    }
+
+    /**
+     * Whether the target reached the maximum number of paths, so paths to it may have been dropped or not looked for.
+     */
+    public boolean isTruncated( final ProjectVersionRef target )
+    {
+        final TargetPaths paths = targets.get( target.asProjectVersionRef() );
+        return paths != null && isFull( paths );
+    }
+
+    public boolean preCheck( final ProjectRelationship<?> rel, final List<ProjectRelationship<?>> path,
+                             final int pass )
+    {
+        if ( isSaturated() || ( maxDepth > 0 && path.size() >= maxDepth ) )
+        {
+            return false;
+        }
+
+        if ( rel instanceof DependencyRelationship && ( (DependencyRelationship) rel ).isManaged() )
+        {
+            return false;
+        }
+
+        return !( rel instanceof PluginRelationship && ( (PluginRelationship) rel ).isManaged() );
+    }
+
+    @Override
+    public boolean traverseEdge( final ProjectRelationship<?> rel, final List<ProjectRelationship<?>> path,
+                                 final int pass )
+    {
+        final TargetPaths paths = targets.get( rel.getTarget()
+                                                  .asProjectVersionRef() );
+        if ( paths == null )
+        {
+            return true;
+        }
+
+        final int length = path.size() + 1;
+        if ( shortestOnly && length > paths.shortest )
+        {
+            return true;
+        }
+
+        if ( shortestOnly && length < paths.shortest )
+        {
+            if ( isFull( paths ) )
+            {
+                fullTargets--;
+            }
+
+            for ( final PathNode end : paths.ends )
+            {
+                release( end );
+            }
+
+            paths.ends.clear();
+            paths.shortest = length;
+        }
+
+        if ( isFull( paths ) )
+        {
+            return true;
+        }
+
+        PathNode node = trie;
+        for ( final ProjectRelationship<?> step : path )
+        {
+            node = node.child( step );
+        }
+
+        node = node.child( rel );
+        if ( !node.end )
+        {
+            node.end = true;
+            paths.ends.add( node );
+
+            if ( isFull( paths ) )
+            {
+                fullTargets++;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isFull( final TargetPaths paths )
+    {
+        return maxPaths > 0 && paths.ends.size() >= maxPaths;
+    }
+
+    // drops the path's nodes that no other kept path goes through.
+    private void release( final PathNode end )
+    {
+        end.end = false;
+
+        PathNode node = end;
+        while ( node.parent != null && !node.end && ( node.children == null || node.children.isEmpty() ) )
+        {
+            node.parent.children.remove( node.rel );
+            node = node.parent;
+        }
+    }
+
+    private static final class TargetPaths
+    {
+        private final List<PathNode> ends = new ArrayList<PathNode>();
+
+        private int shortest = Integer.MAX_VALUE;
+    }
+
+    private static final class PathNode
+    {
+        private final ProjectRelationship<?> rel;
+
+        private final PathNode parent;
+
+        private Map<ProjectRelationship<?>, PathNode> children;
+
+        // a kept path ends here. The last relationship decides the target, so no two targets share an end.
+        private boolean end;
+
+        PathNode( final ProjectRelationship<?> rel, final PathNode parent )
+        {
+            this.rel = rel;
+            this.parent = parent;
+        }
+
+        PathNode child( final ProjectRelationship<?> childRel )
+        {
+            if ( children == null )
+            {
+                children = new HashMap<ProjectRelationship<?>, PathNode>( 4 );
+            }
+
+            PathNode child = children.get( childRel );
+            if ( child == null )
+            {
+                child = new PathNode( childRel, this );
+                children.put( childRel, child );
+            }
+
+            return child;
+        }
+    }
+
+}
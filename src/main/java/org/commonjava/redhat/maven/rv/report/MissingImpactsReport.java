@@ -2,15 +2,13 @@ package org.commonjava.redhat.maven.rv.report;
 
 import static org.apache.commons.io.IOUtils.closeQuietly;
 import static org.apache.commons.lang.StringUtils.join;
+import static org.commonjava.redhat.maven.rv.util.KeyedSort.sortByToString;
 
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import javax.inject.Named;
@@ -20,14 +18,14 @@ import org.apache.maven.graph.common.ref.ProjectVersionRef;
 import org.apache.maven.graph.effective.EProjectWeb;
 import org.apache.maven.graph.effective.rel.ProjectRelationship;
 import org.apache.maven.graph.effective.rel.RelationshipComparator;
-import org.apache.maven.graph.effective.traverse.ImpactTraversal;
 import org.apache.maven.graph.spi.GraphDriverException;
 import org.commonjava.redhat.maven.rv.ValidationException;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
-import org.commonjava.redhat.maven.rv.util.ToStringComparator;
+import org.commonjava.redhat.maven.rv.util.KeyedSort;
 import org.commonjava.util.logging.Logger;
 
 @Named( "missing-impacts.txt" )
+@ReadOnlyReport
 public class MissingImpactsReport
     implements ValidationReport
 {
@@ -53,11 +51,20 @@ public class MissingImpactsReport
         logger.info( "Looking for impact of missing projects:\n  %s\n", join( missing, "\n  " ) );
 
         final EProjectWeb projectWeb = session.getProjectWeb();
-        final ImpactTraversal traversal = new ImpactTraversal( missing );
+        final MissingImpactTraversal traversal =
+            new MissingImpactTraversal( missing, session.getMaxImpactPaths(), session.getMaxImpactDepth(),
+                                        session.isShortestImpactPaths() );
 
         final Set<ProjectVersionRef> roots = projectWeb.getRoots();
         for ( final ProjectVersionRef root : roots )
         {
+            if ( traversal.isSaturated() )
+            {
+                logger.info( "Every missing project has %d impact paths; skipping the remaining roots.",
+                             session.getMaxImpactPaths() );
+                break;
+            }
+
             logger.info( "Starting traversal of root: %s for impacts of target(s)\n", root );
             try
             {
@@ -69,19 +76,15 @@ public class MissingImpactsReport
             }
         }
 
-        final Map<ProjectVersionRef, Set<List<ProjectRelationship<?>>>> impactedPaths = traversal.getImpactedPaths();
-
         PrintWriter writer = null;
         try
         {
             writer = session.getReportWriter( this );
 
             // write impacts report, organized by missing target, then by project at root of path, with list of paths between them.
-            for ( final Map.Entry<ProjectVersionRef, Set<List<ProjectRelationship<?>>>> pathsEntry : impactedPaths.entrySet() )
+            for ( final ProjectVersionRef target : sortByToString( missing ) )
             {
-                final ProjectVersionRef target = pathsEntry.getKey();
-                final List<List<ProjectRelationship<?>>> paths =
-                    new ArrayList<List<ProjectRelationship<?>>>( pathsEntry.getValue() );
+                final List<List<ProjectRelationship<?>>> paths = traversal.getPaths( target );
                 if ( paths.isEmpty() )
                 {
                     continue;
@@ -89,10 +92,9 @@ public class MissingImpactsReport
 
                 writer.printf( "%s:\n---------------------------\n", target );
 
-                Collections.sort( paths, new PathRootComparator() );
-
                 int idx = 0;
-                for ( final List<ProjectRelationship<?>> path : paths )
+                for ( final List<ProjectRelationship<?>> path : KeyedSort.sort( paths, new PathRootKeys(),
+                                                                                new PathRootTies() ) )
                 {
                     if ( path.isEmpty() )
                     {
@@ -124,6 +126,10 @@ public class MissingImpactsReport
                 {
                     writer.println( "  -NONE-" );
                 }
+                else if ( traversal.isTruncated( target ) )
+                {
+                    writer.printf( "\n  (limited to %d paths; there may be more)\n", idx );
+                }
 
                 writer.println();
                 writer.println();
@@ -135,48 +141,42 @@ public class MissingImpactsReport
         }
     }
 
-    private static final class PathRootComparator
-        implements Comparator<List<ProjectRelationship<?>>>
+    // orders paths by the project at their root, then by their first relationship. Empty paths sort last.
+    private static final class PathRootKeys
+        implements KeyedSort.Keys<List<ProjectRelationship<?>>>
     {
-        private final ToStringComparator<ProjectVersionRef> refComp = new ToStringComparator<ProjectVersionRef>();
+        public int rank( final List<ProjectRelationship<?>> path )
+        {
+            return path.isEmpty() ? 1 : 0;
+        }
+
+        public String key( final List<ProjectRelationship<?>> path )
+        {
+            return path.isEmpty() ? null : path.get( 0 )
+                                               .getDeclaring()
+                                               .toString();
+        }
+    }
 
+    private static final class PathRootTies
+        implements Comparator<List<ProjectRelationship<?>>>
+    {
         private final RelationshipComparator relComp = new RelationshipComparator();
 
         public int compare( final List<ProjectRelationship<?>> first, final List<ProjectRelationship<?>> second )
         {
-            if ( first.isEmpty() && second.isEmpty() )
+            if ( first.isEmpty() || second.isEmpty() )
             {
                 return 0;
             }
-            else if ( first.isEmpty() && !second.isEmpty() )
-            {
-                return 1;
-            }
-            else if ( !first.isEmpty() && second.isEmpty() )
-            {
-                return -1;
-            }
 
-            final ProjectRelationship<?> firstRoot = first.get( 0 );
-            final ProjectRelationship<?> secondRoot = second.get( 0 );
-
-            final ProjectVersionRef firstDecl = firstRoot.getDeclaring();
-            final ProjectVersionRef secondDecl = secondRoot.getDeclaring();
-
-            int comp = refComp.compare( firstDecl, secondDecl );
-            if ( comp == 0 )
-            {
-                comp = relComp.compare( firstRoot, secondRoot );
-            }
-
-            return comp;
+            return relComp.compare( first.get( 0 ), second.get( 0 ) );
         }
-
     }
 
     public boolean canRun( final ValidatorSession session )
     {
-        return session.getMissing() != null && session.getProjectWeb() != null;
+        return session.isDetailedImpacts() && session.getMissing() != null && session.getProjectWeb() != null;
     }
 
 }
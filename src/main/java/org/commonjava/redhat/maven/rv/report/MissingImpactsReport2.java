@@ -1,28 +1,27 @@
 package org.commonjava.redhat.maven.rv.report;
 
 import static org.apache.commons.io.IOUtils.closeQuietly;
-import static org.apache.commons.lang.StringUtils.join;
+import static org.commonjava.redhat.maven.rv.util.KeyedSort.sortByToString;
+import static org.commonjava.redhat.maven.rv.util.ReportUtils.printJoined;
 
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.inject.Named;
 
 import org.apache.maven.graph.common.ref.ArtifactRef;
 import org.apache.maven.graph.common.ref.ProjectVersionRef;
-import org.apache.maven.graph.effective.EProjectWeb;
-import org.apache.maven.graph.effective.rel.ProjectRelationship;
 import org.commonjava.redhat.maven.rv.ValidationException;
+import org.commonjava.redhat.maven.rv.graph.ReverseReachability;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
-import org.commonjava.redhat.maven.rv.util.ToStringComparator;
 import org.commonjava.util.logging.Logger;
 
 @Named( "missing-impacts-2.txt" )
+@ReadOnlyReport
 public class MissingImpactsReport2
     implements ValidationReport
 {
@@ -45,60 +44,33 @@ public class MissingImpactsReport2
             }
         }
 
-        final List<ProjectVersionRef> sortedMissing = new ArrayList<ProjectVersionRef>( missing );
-        Collections.sort( sortedMissing, new ToStringComparator<ProjectVersionRef>() );
+        final List<ProjectVersionRef> targets = sortByToString( missing );
 
-        final EProjectWeb web = session.getProjectWeb();
-        PrintWriter writer = null;
+        logger.info( "Looking for impact of %d missing projects.", targets.size() );
+        final Map<ProjectVersionRef, Set<ProjectVersionRef>> impacted =
+            new ReverseReachability( session.getProjectWeb()
+                                            .getAllRelationships() ).getImpacted( targets );
 
+        PrintWriter writer = null;
         try
         {
             writer = session.getReportWriter( this );
-            logger.info( "Looking for impact of missing projects:\n  %s\n", join( missing, "\n  " ) );
-            for ( final ProjectVersionRef missingRef : sortedMissing )
+            for ( final Map.Entry<ProjectVersionRef, Set<ProjectVersionRef>> entry : impacted.entrySet() )
             {
-                calculateMissingImpacts( missingRef, web, writer );
-            }
-        }
-        finally
-        {
-            closeQuietly( writer );
-        }
-    }
-
-    private void calculateMissingImpacts( final ProjectVersionRef missingRef, final EProjectWeb web,
-                                          final PrintWriter writer )
-    {
-        logger.info( "Generating impacted-project list for: %s", missingRef );
-
-        final Set<List<ProjectRelationship<?>>> paths = web.getPathsTo( missingRef );
-
-        final Set<ProjectVersionRef> allImpacted = new HashSet<ProjectVersionRef>();
-        for ( final List<ProjectRelationship<?>> path : paths )
-        {
-            for ( final ProjectRelationship<?> rel : path )
-            {
-                final ProjectVersionRef impacted = rel.getDeclaring()
-                                                      .asProjectVersionRef();
-                if ( !impacted.equals( missingRef ) )
+                final Set<ProjectVersionRef> allImpacted = entry.getValue();
+                if ( allImpacted.isEmpty() )
                 {
-                    logger.info( "  +%s", impacted );
-                    allImpacted.add( impacted );
+                    continue;
                 }
+
+                writer.printf( "\n\n%s:\n----------------------------------------------\n\n  ", entry.getKey() );
+                printJoined( writer, sortByToString( allImpacted ), "\n  " );
             }
         }
-
-        if ( allImpacted.isEmpty() )
+        finally
         {
-            return;
+            closeQuietly( writer );
         }
-
-        logger.info( "Sorting list of %d impacted projects for: %s", allImpacted.size(), missingRef );
-        final List<ProjectVersionRef> allImpactedList = new ArrayList<ProjectVersionRef>( allImpacted );
-        Collections.sort( allImpactedList, new ToStringComparator<ProjectVersionRef>() );
-
-        writer.printf( "\n\n%s:\n----------------------------------------------\n\n  %s", missingRef,
-                       join( allImpactedList, "\n  " ) );
     }
 
     public boolean canRun( final ValidatorSession session )
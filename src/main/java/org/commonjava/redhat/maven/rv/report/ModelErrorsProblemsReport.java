@@ -1,6 +1,7 @@
 package org.commonjava.redhat.maven.rv.report;
 
 import static org.apache.commons.io.IOUtils.closeQuietly;
+import static org.commonjava.redhat.maven.rv.util.KeyedSort.sortByToString;
 
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -17,6 +18,7 @@ import org.commonjava.redhat.maven.rv.ValidationException;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
 
 @Named( "missing-errors-problems.log" )
+@ReadOnlyReport
 public class ModelErrorsProblemsReport
     implements ValidationReport
 {
@@ -36,7 +38,7 @@ public class ModelErrorsProblemsReport
             refs.addAll( errors.keySet() );
             refs.addAll( problems.keySet() );
 
-            for ( final ProjectVersionRef ref : refs )
+            for ( final ProjectVersionRef ref : sortByToString( refs ) )
             {
                 final Set<Exception> modelErrors = errors.get( ref );
                 final Set<ModelProblem> modelProblems = problems.get( ref );
@@ -50,7 +52,7 @@ public class ModelErrorsProblemsReport
                 if ( modelProblems != null )
                 {
                     int idx = 0;
-                    for ( final ModelProblem prob : modelProblems )
+                    for ( final ModelProblem prob : sortByToString( modelProblems ) )
                     {
                         writer.printf( "\n  %d:  %s", idx, prob );
                         idx++;
@@ -65,7 +67,7 @@ public class ModelErrorsProblemsReport
                 if ( modelErrors != null )
                 {
                     int idx = 0;
-                    for ( final Exception exception : modelErrors )
+                    for ( final Exception exception : sortByToString( modelErrors ) )
                     {
                         writer.printf( "\n\n  %d: ", idx );
                         exception.printStackTrace( writer );
@@ -1,14 +1,12 @@
 package org.commonjava.redhat.maven.rv.report;
 
 import static org.apache.commons.io.IOUtils.closeQuietly;
-import static org.apache.commons.lang.StringUtils.join;
+import static org.commonjava.redhat.maven.rv.util.KeyedSort.sortByToString;
+import static org.commonjava.redhat.maven.rv.util.ReportUtils.printJoined;
 
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -18,9 +16,9 @@ import org.apache.maven.graph.common.ref.ProjectVersionRef;
 import org.apache.maven.model.building.ModelProblem;
 import org.commonjava.redhat.maven.rv.ValidationException;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
-import org.commonjava.redhat.maven.rv.util.ToStringComparator;
 
 @Named( "models-with-failure.txt" )
+@ReadOnlyReport
 public class ModelWithFailureReport
     implements ValidationReport
 {
@@ -40,10 +38,7 @@ public class ModelWithFailureReport
             refs.addAll( errors.keySet() );
             refs.addAll( problems.keySet() );
 
-            final List<ProjectVersionRef> sortedRefs = new ArrayList<ProjectVersionRef>( refs );
-            Collections.sort( sortedRefs, new ToStringComparator<ProjectVersionRef>() );
-
-            writer.printf( join( sortedRefs, "\n" ) );
+            printJoined( writer, sortByToString( refs ), "\n" );
         }
         finally
         {
@@ -0,0 +1,19 @@
+package org.commonjava.redhat.maven.rv.report;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link ValidationReport} that only reads from the session while it is written, so it can be written at the
+ * same time as other reports carrying this annotation. Reports without it are written one at a time.
+ */
+@Documented
+@Retention( RetentionPolicy.RUNTIME )
+@Target( ElementType.TYPE )
+public @interface ReadOnlyReport
+{
+
+}
@@ -1,6 +1,7 @@
 package org.commonjava.redhat.maven.rv.report;
 
 import static org.apache.commons.io.IOUtils.closeQuietly;
+import static org.commonjava.redhat.maven.rv.util.KeyedSort.sortByToString;
 
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -16,6 +17,7 @@ import org.commonjava.redhat.maven.rv.ValidationException;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
 
 @Named( "resolution-repos.log" )
+@ReadOnlyReport
 public class ResolutionReposReport
     implements ValidationReport
 {
@@ -29,10 +31,10 @@ public class ResolutionReposReport
             writer = session.getReportWriter( this );
             final Map<ArtifactRef, List<String>> allByArtifact = session.getAllArtifactResolutionRepositories();
 
-            for ( final Map.Entry<ArtifactRef, List<String>> entry : allByArtifact.entrySet() )
+            for ( final ArtifactRef ref : sortByToString( allByArtifact.keySet() ) )
             {
-                writer.printf( "%s:\n----------------------------------------\n", entry.getKey() );
-                final List<String> repos = entry.getValue();
+                writer.printf( "%s:\n----------------------------------------\n", ref );
+                final List<String> repos = allByArtifact.get( ref );
                 if ( repos == null || repos.isEmpty() )
                 {
                     writer.printf( "\n  -None-" );
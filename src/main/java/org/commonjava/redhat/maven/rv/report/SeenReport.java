@@ -1,22 +1,18 @@
 package org.commonjava.redhat.maven.rv.report;
 
 import static org.apache.commons.io.IOUtils.closeQuietly;
-import static org.apache.commons.lang.StringUtils.join;
+import static org.commonjava.redhat.maven.rv.util.ReportUtils.printJoined;
 
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 
 import javax.inject.Named;
 
-import org.apache.maven.graph.common.ref.ProjectVersionRef;
 import org.commonjava.redhat.maven.rv.ValidationException;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
-import org.commonjava.redhat.maven.rv.util.ToStringComparator;
 
 @Named( "processed.txt" )
+@ReadOnlyReport
 public class SeenReport
     implements ValidationReport
 {
@@ -29,10 +25,7 @@ public class SeenReport
         {
             writer = session.getReportWriter( this );
 
-            final List<ProjectVersionRef> list = new ArrayList<ProjectVersionRef>( session.getSeen() );
-            Collections.sort( list, new ToStringComparator<ProjectVersionRef>() );
-
-            writer.printf( join( list, "\n" ) );
+            printJoined( writer, session.getSortedSeen(), "\n" );
         }
         finally
         {
@@ -0,0 +1,19 @@
+package org.commonjava.redhat.maven.rv.report;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link ValidationReport} that reports on the run itself rather than on the repository, so it is written after
+ * every other report, one at a time.
+ */
+@Documented
+@Retention( RetentionPolicy.RUNTIME )
+@Target( ElementType.TYPE )
+public @interface SummaryReport
+{
+
+}
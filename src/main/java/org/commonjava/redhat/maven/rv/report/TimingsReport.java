@@ -0,0 +1,47 @@
+package org.commonjava.redhat.maven.rv.report;
+
+import static org.apache.commons.io.IOUtils.closeQuietly;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import javax.inject.Named;
+
+import org.commonjava.redhat.maven.rv.ValidationException;
+import org.commonjava.redhat.maven.rv.session.ValidatorSession;
+
+/**
+ * Wall time, CPU time and allocations for each phase of the run, including every report written before this one. The
+ * pipeline phases run alongside each other, so their spans overlap and their busy times add up across threads.
+ */
+@Named( "timings.txt" )
+@SummaryReport
+public class TimingsReport
+    implements ValidationReport
+{
+
+    public void write( final ValidatorSession session )
+        throws IOException, ValidationException
+    {
+        PrintWriter writer = null;
+        try
+        {
+            writer = session.getReportWriter( this );
+            for ( final String line : session.getPhaseTimer()
+                                             .getTable() )
+            {
+                writer.println( line );
+            }
+        }
+        finally
+        {
+            closeQuietly( writer );
+        }
+    }
+
+    public boolean canRun( final ValidatorSession session )
+    {
+        return session.getPhaseTimer() != null;
+    }
+
+}
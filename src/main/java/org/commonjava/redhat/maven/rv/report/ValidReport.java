@@ -1,24 +1,18 @@
 package org.commonjava.redhat.maven.rv.report;
 
 import static org.apache.commons.io.IOUtils.closeQuietly;
-import static org.apache.commons.lang.StringUtils.join;
 
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Set;
 
 import javax.inject.Named;
 
 import org.apache.maven.graph.common.ref.ProjectVersionRef;
 import org.commonjava.redhat.maven.rv.ValidationException;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
-import org.commonjava.redhat.maven.rv.util.ToStringComparator;
 
 @Named( "valid.txt" )
+@ReadOnlyReport
 public class ValidReport
     implements ValidationReport
 {
@@ -31,22 +25,22 @@ public class ValidReport
         {
             writer = session.getReportWriter( this );
 
-            final Set<ProjectVersionRef> valid = session.getSeen();
-            valid.removeAll( session.getMissing() );
-
-            for ( final Iterator<ProjectVersionRef> iterator = valid.iterator(); iterator.hasNext(); )
+            boolean first = true;
+            for ( final ProjectVersionRef ref : session.getSortedSeen() )
             {
-                final ProjectVersionRef ref = iterator.next();
-                if ( ref == null )
+                if ( ref == null || session.isMissing( ref ) )
                 {
-                    iterator.remove();
+                    continue;
                 }
-            }
 
-            final List<ProjectVersionRef> validList = new ArrayList<ProjectVersionRef>( valid );
-            Collections.sort( validList, new ToStringComparator<ProjectVersionRef>() );
+                if ( !first )
+                {
+                    writer.print( "\n" );
+                }
 
-            writer.printf( join( validList, "\n" ) );
+                writer.print( ref );
+                first = false;
+            }
         }
         finally
         {
@@ -0,0 +1,285 @@
+package org.commonjava.redhat.maven.rv.session;
+
+import static org.apache.commons.io.IOUtils.closeQuietly;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.maven.graph.common.RelationshipType;
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.graph.common.ref.ProjectRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.apache.maven.graph.effective.rel.ProjectRelationship;
+import org.apache.maven.model.building.ModelProblem;
+
+/**
+ * Everything validating a single POM file contributed to the {@link ValidatorSession}, captured so an incremental run
+ * can put it back without rebuilding the model.
+ */
+public class PomRecord
+    implements Serializable
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final String path;
+
+    private final long length;
+
+    private final long lastModified;
+
+    private final String checksum;
+
+    private final Set<ProjectVersionRef> seen = new HashSet<ProjectVersionRef>();
+
+    private final Set<ProjectVersionRef> missing = new HashSet<ProjectVersionRef>();
+
+    private final Set<ProjectVersionRef> boms = new HashSet<ProjectVersionRef>();
+
+    private final Map<ProjectVersionRef, List<ModelProblem>> problems =
+        new HashMap<ProjectVersionRef, List<ModelProblem>>();
+
+    private final Map<ProjectVersionRef, List<Exception>> errors = new HashMap<ProjectVersionRef, List<Exception>>();
+
+    private final List<Exception> lowLevelErrors = new ArrayList<Exception>();
+
+    private final List<ProjectRelationship<?>> relationships = new ArrayList<ProjectRelationship<?>>();
+
+    private final Set<ProjectRef> versionResolutionFailures = new HashSet<ProjectRef>();
+
+    private final Map<ProjectVersionRef, Set<String>> files = new HashMap<ProjectVersionRef, Set<String>>();
+
+    private final Set<ArtifactRef> artifactsToResolve = new LinkedHashSet<ArtifactRef>();
+
+    PomRecord( final String path, final File pomFile )
+        throws IOException
+    {
+        this.path = path;
+        this.length = pomFile.length();
+        this.lastModified = pomFile.lastModified();
+        this.checksum = checksum( pomFile );
+    }
+
+    public String getPath()
+    {
+        return path;
+    }
+
+    /**
+     * Cheap size/timestamp comparison first; only when those differ is the file content hashed, so a sync that merely
+     * touches files doesn't invalidate them.
+     */
+    public boolean isUnchanged( final File pomFile )
+        throws IOException
+    {
+        if ( !pomFile.isFile() )
+        {
+            return false;
+        }
+
+        if ( pomFile.length() == length && pomFile.lastModified() == lastModified )
+        {
+            return true;
+        }
+
+        return pomFile.length() == length && checksum.equals( checksum( pomFile ) );
+    }
+
+    /**
+     * Projects whose results this record holds, i.e. the coordinates the POM declared relationships, problems or
+     * files for.
+     */
+    Set<ProjectRef> getDeclaredProjects()
+    {
+        final Set<ProjectRef> result = new HashSet<ProjectRef>();
+        for ( final ProjectRelationship<?> rel : relationships )
+        {
+            result.add( rel.getDeclaring()
+                           .asProjectRef() );
+        }
+
+        for ( final ProjectVersionRef ref : problems.keySet() )
+        {
+            result.add( ref.asProjectRef() );
+        }
+
+        for ( final ProjectVersionRef ref : files.keySet() )
+        {
+            result.add( ref.asProjectRef() );
+        }
+
+        return result;
+    }
+
+    /**
+     * Projects whose content went into this POM's effective model: its parent and any imported BOMs.
+     */
+    Set<ProjectRef> getInputProjects()
+    {
+        final Set<ProjectRef> result = new HashSet<ProjectRef>();
+        for ( final ProjectRelationship<?> rel : relationships )
+        {
+            if ( rel.getType() == RelationshipType.PARENT )
+            {
+                result.add( rel.getTarget()
+                               .asProjectRef() );
+            }
+        }
+
+        for ( final ProjectVersionRef ref : boms )
+        {
+            result.add( ref.asProjectRef() );
+        }
+
+        return result;
+    }
+
+    void addSeen( final ProjectVersionRef ref )
+    {
+        seen.add( ref );
+    }
+
+    void addMissing( final ProjectVersionRef ref )
+    {
+        missing.add( ref );
+    }
+
+    void addBom( final ProjectVersionRef ref )
+    {
+        boms.add( ref );
+    }
+
+    void addModelProblem( final ProjectVersionRef ref, final ModelProblem problem )
+    {
+        List<ModelProblem> list = problems.get( ref );
+        if ( list == null )
+        {
+            list = new ArrayList<ModelProblem>();
+            problems.put( ref, list );
+        }
+
+        list.add( problem instanceof RecordedModelProblem ? problem : new RecordedModelProblem( problem ) );
+    }
+
+    void addError( final ProjectVersionRef ref, final Exception error )
+    {
+        List<Exception> list = errors.get( ref );
+        if ( list == null )
+        {
+            list = new ArrayList<Exception>();
+            errors.put( ref, list );
+        }
+
+        list.add( RecordedError.of( error ) );
+    }
+
+    void addLowLevelError( final Exception error )
+    {
+        lowLevelErrors.add( RecordedError.of( error ) );
+    }
+
+    void addRelationship( final ProjectRelationship<?> rel )
+    {
+        relationships.add( rel );
+    }
+
+    void addVersionResolutionFailure( final ProjectRef ref )
+    {
+        versionResolutionFailures.add( ref );
+    }
+
+    void addProjectFiles( final ProjectVersionRef ref, final String[] names )
+    {
+        Set<String> set = files.get( ref );
+        if ( set == null )
+        {
+            set = new HashSet<String>();
+            files.put( ref, set );
+        }
+
+        set.addAll( Arrays.asList( names ) );
+    }
+
+    void addArtifactToResolve( final ArtifactRef ref )
+    {
+        artifactsToResolve.add( ref );
+    }
+
+    Set<ProjectVersionRef> getSeen()
+    {
+        return seen;
+    }
+
+    Set<ProjectVersionRef> getMissing()
+    {
+        return missing;
+    }
+
+    Set<ProjectVersionRef> getBoms()
+    {
+        return boms;
+    }
+
+    Map<ProjectVersionRef, List<ModelProblem>> getModelProblems()
+    {
+        return problems;
+    }
+
+    Map<ProjectVersionRef, List<Exception>> getErrors()
+    {
+        return errors;
+    }
+
+    List<Exception> getLowLevelErrors()
+    {
+        return lowLevelErrors;
+    }
+
+    List<ProjectRelationship<?>> getRelationships()
+    {
+        return relationships;
+    }
+
+    Set<ProjectRef> getVersionResolutionFailures()
+    {
+        return versionResolutionFailures;
+    }
+
+    Map<ProjectVersionRef, Set<String>> getProjectFiles()
+    {
+        return files;
+    }
+
+    Set<ArtifactRef> getArtifactsToResolve()
+    {
+        return artifactsToResolve;
+    }
+
+    private static String checksum( final File pomFile )
+        throws IOException
+    {
+        InputStream in = null;
+        try
+        {
+            in = new FileInputStream( pomFile );
+            return DigestUtils.shaHex( in );
+        }
+        finally
+        {
+            closeQuietly( in );
+        }
+    }
+
+}
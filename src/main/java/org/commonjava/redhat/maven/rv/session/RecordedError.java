@@ -0,0 +1,62 @@
+package org.commonjava.redhat.maven.rv.session;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * Serializable stand-in for an error captured during an earlier run. Only the rendered description and stack trace
+ * survive, which is all the reports ever print.
+ */
+public class RecordedError
+    extends Exception
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final String trace;
+
+    public RecordedError( final Throwable error )
+    {
+        super( error.toString() );
+
+        final StringWriter sw = new StringWriter();
+        error.printStackTrace( new PrintWriter( sw ) );
+        this.trace = sw.toString();
+    }
+
+    public static Exception of( final Exception error )
+    {
+        if ( error == null || error instanceof RecordedError )
+        {
+            return error;
+        }
+
+        return new RecordedError( error );
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace()
+    {
+        return this;
+    }
+
+    @Override
+    public void printStackTrace( final PrintStream s )
+    {
+        s.print( trace );
+    }
+
+    @Override
+    public void printStackTrace( final PrintWriter s )
+    {
+        s.print( trace );
+    }
+
+    @Override
+    public String toString()
+    {
+        return getMessage();
+    }
+
+}
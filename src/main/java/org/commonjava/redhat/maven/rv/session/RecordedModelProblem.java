@@ -0,0 +1,85 @@
+package org.commonjava.redhat.maven.rv.session;
+
+import java.io.Serializable;
+
+import org.apache.maven.model.building.ModelProblem;
+
+/**
+ * Serializable copy of a {@link ModelProblem}, keeping the original rendering for the reports.
+ */
+public class RecordedModelProblem
+    implements ModelProblem, Serializable
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final String source;
+
+    private final int lineNumber;
+
+    private final int columnNumber;
+
+    private final String modelId;
+
+    private final String message;
+
+    private final Severity severity;
+
+    private final Exception exception;
+
+    private final String description;
+
+    public RecordedModelProblem( final ModelProblem problem )
+    {
+        this.source = problem.getSource();
+        this.lineNumber = problem.getLineNumber();
+        this.columnNumber = problem.getColumnNumber();
+        this.modelId = problem.getModelId();
+        this.message = problem.getMessage();
+        this.severity = problem.getSeverity();
+        this.exception = RecordedError.of( problem.getException() );
+        this.description = problem.toString();
+    }
+
+    public String getSource()
+    {
+        return source;
+    }
+
+    public int getLineNumber()
+    {
+        return lineNumber;
+    }
+
+    public int getColumnNumber()
+    {
+        return columnNumber;
+    }
+
+    public String getModelId()
+    {
+        return modelId;
+    }
+
+    public Exception getException()
+    {
+        return exception;
+    }
+
+    public String getMessage()
+    {
+        return message;
+    }
+
+    public Severity getSeverity()
+    {
+        return severity;
+    }
+
+    @Override
+    public String toString()
+    {
+        return description;
+    }
+
+}
@@ -0,0 +1,171 @@
+package org.commonjava.redhat.maven.rv.session;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+
+/**
+ * Map from references to values, stored as an array indexed by the references' {@link RefSymbolTable} ids. Entries
+ * can't be removed. Iteration works on a copy of the array taken when the iterator is created.
+ */
+public class RefIdMap<K extends ProjectVersionRef, V>
+    extends AbstractMap<K, V>
+{
+
+    private final RefSymbolTable symbols;
+
+    // guarded by this.
+    private Object[] values = new Object[256];
+
+    // guarded by this.
+    private int size;
+
+    public RefIdMap( final RefSymbolTable symbols )
+    {
+        this.symbols = symbols;
+    }
+
+    @Override
+    @SuppressWarnings( "unchecked" )
+    public V get( final Object key )
+    {
+        final int id = symbols.find( key );
+        if ( id < 0 )
+        {
+            return null;
+        }
+
+        synchronized ( this )
+        {
+            return id < values.length ? (V) values[id] : null;
+        }
+    }
+
+    @Override
+    public boolean containsKey( final Object key )
+    {
+        return get( key ) != null;
+    }
+
+    @Override
+    public V put( final K key, final V value )
+    {
+        return store( key, value, true );
+    }
+
+    /**
+     * Same contract as {@link java.util.concurrent.ConcurrentMap#putIfAbsent(Object, Object)}.
+     */
+    public V putIfAbsent( final K key, final V value )
+    {
+        return store( key, value, false );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private V store( final K key, final V value, final boolean replace )
+    {
+        if ( value == null )
+        {
+            throw new NullPointerException( "Null values are not supported." );
+        }
+
+        final int id = symbols.register( key );
+        synchronized ( this )
+        {
+            if ( id >= values.length )
+            {
+                values = Arrays.copyOf( values, Math.max( id + 1, values.length * 2 ) );
+            }
+
+            final V previous = (V) values[id];
+            if ( previous == null )
+            {
+                size++;
+            }
+
+            if ( previous == null || replace )
+            {
+                values[id] = value;
+            }
+
+            return previous;
+        }
+    }
+
+    @Override
+    public synchronized int size()
+    {
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet()
+    {
+        return new AbstractSet<Map.Entry<K, V>>()
+        {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator()
+            {
+                final Object[] snapshot;
+                synchronized ( RefIdMap.this )
+                {
+                    snapshot = Arrays.copyOf( values, values.length );
+                }
+
+                return new Iterator<Map.Entry<K, V>>()
+                {
+                    private int next = advance( 0 );
+
+                    public boolean hasNext()
+                    {
+                        return next < snapshot.length;
+                    }
+
+                    @SuppressWarnings( "unchecked" )
+                    public Map.Entry<K, V> next()
+                    {
+                        if ( next >= snapshot.length )
+                        {
+                            throw new NoSuchElementException();
+                        }
+
+                        final Map.Entry<K, V> entry =
+                            new SimpleImmutableEntry<K, V>( (K) symbols.get( next ), (V) snapshot[next] );
+                        next = advance( next + 1 );
+
+                        return entry;
+                    }
+
+                    public void remove()
+                    {
+                        throw new UnsupportedOperationException();
+                    }
+
+                    private int advance( final int from )
+                    {
+                        int i = from;
+                        while ( i < snapshot.length && snapshot[i] == null )
+                        {
+                            i++;
+                        }
+
+                        return i;
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return RefIdMap.this.size();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,115 @@
+package org.commonjava.redhat.maven.rv.session;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+
+/**
+ * Grow-only set of references, stored as a bitset over their {@link RefSymbolTable} ids. Iteration works on a copy of
+ * the bits taken when the iterator is created, so it never fails on concurrent additions.
+ */
+public class RefIdSet
+    extends AbstractSet<ProjectVersionRef>
+{
+
+    private final RefSymbolTable symbols;
+
+    // guarded by this.
+    private final BitSet bits = new BitSet();
+
+    // guarded by this.
+    private int size;
+
+    public RefIdSet( final RefSymbolTable symbols )
+    {
+        this.symbols = symbols;
+    }
+
+    @Override
+    public boolean add( final ProjectVersionRef ref )
+    {
+        final int id = symbols.register( ref );
+        synchronized ( this )
+        {
+            if ( bits.get( id ) )
+            {
+                return false;
+            }
+
+            bits.set( id );
+            size++;
+
+            return true;
+        }
+    }
+
+    @Override
+    public boolean contains( final Object ref )
+    {
+        final int id = symbols.find( ref );
+        return id > -1 && containsId( id );
+    }
+
+    public synchronized boolean containsId( final int id )
+    {
+        return bits.get( id );
+    }
+
+    /**
+     * Whether the project the artifact belongs to is in this set, without building the project reference.
+     */
+    public boolean containsProjectOf( final ArtifactRef ref )
+    {
+        final int id = symbols.findProject( ref );
+        return id > -1 && containsId( id );
+    }
+
+    @Override
+    public synchronized int size()
+    {
+        return size;
+    }
+
+    @Override
+    public Iterator<ProjectVersionRef> iterator()
+    {
+        final BitSet snapshot;
+        synchronized ( this )
+        {
+            snapshot = (BitSet) bits.clone();
+        }
+
+        return new Iterator<ProjectVersionRef>()
+        {
+            private int next = snapshot.nextSetBit( 0 );
+
+            public boolean hasNext()
+            {
+                return next > -1;
+            }
+
+            public ProjectVersionRef next()
+            {
+                if ( next < 0 )
+                {
+                    throw new NoSuchElementException();
+                }
+
+                final ProjectVersionRef ref = symbols.get( next );
+                next = snapshot.nextSetBit( next + 1 );
+
+                return ref;
+            }
+
+            public void remove()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+}
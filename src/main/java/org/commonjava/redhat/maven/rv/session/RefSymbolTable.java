@@ -0,0 +1,252 @@
+package org.commonjava.redhat.maven.rv.session;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+
+/**
+ * Session-wide symbol table for project and artifact references. Each distinct reference gets a dense int id the first
+ * time it is stored anywhere in the session, so the session's sets and per-project tables can be bitsets and arrays
+ * over those ids sharing one instance of each reference.
+ * <p>
+ * The first instance stored for a reference is the interned one: the open-addressing tables hold nothing but its id,
+ * and probes compare groupId, artifactId and version strings against it, so a lookup never falls back on
+ * {@link ProjectVersionRef#equals(Object)}, which parses both versions and keeps the results. An {@link ArtifactRef} is
+ * matched on its project's id plus type, classifier and optional flag; {@link #projectOf(int)} maps it back to the
+ * project's id.
+ */
+public class RefSymbolTable
+{
+
+    private static final int NONE = -1;
+
+    private final ConcurrentMap<String, String> strings = new ConcurrentHashMap<String, String>();
+
+    // guarded by this.
+    private ProjectVersionRef[] refs = new ProjectVersionRef[1024];
+
+    // id of the project each reference belongs to; guarded by this.
+    private int[] projects = new int[1024];
+
+    // id + 1 of each project, 0 for a free slot; guarded by this.
+    private int[] projectSlots = new int[1024];
+
+    // id + 1 of each artifact, 0 for a free slot; guarded by this.
+    private int[] artifactSlots = new int[1024];
+
+    // guarded by this.
+    private int size;
+
+    // guarded by this.
+    private int projectCount;
+
+    public String intern( final String value )
+    {
+        if ( value == null )
+        {
+            return null;
+        }
+
+        final String existing = strings.putIfAbsent( value, value );
+        return existing == null ? value : existing;
+    }
+
+    /**
+     * @return the id of the reference, assigning the next free one if it hasn't been stored before. Registering an
+     *         artifact registers its project too.
+     */
+    public synchronized int register( final ProjectVersionRef ref )
+    {
+        int project = findProject( ref );
+        if ( project == NONE )
+        {
+            project = add( ref instanceof ArtifactRef ? ref.asProjectVersionRef() : ref, NONE );
+            projectSlots = insert( projectSlots, ++projectCount, projectHash( ref ), project );
+        }
+
+        if ( !( ref instanceof ArtifactRef ) )
+        {
+            return project;
+        }
+
+        final ArtifactRef artifact = (ArtifactRef) ref;
+        final int found = findArtifact( project, artifact );
+        if ( found != NONE )
+        {
+            return found;
+        }
+
+        final int added = add( ref, project );
+        artifactSlots = insert( artifactSlots, size - projectCount, artifactHash( project, artifact ), added );
+
+        return added;
+    }
+
+    /**
+     * @return the id of the reference, or -1 if it hasn't been stored
+     */
+    public synchronized int find( final Object ref )
+    {
+        if ( !( ref instanceof ProjectVersionRef ) )
+        {
+            return NONE;
+        }
+
+        final int project = findProject( (ProjectVersionRef) ref );
+        if ( project == NONE || !( ref instanceof ArtifactRef ) )
+        {
+            return project;
+        }
+
+        return findArtifact( project, (ArtifactRef) ref );
+    }
+
+    /**
+     * @return the id of the project the reference belongs to, or -1 if that project hasn't been stored
+     */
+    public synchronized int findProject( final ProjectVersionRef ref )
+    {
+        final int mask = projectSlots.length - 1;
+        for ( int slot = projectHash( ref ) & mask;; slot = ( slot + 1 ) & mask )
+        {
+            final int id = projectSlots[slot] - 1;
+            if ( id == NONE )
+            {
+                return NONE;
+            }
+
+            final ProjectVersionRef stored = refs[id];
+            if ( same( stored.getGroupId(), ref.getGroupId() ) && same( stored.getArtifactId(), ref.getArtifactId() )
+                && same( stored.getVersionString(), ref.getVersionString() ) )
+            {
+                return id;
+            }
+        }
+    }
+
+    public synchronized ProjectVersionRef get( final int id )
+    {
+        return refs[id];
+    }
+
+    /**
+     * @return the id of the project an artifact belongs to, or <code>id</code> itself if it doesn't refer to an
+     *         artifact
+     */
+    public synchronized int projectOf( final int id )
+    {
+        return projects[id];
+    }
+
+    public synchronized int size()
+    {
+        return size;
+    }
+
+    // guarded by this.
+    private int findArtifact( final int project, final ArtifactRef ref )
+    {
+        final int mask = artifactSlots.length - 1;
+        for ( int slot = artifactHash( project, ref ) & mask;; slot = ( slot + 1 ) & mask )
+        {
+            final int id = artifactSlots[slot] - 1;
+            if ( id == NONE )
+            {
+                return NONE;
+            }
+
+            final ArtifactRef stored = (ArtifactRef) refs[id];
+            if ( projects[id] == project && stored.isOptional() == ref.isOptional()
+                && same( stored.getType(), ref.getType() ) && same( stored.getClassifier(), ref.getClassifier() ) )
+            {
+                return id;
+            }
+        }
+    }
+
+    // guarded by this.
+    private int add( final ProjectVersionRef ref, final int project )
+    {
+        if ( size == refs.length )
+        {
+            refs = Arrays.copyOf( refs, size * 2 );
+            projects = Arrays.copyOf( projects, size * 2 );
+        }
+
+        refs[size] = ref;
+        projects[size] = project == NONE ? size : project;
+
+        return size++;
+    }
+
+    // guarded by this; count includes the id being inserted. Rehashes once the table would be over half full.
+    private int[] insert( final int[] slots, final int count, final int hash, final int id )
+    {
+        int[] table = slots;
+        if ( count * 2 > table.length )
+        {
+            table = new int[table.length * 2];
+            for ( final int stored : slots )
+            {
+                if ( stored != 0 )
+                {
+                    place( table, rehash( stored - 1 ), stored );
+                }
+            }
+        }
+
+        place( table, hash, id + 1 );
+        return table;
+    }
+
+    // guarded by this.
+    private int rehash( final int id )
+    {
+        final ProjectVersionRef ref = refs[id];
+        return ref instanceof ArtifactRef ? artifactHash( projects[id], (ArtifactRef) ref ) : projectHash( ref );
+    }
+
+    private static void place( final int[] table, final int hash, final int value )
+    {
+        final int mask = table.length - 1;
+        int slot = hash & mask;
+        while ( table[slot] != 0 )
+        {
+            slot = ( slot + 1 ) & mask;
+        }
+
+        table[slot] = value;
+    }
+
+    private static int projectHash( final ProjectVersionRef ref )
+    {
+        return spread( 31 * ( 31 * hash( ref.getGroupId() ) + hash( ref.getArtifactId() ) )
+            + hash( ref.getVersionString() ) );
+    }
+
+    private static int artifactHash( final int project, final ArtifactRef ref )
+    {
+        return spread( 31 * ( 31 * ( 31 * project + hash( ref.getType() ) ) + hash( ref.getClassifier() ) )
+            + ( ref.isOptional() ? 1 : 0 ) );
+    }
+
+    // the tables are masked down to their low bits; mix the high ones in.
+    private static int spread( final int hash )
+    {
+        return hash ^ ( hash >>> 16 );
+    }
+
+    private static boolean same( final String first, final String second )
+    {
+        return first == null ? second == null : first.equals( second );
+    }
+
+    private static int hash( final String value )
+    {
+        return value == null ? 0 : value.hashCode();
+    }
+
+}
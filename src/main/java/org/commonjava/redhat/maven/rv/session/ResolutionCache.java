@@ -0,0 +1,251 @@
+package org.commonjava.redhat.maven.rv.session;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.maven.graph.common.ref.ProjectRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.apache.maven.graph.common.version.InvalidVersionSpecificationException;
+import org.apache.maven.graph.common.version.SingleVersion;
+import org.commonjava.redhat.maven.rv.ValidationException;
+import org.commonjava.redhat.maven.rv.util.CacheStats;
+
+/**
+ * Session-scoped memo of remote lookups that give the same answer every time they're made within a run: the versions
+ * listed in a project's repository metadata, the version each range resolves to, and the version chosen for each
+ * plugin declared without one.
+ */
+public class ResolutionCache
+{
+
+    private final ConcurrentMap<ProjectRef, AvailableVersions> availableVersions =
+        new ConcurrentHashMap<ProjectRef, AvailableVersions>();
+
+    private final ConcurrentMap<ProjectVersionRef, ProjectVersionRef> resolvedRanges =
+        new ConcurrentHashMap<ProjectVersionRef, ProjectVersionRef>();
+
+    private final Set<ProjectVersionRef> unresolvableRanges =
+        Collections.newSetFromMap( new ConcurrentHashMap<ProjectVersionRef, Boolean>() );
+
+    private final ConcurrentMap<ProjectRef, PluginVersion> pluginVersions =
+        new ConcurrentHashMap<ProjectRef, PluginVersion>();
+
+    private final CacheStats metadataStats = new CacheStats();
+
+    private final CacheStats pluginStats = new CacheStats();
+
+    private final CacheStats rangeStats = new CacheStats();
+
+    /**
+     * Versions available for a project, newest first, along with the error (if any) hit while reading its metadata.
+     */
+    public static final class AvailableVersions
+    {
+        private final List<SingleVersion> versions;
+
+        private final Exception error;
+
+        public AvailableVersions( final List<SingleVersion> versions, final Exception error )
+        {
+            this.versions = Collections.unmodifiableList( versions );
+            this.error = error;
+        }
+
+        public List<SingleVersion> getVersions()
+        {
+            return versions;
+        }
+
+        public Exception getError()
+        {
+            return error;
+        }
+    }
+
+    /**
+     * Outcome of resolving a plugin version: either the resolved reference, or the error that prevented it (along
+     * with the offending version string, if one was found but couldn't be parsed).
+     */
+    public static final class PluginVersion
+    {
+        private final ProjectVersionRef ref;
+
+        private final String version;
+
+        private final Exception error;
+
+        public PluginVersion( final ProjectVersionRef ref, final String version, final Exception error )
+        {
+            this.ref = ref;
+            this.version = version;
+            this.error = error;
+        }
+
+        public ProjectVersionRef getRef()
+        {
+            return ref;
+        }
+
+        public String getVersion()
+        {
+            return version;
+        }
+
+        public Exception getError()
+        {
+            return error;
+        }
+
+        /**
+         * Reports a failed resolution against the POM declaring the plugin. Failures are cached too, but each POM that
+         * declares the plugin gets its own report.
+         */
+        public void reportFailure( final ValidatorSession session, final ProjectRef plugin,
+                                   final ProjectVersionRef src )
+        {
+            if ( error instanceof InvalidVersionSpecificationException )
+            {
+                session.addLowLevelError( new ValidationException(
+                                                                   "Failed to parse version: '%s'\nPlugin: %s\nPOM: %s\nReason: %s",
+                                                                   error, version, plugin, src, error.getMessage() ) );
+            }
+            else if ( error != null )
+            {
+                session.addError( src, error );
+            }
+
+            session.addVersionResolutionFailure( plugin );
+        }
+    }
+
+    /**
+     * Finds the version of a plugin declared without one.
+     */
+    public interface PluginVersionLookup
+    {
+        PluginVersion lookup( ProjectRef plugin );
+    }
+
+    public AvailableVersions getAvailableVersions( final ProjectRef ref )
+    {
+        final AvailableVersions versions = availableVersions.get( key( ref ) );
+        if ( versions == null )
+        {
+            metadataStats.miss();
+        }
+        else
+        {
+            metadataStats.hit();
+        }
+
+        return versions;
+    }
+
+    public AvailableVersions cacheAvailableVersions( final ProjectRef ref, final AvailableVersions versions )
+    {
+        final AvailableVersions existing = availableVersions.putIfAbsent( key( ref ), versions );
+        return existing == null ? versions : existing;
+    }
+
+    public boolean isRangeCached( final ProjectVersionRef range )
+    {
+        final ProjectVersionRef key = key( range );
+        final boolean cached = resolvedRanges.containsKey( key ) || unresolvableRanges.contains( key );
+        if ( cached )
+        {
+            rangeStats.hit();
+        }
+        else
+        {
+            rangeStats.miss();
+        }
+
+        return cached;
+    }
+
+    /**
+     * @return the resolved reference, or null if the range is unresolvable (or not cached; see
+     *         {@link #isRangeCached(ProjectVersionRef)})
+     */
+    public ProjectVersionRef getResolvedRange( final ProjectVersionRef range )
+    {
+        return resolvedRanges.get( key( range ) );
+    }
+
+    public void cacheResolvedRange( final ProjectVersionRef range, final ProjectVersionRef resolved )
+    {
+        if ( resolved == null )
+        {
+            unresolvableRanges.add( key( range ) );
+        }
+        else
+        {
+            resolvedRanges.putIfAbsent( key( range ), resolved );
+        }
+    }
+
+    public PluginVersion getPluginVersion( final ProjectRef plugin )
+    {
+        final PluginVersion version = pluginVersions.get( key( plugin ) );
+        if ( version == null )
+        {
+            pluginStats.miss();
+        }
+        else
+        {
+            pluginStats.hit();
+        }
+
+        return version;
+    }
+
+    /**
+     * @return the cached outcome for the plugin, looking it up first if this is the first time it's asked for
+     */
+    public PluginVersion getPluginVersion( final ProjectRef plugin, final PluginVersionLookup lookup )
+    {
+        final PluginVersion version = getPluginVersion( plugin );
+        if ( version != null )
+        {
+            return version;
+        }
+
+        return cachePluginVersion( plugin, lookup.lookup( plugin ) );
+    }
+
+    public PluginVersion cachePluginVersion( final ProjectRef plugin, final PluginVersion version )
+    {
+        final PluginVersion existing = pluginVersions.putIfAbsent( key( plugin ), version );
+        return existing == null ? version : existing;
+    }
+
+    public CacheStats getMetadataStats()
+    {
+        return metadataStats;
+    }
+
+    public CacheStats getRangeStats()
+    {
+        return rangeStats;
+    }
+
+    public CacheStats getPluginStats()
+    {
+        return pluginStats;
+    }
+
+    // ArtifactRef and friends never equal a plain reference to the same coordinate, so normalize the keys.
+    private static ProjectRef key( final ProjectRef ref )
+    {
+        return new ProjectRef( ref.getGroupId(), ref.getArtifactId() );
+    }
+
+    private static ProjectVersionRef key( final ProjectVersionRef ref )
+    {
+        return new ProjectVersionRef( ref.getGroupId(), ref.getArtifactId(), ref.getVersionSpec() );
+    }
+
+}
@@ -0,0 +1,175 @@
+package org.commonjava.redhat.maven.rv.session;
+
+import static org.apache.commons.io.IOUtils.closeQuietly;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.maven.graph.common.ref.ProjectRef;
+
+/**
+ * Per-POM validation results of one run, keyed by path relative to the repository directory. The fingerprint
+ * captures the session settings that affect those results; state written under different settings is not reused.
+ */
+public class ValidationState
+    implements Serializable
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final String fingerprint;
+
+    private final ConcurrentMap<String, PomRecord> records = new ConcurrentHashMap<String, PomRecord>();
+
+    public ValidationState( final String fingerprint )
+    {
+        this.fingerprint = fingerprint;
+    }
+
+    public String getFingerprint()
+    {
+        return fingerprint;
+    }
+
+    public PomRecord get( final String path )
+    {
+        return records.get( path );
+    }
+
+    public void put( final PomRecord record )
+    {
+        records.put( record.getPath(), record );
+    }
+
+    public Collection<PomRecord> getRecords()
+    {
+        return records.values();
+    }
+
+    public int size()
+    {
+        return records.size();
+    }
+
+    /**
+     * Finds the records that have to be rebuilt because something their effective model was built from changed: a
+     * parent or imported BOM in the given set of changed projects, or (transitively) a POM already found stale here.
+     * Paths in the stale set are not returned again.
+     */
+    public Set<String> findDependents( final Set<String> stalePaths, final Set<ProjectRef> changedProjects )
+    {
+        final Set<ProjectRef> changed = new HashSet<ProjectRef>( changedProjects );
+        for ( final String path : stalePaths )
+        {
+            final PomRecord record = records.get( path );
+            if ( record != null )
+            {
+                changed.addAll( record.getDeclaredProjects() );
+            }
+        }
+
+        final Set<String> dependents = new HashSet<String>();
+        boolean found = true;
+        while ( found )
+        {
+            found = false;
+            for ( final PomRecord record : records.values() )
+            {
+                final String path = record.getPath();
+                if ( stalePaths.contains( path ) || dependents.contains( path ) )
+                {
+                    continue;
+                }
+
+                for ( final ProjectRef input : record.getInputProjects() )
+                {
+                    if ( changed.contains( input ) )
+                    {
+                        dependents.add( path );
+                        changed.addAll( record.getDeclaredProjects() );
+                        found = true;
+                        break;
+                    }
+                }
+            }
+        }
+
+        return dependents;
+    }
+
+    public static ValidationState load( final File file )
+        throws IOException
+    {
+        ObjectInputStream in = null;
+        try
+        {
+            in = new ObjectInputStream( new GZIPInputStream( new BufferedInputStream( new FileInputStream( file ) ) ) );
+            return (ValidationState) in.readObject();
+        }
+        catch ( final ClassNotFoundException e )
+        {
+            throw new IOException( "Cannot read validation state from: " + file + ". Reason: " + e.getMessage(), e );
+        }
+        catch ( final ClassCastException e )
+        {
+            throw new IOException( "Cannot read validation state from: " + file + ". Reason: " + e.getMessage(), e );
+        }
+        finally
+        {
+            closeQuietly( in );
+        }
+    }
+
+    /**
+     * Writes to a temporary file next to the target and renames it, so an interrupted run never leaves a truncated
+     * state file behind.
+     */
+    public void save( final File file )
+        throws IOException
+    {
+        final File dir = file.getParentFile();
+        if ( dir != null && !dir.isDirectory() && !dir.mkdirs() )
+        {
+            throw new IOException( "Failed to create directory: " + dir );
+        }
+
+        final File tmp = new File( dir, file.getName() + ".tmp" );
+        ObjectOutputStream out = null;
+        try
+        {
+            out =
+                new ObjectOutputStream( new GZIPOutputStream( new BufferedOutputStream( new FileOutputStream( tmp ) ) ) );
+            out.writeObject( this );
+            out.close();
+        }
+        finally
+        {
+            closeQuietly( out );
+        }
+
+        if ( file.exists() && !file.delete() )
+        {
+            throw new IOException( "Failed to replace validation state: " + file );
+        }
+
+        if ( !tmp.renameTo( file ) )
+        {
+            throw new IOException( "Failed to rename " + tmp + " to " + file );
+        }
+    }
+
+}
@@ -12,12 +12,12 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.maven.artifact.InvalidRepositoryException;
 import org.apache.maven.artifact.repository.ArtifactRepository;
@@ -33,6 +33,7 @@ import org.apache.maven.graph.effective.rel.ExtensionRelationship;
 import org.apache.maven.graph.effective.rel.ParentRelationship;
 import org.apache.maven.graph.effective.rel.PluginDependencyRelationship;
 import org.apache.maven.graph.effective.rel.PluginRelationship;
+import org.apache.maven.graph.effective.rel.ProjectRelationship;
 import org.apache.maven.mae.project.ProjectToolsException;
 import org.apache.maven.mae.project.session.SimpleProjectToolsSession;
 import org.apache.maven.model.Repository;
@@ -42,8 +43,19 @@ import org.apache.maven.model.building.ModelProblem;
 import org.apache.maven.settings.building.SettingsBuildingException;
 import org.commonjava.maven.atlas.spi.neo4j.effective.FileNeo4JEGraphDriver;
 import org.commonjava.redhat.maven.rv.ValidationException;
+import org.commonjava.redhat.maven.rv.comp.DirWorkspaceReader;
 import org.commonjava.redhat.maven.rv.comp.MavenComponentManager;
+import org.commonjava.redhat.maven.rv.comp.RepositoryIndex;
+import org.commonjava.redhat.maven.rv.comp.SimpleModelCache;
+import org.commonjava.redhat.maven.rv.graph.GraphBackend;
+import org.commonjava.redhat.maven.rv.graph.InverseRelationshipIndex;
+import org.commonjava.redhat.maven.rv.graph.MemoryEGraphDriver;
 import org.commonjava.redhat.maven.rv.report.ValidationReport;
+import org.commonjava.redhat.maven.rv.util.CacheStats;
+import org.commonjava.redhat.maven.rv.util.DedupQueue;
+import org.commonjava.redhat.maven.rv.util.MetricsRegistry;
+import org.commonjava.redhat.maven.rv.util.PhaseTimer;
+import org.commonjava.redhat.maven.rv.util.SortedSnapshot;
 import org.commonjava.redhat.maven.rv.util.ValidationLevel;
 import org.sonatype.aether.RepositorySystemSession;
 import org.sonatype.aether.repository.RemoteRepository;
@@ -51,6 +63,20 @@ import org.sonatype.aether.repository.RemoteRepository;
 public class ValidatorSession
 {
 
+    public static final int DEFAULT_CONNECTIONS_PER_REPOSITORY = 4;
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    public static final int DEFAULT_GRAPH_BATCH_SIZE = 1000;
+
+    public static final int DEFAULT_MAX_IMPACT_PATHS = 1000;
+
+    public static final int DEFAULT_MAX_IMPACT_DEPTH = 50;
+
+    public static final int DEFAULT_PROGRESS_INTERVAL = 10;
+
+    public static final int DEFAULT_METRICS_INTERVAL = 60;
+
     private static final Set<String> CENTRAL_URL_ALIASES = new HashSet<String>()
     {
         {
@@ -73,18 +99,30 @@ public class ValidatorSession
 
     private final File downloadsDirectory;
 
-    private final Set<ProjectVersionRef> boms = new HashSet<ProjectVersionRef>();
+    private final Set<ProjectVersionRef> boms = concurrentSet();
 
-    private final Map<ProjectVersionRef, Set<ModelProblem>> modelProblems =
-        new HashMap<ProjectVersionRef, Set<ModelProblem>>();
+    // seen, missing and the per-project tables share one id per reference; see RefSymbolTable.
+    private final RefSymbolTable symbols = new RefSymbolTable();
 
-    private final Map<ProjectVersionRef, Set<Exception>> errorsByRef = new HashMap<ProjectVersionRef, Set<Exception>>();
+    private final RefIdMap<ProjectVersionRef, Set<ModelProblem>> modelProblems =
+        new RefIdMap<ProjectVersionRef, Set<ModelProblem>>( symbols );
 
-    private final Set<ProjectVersionRef> seen = new HashSet<ProjectVersionRef>();
+    private final RefIdMap<ProjectVersionRef, Set<Exception>> errorsByRef =
+        new RefIdMap<ProjectVersionRef, Set<Exception>>( symbols );
 
-    private final Set<ProjectVersionRef> missing = new HashSet<ProjectVersionRef>();
+    private final RefIdSet seen = new RefIdSet( symbols );
 
-    private final Map<ProjectVersionRef, Set<String>> filesPerProject = new HashMap<ProjectVersionRef, Set<String>>();
+    private final RefIdSet missing = new RefIdSet( symbols );
+
+    // seen projects, plus the queued projects taken for building; see claimProject.
+    private final RefIdSet claimed = new RefIdSet( symbols );
+
+    private final SortedSnapshot<ProjectVersionRef> sortedSeen = new SortedSnapshot<ProjectVersionRef>( seen );
+
+    private final SortedSnapshot<ProjectVersionRef> sortedMissing = new SortedSnapshot<ProjectVersionRef>( missing );
+
+    private final RefIdMap<ProjectVersionRef, Set<String>> filesPerProject =
+        new RefIdMap<ProjectVersionRef, Set<String>>( symbols );
 
     private ArtifactResolutionRequest baseArtifactResolutionRequest;
 
@@ -92,17 +130,24 @@ public class ValidatorSession
 
     private SimpleProjectToolsSession projectSession = new SimpleProjectToolsSession();
 
-    private List<Exception> lowLevelErrors = new ArrayList<Exception>();
+    private List<Exception> lowLevelErrors = Collections.synchronizedList( new ArrayList<Exception>() );
 
     private final EProjectWeb projectWeb;
 
-    private LinkedList<ProjectVersionRef> projectsToResolve = new LinkedList<ProjectVersionRef>();
+    // built on first use, once the graph is complete; guarded by this.
+    private InverseRelationshipIndex inverseRelationshipIndex;
+
+    // relationships waiting to be written to the graph in the next batch; guarded by itself.
+    private final List<ProjectRelationship<?>> pendingRelationships = new ArrayList<ProjectRelationship<?>>();
+
+    private final DedupQueue<ProjectVersionRef> projectsToResolve = new DedupQueue<ProjectVersionRef>();
 
-    private LinkedList<ArtifactRef> typesToResolve = new LinkedList<ArtifactRef>();
+    private final DedupQueue<ArtifactRef> typesToResolve = new DedupQueue<ArtifactRef>();
 
-    private Map<ArtifactRef, List<String>> resolutionReposPerArtifact = new HashMap<ArtifactRef, List<String>>();
+    private final RefIdMap<ArtifactRef, List<String>> resolutionReposPerArtifact =
+        new RefIdMap<ArtifactRef, List<String>>( symbols );
 
-    private Set<ProjectRef> versionResolutionFailures = new HashSet<ProjectRef>();
+    private Set<ProjectRef> versionResolutionFailures = concurrentSet();
 
     private String settingsXmlPath;
 
@@ -110,6 +155,48 @@ public class ValidatorSession
 
     private final ValidationLevel validationLevel;
 
+    private final int threads;
+
+    private final SimpleModelCache modelCache;
+
+    private final int resolverThreads;
+
+    private final int connectionsPerRepository;
+
+    private final int reportThreads;
+
+    private final int queueCapacity;
+
+    private final int graphBatchSize;
+
+    private final boolean detailedImpacts;
+
+    private final int maxImpactPaths;
+
+    private final int maxImpactDepth;
+
+    private final boolean shortestImpactPaths;
+
+    private final boolean verbose;
+
+    private final int progressInterval;
+
+    private final int metricsInterval;
+
+    private final ValidationState validationState;
+
+    private final ThreadLocal<PomRecord> recording = new ThreadLocal<PomRecord>();
+
+    private final ResolutionCache resolutionCache = new ResolutionCache();
+
+    private final MetricsRegistry metrics = new MetricsRegistry();
+
+    private final PhaseTimer phaseTimer = new PhaseTimer();
+
+    private RepositoryIndex repositoryIndex;
+
+    private DirWorkspaceReader workspaceReader;
+
     public static final class Builder
     {
         private final File repositoryDirectory;
@@ -128,8 +215,40 @@ public class ValidatorSession
 
         private boolean graphRelationships;
 
+        private GraphBackend graphBackend = GraphBackend.NEO4J;
+
+        private int graphBatchSize = DEFAULT_GRAPH_BATCH_SIZE;
+
+        private boolean detailedImpacts;
+
+        private int maxImpactPaths = DEFAULT_MAX_IMPACT_PATHS;
+
+        private int maxImpactDepth = DEFAULT_MAX_IMPACT_DEPTH;
+
+        private boolean shortestImpactPaths;
+
         private ValidationLevel validationLevel = ValidationLevel.RUNTIME;
 
+        private int threads = 1;
+
+        private int modelCacheSize = SimpleModelCache.DEFAULT_MAX_ENTRIES;
+
+        private boolean incremental;
+
+        private int resolverThreads = 1;
+
+        private int connectionsPerRepository = DEFAULT_CONNECTIONS_PER_REPOSITORY;
+
+        private int reportThreads = 1;
+
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+        private boolean verbose;
+
+        private int progressInterval = DEFAULT_PROGRESS_INTERVAL;
+
+        private int metricsInterval = DEFAULT_METRICS_INTERVAL;
+
         public Builder( final File repositoryDirectory, final File workspaceDirectory )
         {
             this.repositoryDirectory = repositoryDirectory;
@@ -142,6 +261,66 @@ public class ValidatorSession
             return this;
         }
 
+        public Builder withThreads( final int threads )
+        {
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder withModelCacheSize( final int modelCacheSize )
+        {
+            this.modelCacheSize = modelCacheSize;
+            return this;
+        }
+
+        public Builder withResolverThreads( final int resolverThreads )
+        {
+            this.resolverThreads = resolverThreads;
+            return this;
+        }
+
+        public Builder withConnectionsPerRepository( final int connectionsPerRepository )
+        {
+            this.connectionsPerRepository = connectionsPerRepository;
+            return this;
+        }
+
+        public Builder withReportThreads( final int reportThreads )
+        {
+            this.reportThreads = reportThreads;
+            return this;
+        }
+
+        public Builder withQueueCapacity( final int queueCapacity )
+        {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public Builder withVerbose( final boolean verbose )
+        {
+            this.verbose = verbose;
+            return this;
+        }
+
+        public Builder withProgressInterval( final int progressInterval )
+        {
+            this.progressInterval = progressInterval;
+            return this;
+        }
+
+        public Builder withMetricsInterval( final int metricsInterval )
+        {
+            this.metricsInterval = metricsInterval;
+            return this;
+        }
+
+        public Builder withIncremental( final boolean incremental )
+        {
+            this.incremental = incremental;
+            return this;
+        }
+
         public Builder withReportsDirectory( final File reportsDirectory )
         {
             this.reportsDirectory = reportsDirectory;
@@ -179,20 +358,7 @@ public class ValidatorSession
 
         public ValidatorSession build()
         {
-            File reports = reportsDirectory;
-            if ( reportsDirectory == null )
-            {
-                reports = new File( workspaceDirectory, "reports" );
-            }
-
-            File downloads = downloadsDirectory;
-            if ( downloads == null )
-            {
-                downloads = new File( workspaceDirectory, "downloads" );
-            }
-
-            return new ValidatorSession( remoteRepos, settingsXml, repositoryDirectory, workspaceDirectory, reports,
-                                         downloads, pomExcludes, graphRelationships, validationLevel );
+            return new ValidatorSession( this );
         }
 
         public Builder withSettingsXmlPath( final String settingsXml )
@@ -212,28 +378,140 @@ public class ValidatorSession
             this.graphRelationships = graphRelationships;
             return this;
         }
+
+        public Builder withGraphBackend( final GraphBackend graphBackend )
+        {
+            this.graphBackend = graphBackend;
+            return this;
+        }
+
+        public Builder withGraphBatchSize( final int graphBatchSize )
+        {
+            this.graphBatchSize = graphBatchSize;
+            return this;
+        }
+
+        public Builder withDetailedImpacts( final boolean detailedImpacts )
+        {
+            this.detailedImpacts = detailedImpacts;
+            return this;
+        }
+
+        public Builder withImpactPathLimits( final int maxImpactPaths, final int maxImpactDepth,
+                                             final boolean shortestImpactPaths )
+        {
+            this.maxImpactPaths = maxImpactPaths;
+            this.maxImpactDepth = maxImpactDepth;
+            this.shortestImpactPaths = shortestImpactPaths;
+            return this;
+        }
+    }
+
+    private ValidatorSession( final Builder builder )
+    {
+        this.remoteRepoUrls = builder.remoteRepos;
+        this.settingsXmlPath = builder.settingsXml;
+        this.repositoryDirectory = builder.repositoryDirectory;
+        this.workspaceDirectory = builder.workspaceDirectory;
+
+        File reports = builder.reportsDirectory;
+        if ( reports == null )
+        {
+            reports = new File( workspaceDirectory, "reports" );
+        }
+
+        File downloads = builder.downloadsDirectory;
+        if ( downloads == null )
+        {
+            downloads = new File( workspaceDirectory, "downloads" );
+        }
+
+        this.reportsDirectory = reports;
+        this.downloadsDirectory = downloads;
+        this.validationLevel = builder.validationLevel;
+        this.threads = builder.threads < 1 ? 1 : builder.threads;
+        this.modelCache = builder.modelCacheSize > 0 ? new SimpleModelCache( builder.modelCacheSize ) : null;
+        this.resolverThreads = builder.resolverThreads < 1 ? 1 : builder.resolverThreads;
+        this.connectionsPerRepository = builder.connectionsPerRepository;
+        this.reportThreads = builder.reportThreads < 1 ? 1 : builder.reportThreads;
+        this.queueCapacity = builder.queueCapacity < 1 ? 1 : builder.queueCapacity;
+        this.graphBatchSize = builder.graphBatchSize < 1 ? 1 : builder.graphBatchSize;
+        this.detailedImpacts = builder.detailedImpacts;
+        this.maxImpactPaths = builder.maxImpactPaths < 0 ? 0 : builder.maxImpactPaths;
+        this.maxImpactDepth = builder.maxImpactDepth < 0 ? 0 : builder.maxImpactDepth;
+        this.shortestImpactPaths = builder.shortestImpactPaths;
+        this.verbose = builder.verbose;
+        this.progressInterval = builder.progressInterval < 0 ? 0 : builder.progressInterval;
+        this.metricsInterval = builder.metricsInterval < 0 ? 0 : builder.metricsInterval;
+
+        if ( !builder.graphRelationships )
+        {
+            this.projectWeb = null;
+        }
+        else if ( builder.graphBackend == GraphBackend.MEMORY )
+        {
+            this.projectWeb = new EProjectWeb( new MemoryEGraphDriver() );
+        }
+        else
+        {
+            final File depgraphDir = new File( workspaceDirectory, "depgraph" );
+            depgraphDir.mkdirs();
+
+            this.projectWeb = new EProjectWeb( new FileNeo4JEGraphDriver( depgraphDir, false ) );
+        }
+
+        this.pomExcludes = Collections.unmodifiableSet( new HashSet<String>( builder.pomExcludes ) );
+        this.validationState = builder.incremental ? new ValidationState( getStateFingerprint() ) : null;
+
+        registerGauges();
     }
 
-    private ValidatorSession( final List<String> remoteRepos, final String settingsXml, final File repositoryDirectory,
-                              final File workspaceDirectory, final File reportsDirectory,
-                              final File downloadsDirectory, final Set<String> pomExcludes,
-                              final boolean graphRelationships, final ValidationLevel validationLevel )
+    private void registerGauges()
     {
-        this.remoteRepoUrls = remoteRepos;
-        this.settingsXmlPath = settingsXml;
-        this.repositoryDirectory = repositoryDirectory;
-        this.workspaceDirectory = workspaceDirectory;
-        this.reportsDirectory = reportsDirectory;
-        this.downloadsDirectory = downloadsDirectory;
-        this.validationLevel = validationLevel;
+        metrics.gauge( "queue.projectsToResolve", new MetricsRegistry.Gauge()
+        {
+            public double getValue()
+            {
+                return projectsToResolve.size();
+            }
+        } );
 
-        final File depgraphDir = new File( workspaceDirectory, "depgraph" );
-        depgraphDir.mkdirs();
+        metrics.gauge( "queue.typesToResolve", new MetricsRegistry.Gauge()
+        {
+            public double getValue()
+            {
+                return typesToResolve.size();
+            }
+        } );
 
-        this.projectWeb =
-            graphRelationships ? new EProjectWeb( new FileNeo4JEGraphDriver( depgraphDir, false ) ) : null;
+        metrics.gauge( "memory.usedMB", new MetricsRegistry.Gauge()
+        {
+            public double getValue()
+            {
+                final Runtime runtime = Runtime.getRuntime();
+                return ( runtime.totalMemory() - runtime.freeMemory() ) / ( 1024.0 * 1024.0 );
+            }
+        } );
+
+        if ( modelCache != null )
+        {
+            hitRateGauge( "cache.model.hitRate", modelCache.getStats() );
+        }
 
-        this.pomExcludes = Collections.unmodifiableSet( pomExcludes );
+        hitRateGauge( "cache.metadata.hitRate", resolutionCache.getMetadataStats() );
+        hitRateGauge( "cache.range.hitRate", resolutionCache.getRangeStats() );
+        hitRateGauge( "cache.plugin.hitRate", resolutionCache.getPluginStats() );
+    }
+
+    private void hitRateGauge( final String name, final CacheStats stats )
+    {
+        metrics.gauge( name, new MetricsRegistry.Gauge()
+        {
+            public double getValue()
+            {
+                return stats.getHitRate();
+            }
+        } );
     }
 
     public List<String> getRemoteRepositoryUrls()
@@ -253,16 +531,32 @@ public class ValidatorSession
 
     public void addBom( final ProjectVersionRef ref )
     {
+        final PomRecord record = recording.get();
+        if ( record != null )
+        {
+            record.addBom( ref );
+        }
+
         boms.add( ref );
     }
 
     public Set<ProjectVersionRef> getBoms()
     {
-        return boms;
+        return Collections.unmodifiableSet( boms );
+    }
+
+    private static <T> Set<T> concurrentSet()
+    {
+        return Collections.newSetFromMap( new ConcurrentHashMap<T, Boolean>() );
     }
 
     public boolean isMissing( final ProjectVersionRef id )
     {
+        if ( id == null )
+        {
+            return false;
+        }
+
         //        logger.info( "Has %s[toString=%s, hashCode=%s] been marked missing? %b", id.getClass()
         //                                                                                   .getName(), id, id.hashCode(),
         //                     missing.contains( id ) );
@@ -272,6 +566,11 @@ public class ValidatorSession
 
     public boolean hasSeen( final ProjectVersionRef id )
     {
+        if ( id == null )
+        {
+            return false;
+        }
+
         //        logger.info( "Has %s[toString=%s, hashCode=%s] been marked seen? %b", id.getClass()
         //                                                                                .getName(), id, id.hashCode(),
         //                     seen.contains( id ) );
@@ -279,19 +578,48 @@ public class ValidatorSession
         return seen.contains( id );
     }
 
-    public void addSeen( final ProjectVersionRef id )
+    /**
+     * Same as <code>isMissing( ref.asProjectVersionRef() )</code>, without building the project reference when the
+     * artifact is already known to the session.
+     */
+    public boolean isProjectOfMissing( final ArtifactRef ref )
+    {
+        return ref != null && missing.containsProjectOf( ref );
+    }
+
+    public RefSymbolTable getSymbolTable()
+    {
+        return symbols;
+    }
+
+    /**
+     * @return true if the project hadn't been seen before
+     */
+    public boolean addSeen( final ProjectVersionRef id )
     {
         if ( id == null )
         {
-            return;
+            return false;
+        }
+
+        final PomRecord record = recording.get();
+        if ( record != null )
+        {
+            record.addSeen( id );
         }
 
         //        logger.info( "Attempting to add seen project: %s", id );
-        seen.add( id );
-        //        logger.info( "Added? %s", added );
-        //        logger.info( "Has %s[toString=%s, hashCode=%s] been marked seen? %b", id.getClass()
-        //                                                                                .getName(), id, id.hashCode(),
-        //                     seen.contains( id ) );
+        claimed.add( id );
+        return seen.add( id );
+    }
+
+    /**
+     * Claims a queued project for building. Only the first caller for a project gets true, and nobody does once the
+     * project has been seen, so a project is never built from the queue twice or at the same time on two threads.
+     */
+    public boolean claimProject( final ProjectVersionRef id )
+    {
+        return id != null && claimed.add( id );
     }
 
     public void addMissing( final ProjectVersionRef id )
@@ -301,6 +629,12 @@ public class ValidatorSession
             return;
         }
 
+        final PomRecord record = recording.get();
+        if ( record != null )
+        {
+            record.addMissing( id );
+        }
+
         //        logger.info( "Attempting to add missing project: %s", id );
         missing.add( id );
         //        logger.info( "Added? %s", added );
@@ -314,11 +648,21 @@ public class ValidatorSession
     public void addModelProblem( final ProjectVersionRef ref, final ModelProblem problem )
     {
         //        logger.error( "PROBLEM in: %s was: %s", ref, problem );
+        final PomRecord record = recording.get();
+        if ( record != null )
+        {
+            record.addModelProblem( ref, problem );
+        }
+
         Set<ModelProblem> problems = modelProblems.get( ref );
         if ( problems == null )
         {
-            problems = new HashSet<ModelProblem>();
-            modelProblems.put( ref, problems );
+            problems = concurrentSet();
+            final Set<ModelProblem> existing = modelProblems.putIfAbsent( ref, problems );
+            if ( existing != null )
+            {
+                problems = existing;
+            }
         }
 
         problems.add( problem );
@@ -327,11 +671,21 @@ public class ValidatorSession
     public void addError( final ProjectVersionRef src, final Exception error )
     {
         //        logger.error( "ERROR in: %s was: %s", src, error );
+        final PomRecord record = recording.get();
+        if ( record != null )
+        {
+            record.addError( src, error );
+        }
+
         Set<Exception> projectErrors = errorsByRef.get( src );
         if ( projectErrors == null )
         {
-            projectErrors = new HashSet<Exception>();
-            errorsByRef.put( src, projectErrors );
+            projectErrors = concurrentSet();
+            final Set<Exception> existing = errorsByRef.putIfAbsent( src, projectErrors );
+            if ( existing != null )
+            {
+                projectErrors = existing;
+            }
         }
 
         projectErrors.add( error );
@@ -342,6 +696,34 @@ public class ValidatorSession
         return repositoryDirectory;
     }
 
+    /**
+     * Use the given listing of the repository directory for all later workspace lookups, instead of checking the
+     * filesystem. The index may still be filling in; see {@link RepositoryIndex#isComplete()}.
+     */
+    public synchronized void setRepositoryIndex( final RepositoryIndex index )
+    {
+        repositoryIndex = index;
+        workspaceReader = new DirWorkspaceReader( repositoryDirectory, index );
+    }
+
+    public synchronized RepositoryIndex getRepositoryIndex()
+    {
+        return repositoryIndex;
+    }
+
+    /**
+     * Reader for the repository directory, shared by every model resolver in the session.
+     */
+    public synchronized DirWorkspaceReader getWorkspaceReader()
+    {
+        if ( workspaceReader == null )
+        {
+            workspaceReader = new DirWorkspaceReader( repositoryDirectory );
+        }
+
+        return workspaceReader;
+    }
+
     public DefaultModelBuildingRequest getBaseModelBuildingRequest()
     {
         return baseModelBuildingRequest;
@@ -450,7 +832,7 @@ public class ValidatorSession
         baseModelBuildingRequest = new DefaultModelBuildingRequest();
         baseModelBuildingRequest.setSystemProperties( System.getProperties() );
         baseModelBuildingRequest.setLocationTracking( true );
-        //        baseModelBuildingRequest.setModelCache( new SimpleModelCache() );
+        baseModelBuildingRequest.setModelCache( modelCache );
         baseModelBuildingRequest.setValidationLevel( ModelBuildingRequest.VALIDATION_LEVEL_MAVEN_3_0 );
 
         baseArtifactResolutionRequest = new ArtifactResolutionRequest();
@@ -480,60 +862,140 @@ public class ValidatorSession
 
     public void addLowLevelError( final Exception error )
     {
+        final PomRecord record = recording.get();
+        if ( record != null )
+        {
+            record.addLowLevelError( error );
+        }
+
         lowLevelErrors.add( error );
     }
 
     public void addParentLink( final ProjectVersionRef ref, final ProjectVersionRef parentRef )
     {
-        if ( projectWeb != null )
+        if ( isLinking() )
         {
-            projectWeb.add( new ParentRelationship( ref, parentRef ) );
+            addRelationship( new ParentRelationship( ref, parentRef ) );
         }
     }
 
     public void addPluginLink( final ProjectVersionRef src, final ProjectVersionRef ref, final int index,
                                final boolean managed, final boolean reporting )
     {
-        if ( projectWeb != null )
+        if ( isLinking() )
         {
             final PluginRelationship rel = new PluginRelationship( src, ref, index, managed, reporting );
-            projectWeb.add( rel );
+            addRelationship( rel );
         }
     }
 
     public void addExtensionLink( final ProjectVersionRef src, final ProjectVersionRef ref, final int index )
     {
-        if ( projectWeb != null )
+        if ( isLinking() )
         {
             final ExtensionRelationship rel = new ExtensionRelationship( src, ref, index );
-            projectWeb.add( rel );
+            addRelationship( rel );
         }
     }
 
     public void addPluginDependencyLink( final ProjectVersionRef src, final ProjectVersionRef plugin,
                                          final ArtifactRef ref, final int index, final boolean managed )
     {
-        if ( projectWeb != null )
+        if ( isLinking() )
         {
             final PluginDependencyRelationship rel =
                 new PluginDependencyRelationship( src, plugin, ref, index, managed );
-            projectWeb.add( rel );
+            addRelationship( rel );
         }
     }
 
     public void addDependencyLink( final ProjectVersionRef src, final ArtifactRef ref, final DependencyScope scope,
                                    final int index, final boolean managed )
     {
-        if ( projectWeb != null )
+        if ( isLinking() )
         {
             final DependencyRelationship rel = new DependencyRelationship( src, ref, scope, index, managed );
-            projectWeb.add( rel );
+            addRelationship( rel );
+        }
+    }
+
+    private boolean isLinking()
+    {
+        return projectWeb != null || recording.get() != null;
+    }
+
+    private void addRelationship( final ProjectRelationship<?> rel )
+    {
+        final PomRecord record = recording.get();
+        if ( record != null )
+        {
+            record.addRelationship( rel );
+        }
+
+        if ( projectWeb == null )
+        {
+            return;
+        }
+
+        List<ProjectRelationship<?>> batch = null;
+        synchronized ( pendingRelationships )
+        {
+            pendingRelationships.add( rel );
+            if ( pendingRelationships.size() >= graphBatchSize )
+            {
+                batch = new ArrayList<ProjectRelationship<?>>( pendingRelationships );
+                pendingRelationships.clear();
+            }
+        }
+
+        if ( batch != null )
+        {
+            writeRelationships( batch );
+        }
+    }
+
+    /**
+     * Writes the relationships still waiting for a full batch to the graph. Must be called once validation is over,
+     * whether or not it finished normally, before anything reads the graph.
+     */
+    public void flushRelationships()
+    {
+        if ( projectWeb == null )
+        {
+            return;
+        }
+
+        final List<ProjectRelationship<?>> batch;
+        synchronized ( pendingRelationships )
+        {
+            batch = new ArrayList<ProjectRelationship<?>>( pendingRelationships );
+            pendingRelationships.clear();
+        }
+
+        if ( !batch.isEmpty() )
+        {
+            writeRelationships( batch );
+        }
+    }
+
+    private void writeRelationships( final List<ProjectRelationship<?>> batch )
+    {
+        // one call per batch, so the Neo4j driver writes it in one transaction. The graph driver makes no promises
+        // about concurrent writers.
+        synchronized ( projectWeb )
+        {
+            final long start = System.nanoTime();
+            projectWeb.addAll( batch );
+            metrics.histogram( "graph.writeBatch" )
+                   .recordSince( start );
         }
+
+        metrics.add( "graph.relationshipsWritten", batch.size() );
     }
 
     public ProjectVersionRef getNextToProjectResolve()
     {
-        final ProjectVersionRef ref = projectsToResolve.isEmpty() ? null : projectsToResolve.removeFirst();
+        final ProjectVersionRef ref = projectsToResolve.poll();
         //        if ( ref != null )
         //        {
         //            logger.info( "[POM] -%s", ref );
@@ -542,9 +1004,19 @@ public class ValidatorSession
         return ref;
     }
 
+    public int getProjectsToResolveCount()
+    {
+        return projectsToResolve.size();
+    }
+
+    public int getArtifactsToResolveCount()
+    {
+        return typesToResolve.size();
+    }
+
     public ArtifactRef getNextArtifactToResolve()
     {
-        final ArtifactRef ref = typesToResolve.isEmpty() ? null : typesToResolve.removeFirst();
+        final ArtifactRef ref = typesToResolve.poll();
         //        if ( ref != null )
         //        {
         //            logger.info( "[ARTIFACT] -%s", ref );
@@ -560,19 +1032,23 @@ public class ValidatorSession
             ref = ( (ArtifactRef) ref ).asProjectVersionRef();
         }
 
-        if ( !hasSeen( ref ) && !projectsToResolve.contains( ref ) )
+        if ( !hasSeen( ref ) )
         {
             //            logger.info( "[POM] +%s", ref );
-            projectsToResolve.addLast( ref );
+            projectsToResolve.offer( ref );
         }
 
         final ArtifactRef artiRef =
             ( ref instanceof ArtifactRef ) ? (ArtifactRef) ref : new ArtifactRef( ref, type, null, false );
-        if ( !typesToResolve.contains( artiRef ) )
+
+        final PomRecord record = recording.get();
+        if ( record != null )
         {
-            //            logger.info( "[ARTIFACT] +%s", artiRef );
-            typesToResolve.addLast( artiRef );
+            record.addArtifactToResolve( artiRef );
         }
+
+        //            logger.info( "[ARTIFACT] +%s", artiRef );
+        typesToResolve.offer( artiRef );
     }
 
     public final File getWorkspaceDirectory()
@@ -582,22 +1058,44 @@ public class ValidatorSession
 
     public final Map<ProjectVersionRef, Set<ModelProblem>> getModelProblems()
     {
-        return modelProblems;
+        return Collections.unmodifiableMap( modelProblems );
     }
 
     public final Map<ProjectVersionRef, Set<Exception>> getErrorsByRef()
     {
-        return errorsByRef;
+        return Collections.unmodifiableMap( errorsByRef );
     }
 
+    /**
+     * Read-only view; it reflects later additions, so take a copy before validating further if that matters.
+     */
     public final Set<ProjectVersionRef> getSeen()
     {
-        return new HashSet<ProjectVersionRef>( seen );
+        return Collections.unmodifiableSet( seen );
     }
 
+    /**
+     * Read-only view; it reflects later additions, so take a copy before validating further if that matters.
+     */
     public final Set<ProjectVersionRef> getMissing()
     {
-        return new HashSet<ProjectVersionRef>( missing );
+        return Collections.unmodifiableSet( missing );
+    }
+
+    /**
+     * Seen references sorted by their string form, shared between reports.
+     */
+    public final List<ProjectVersionRef> getSortedSeen()
+    {
+        return sortedSeen.get();
+    }
+
+    /**
+     * Missing references sorted by their string form, shared between reports.
+     */
+    public final List<ProjectVersionRef> getSortedMissing()
+    {
+        return sortedMissing.get();
     }
 
     public final List<Exception> getLowLevelErrors()
@@ -610,10 +1108,26 @@ public class ValidatorSession
         return projectWeb;
     }
 
+    /**
+     * The graph's relationships grouped by target, built from one pass over the graph the first time it's asked for
+     * and shared by every report after that. Relationships added later aren't in it, so it's only for use once
+     * validation is over. Null if graphing is disabled.
+     */
+    public synchronized InverseRelationshipIndex getInverseRelationshipIndex()
+    {
+        if ( inverseRelationshipIndex == null && projectWeb != null )
+        {
+            inverseRelationshipIndex = new InverseRelationshipIndex( projectWeb.getAllRelationships() );
+        }
+
+        return inverseRelationshipIndex;
+    }
+
     public PrintWriter getReportWriter( final ValidationReport report )
         throws IOException
     {
-        if ( !reportsDirectory.isDirectory() && !reportsDirectory.mkdirs() )
+        // reports may be written concurrently, so another writer can create the directory between these calls.
+        if ( !reportsDirectory.mkdirs() && !reportsDirectory.isDirectory() )
         {
             throw new IOException( "Failed to create reports directory!" );
         }
@@ -631,21 +1145,42 @@ public class ValidatorSession
 
     public void addVersionResolutionFailure( final ProjectRef ref )
     {
+        final PomRecord record = recording.get();
+        if ( record != null )
+        {
+            record.addVersionResolutionFailure( ref );
+        }
+
         versionResolutionFailures.add( ref );
     }
 
     public Set<ProjectRef> getVersionResolutionFailures()
     {
-        return new HashSet<ProjectRef>( versionResolutionFailures );
+        return Collections.unmodifiableSet( versionResolutionFailures );
     }
 
     public void addProjectFiles( final ProjectVersionRef ref, final String[] files )
     {
+        if ( ref == null )
+        {
+            return;
+        }
+
+        final PomRecord record = recording.get();
+        if ( record != null )
+        {
+            record.addProjectFiles( ref, files );
+        }
+
         Set<String> projectFiles = this.filesPerProject.get( ref );
         if ( projectFiles == null )
         {
-            projectFiles = new HashSet<String>();
-            this.filesPerProject.put( ref, projectFiles );
+            projectFiles = concurrentSet();
+            final Set<String> existing = this.filesPerProject.putIfAbsent( ref, projectFiles );
+            if ( existing != null )
+            {
+                projectFiles = existing;
+            }
         }
 
         projectFiles.addAll( Arrays.asList( files ) );
@@ -658,10 +1193,11 @@ public class ValidatorSession
 
     public Map<ProjectVersionRef, Set<String>> getAllProjectFiles()
     {
-        return filesPerProject;
+        return Collections.unmodifiableMap( filesPerProject );
     }
 
-    public void addArtifactResolutionRepositories( final ArtifactRef ref, final List<ArtifactRepository> repositories )
+    public synchronized void addArtifactResolutionRepositories( final ArtifactRef ref,
+                                                                final List<ArtifactRepository> repositories )
     {
         if ( repositories == null || repositories.isEmpty() )
         {
@@ -688,7 +1224,7 @@ public class ValidatorSession
 
     public Map<ArtifactRef, List<String>> getAllArtifactResolutionRepositories()
     {
-        return resolutionReposPerArtifact;
+        return Collections.unmodifiableMap( resolutionReposPerArtifact );
     }
 
     public List<RemoteRepository> getRemoteRepositoriesForResolution()
@@ -701,4 +1237,242 @@ public class ValidatorSession
         return validationLevel;
     }
 
+    public int getThreads()
+    {
+        return threads;
+    }
+
+    public int getResolverThreads()
+    {
+        return resolverThreads;
+    }
+
+    public int getConnectionsPerRepository()
+    {
+        return connectionsPerRepository;
+    }
+
+    public int getReportThreads()
+    {
+        return reportThreads;
+    }
+
+    public int getQueueCapacity()
+    {
+        return queueCapacity;
+    }
+
+    public int getGraphBatchSize()
+    {
+        return graphBatchSize;
+    }
+
+    /**
+     * Whether to list every path from a root to each missing project, rather than just the projects impacted.
+     */
+    public boolean isDetailedImpacts()
+    {
+        return detailedImpacts;
+    }
+
+    /**
+     * Maximum number of paths listed per missing project in the detailed impacts report, or 0 for no limit.
+     */
+    public int getMaxImpactPaths()
+    {
+        return maxImpactPaths;
+    }
+
+    /**
+     * Maximum number of relationships in a path listed in the detailed impacts report, or 0 for no limit.
+     */
+    public int getMaxImpactDepth()
+    {
+        return maxImpactDepth;
+    }
+
+    /**
+     * Whether the detailed impacts report lists only the shortest paths to each missing project.
+     */
+    public boolean isShortestImpactPaths()
+    {
+        return shortestImpactPaths;
+    }
+
+    /**
+     * Whether to log each POM and artifact as it's processed, rather than only a periodic progress line.
+     */
+    public boolean isVerbose()
+    {
+        return verbose;
+    }
+
+    /**
+     * Seconds between progress lines during validation, or 0 for none.
+     */
+    public int getProgressInterval()
+    {
+        return progressInterval;
+    }
+
+    /**
+     * Seconds between the metrics snapshots written to the workspace during a run, or 0 for none.
+     */
+    public int getMetricsInterval()
+    {
+        return metricsInterval;
+    }
+
+    public MetricsRegistry getMetrics()
+    {
+        return metrics;
+    }
+
+    public PhaseTimer getPhaseTimer()
+    {
+        return phaseTimer;
+    }
+
+    public SimpleModelCache getModelCache()
+    {
+        return modelCache;
+    }
+
+    public ResolutionCache getResolutionCache()
+    {
+        return resolutionCache;
+    }
+
+    public boolean isIncremental()
+    {
+        return validationState != null;
+    }
+
+    public ValidationState getValidationState()
+    {
+        return validationState;
+    }
+
+    public File getValidationStateFile()
+    {
+        return new File( workspaceDirectory, "validation-state.ser.gz" );
+    }
+
+    /**
+     * Settings that change what validating a POM produces. Stored results are only reused under the same ones.
+     */
+    public String getStateFingerprint()
+    {
+        final StringBuilder sb = new StringBuilder();
+        sb.append( "level=" )
+          .append( validationLevel );
+        sb.append( "\nrepositories=" )
+          .append( remoteRepoUrls );
+        sb.append( "\nsettings=" )
+          .append( settingsXmlPath );
+        sb.append( "\nexcludes=" )
+          .append( new TreeSet<String>( pomExcludes ) );
+
+        return sb.toString();
+    }
+
+    /**
+     * Starts capturing everything the current thread adds to this session into a new record for the given POM, until
+     * {@link #stopRecording()} is called.
+     */
+    public PomRecord startRecording( final String path, final File pomFile )
+        throws IOException
+    {
+        final PomRecord record = new PomRecord( path, pomFile );
+        validationState.put( record );
+        recording.set( record );
+
+        return record;
+    }
+
+    /**
+     * Continues capturing into a record started on another thread, so a POM can be built on one thread and validated
+     * on another.
+     */
+    public void resumeRecording( final PomRecord record )
+    {
+        recording.set( record );
+    }
+
+    public void stopRecording()
+    {
+        recording.remove();
+    }
+
+    /**
+     * Adds the results recorded for an unchanged POM in an earlier run, as if it had just been validated again.
+     */
+    public void replay( final PomRecord record )
+    {
+        validationState.put( record );
+
+        for ( final ProjectVersionRef ref : record.getSeen() )
+        {
+            addSeen( ref );
+        }
+
+        for ( final ProjectVersionRef ref : record.getMissing() )
+        {
+            addMissing( ref );
+        }
+
+        for ( final ProjectVersionRef ref : record.getBoms() )
+        {
+            addBom( ref );
+        }
+
+        for ( final Map.Entry<ProjectVersionRef, List<ModelProblem>> entry : record.getModelProblems()
+                                                                                  .entrySet() )
+        {
+            for ( final ModelProblem problem : entry.getValue() )
+            {
+                addModelProblem( entry.getKey(), problem );
+            }
+        }
+
+        for ( final Map.Entry<ProjectVersionRef, List<Exception>> entry : record.getErrors()
+                                                                              .entrySet() )
+        {
+            for ( final Exception error : entry.getValue() )
+            {
+                addError( entry.getKey(), error );
+            }
+        }
+
+        for ( final Exception error : record.getLowLevelErrors() )
+        {
+            addLowLevelError( error );
+        }
+
+        for ( final ProjectRef ref : record.getVersionResolutionFailures() )
+        {
+            addVersionResolutionFailure( ref );
+        }
+
+        for ( final Map.Entry<ProjectVersionRef, Set<String>> entry : record.getProjectFiles()
+                                                                            .entrySet() )
+        {
+            addProjectFiles( entry.getKey(), entry.getValue()
+                                                  .toArray( new String[] {} ) );
+        }
+
+        if ( projectWeb != null )
+        {
+            for ( final ProjectRelationship<?> rel : record.getRelationships() )
+            {
+                addRelationship( rel );
+            }
+        }
+
+        for ( final ArtifactRef ref : record.getArtifactsToResolve() )
+        {
+            addArtifactToResolve( ref, ref.getType() );
+        }
+    }
+
 }
@@ -1,7 +1,11 @@
 package org.commonjava.redhat.maven.rv.util;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.maven.graph.common.ref.ArtifactRef;
 import org.apache.maven.graph.common.ref.ProjectRef;
@@ -18,6 +22,7 @@ import org.codehaus.plexus.interpolation.PrefixedObjectValueSource;
 import org.codehaus.plexus.interpolation.PropertiesBasedValueSource;
 import org.codehaus.plexus.interpolation.StringSearchInterpolator;
 import org.commonjava.redhat.maven.rv.ValidationException;
+import org.commonjava.redhat.maven.rv.session.RefSymbolTable;
 import org.commonjava.redhat.maven.rv.session.ValidatorSession;
 
 public final class ArtifactReferenceUtils
@@ -25,10 +30,51 @@ public final class ArtifactReferenceUtils
 
     //    private static final Logger logger = new Logger( ArtifactReferenceUtils.class );
 
+    private static final List<String> EXPRESSION_ROOTS = Collections.unmodifiableList( Arrays.asList( "pom.",
+                                                                                                      "project." ) );
+
+    private static final int INTERPOLATORS_PER_THREAD = 4;
+
+    /**
+     * The last few models each thread interpolated against. References from one model are converted together (with
+     * the occasional detour through its raw model), so a handful of entries is enough and nothing outlives the next
+     * few models.
+     */
+    private static final ThreadLocal<Map<Model, ModelInterpolator>> INTERPOLATORS =
+        new ThreadLocal<Map<Model, ModelInterpolator>>()
+        {
+            @Override
+            protected Map<Model, ModelInterpolator> initialValue()
+            {
+                return new LinkedHashMap<Model, ModelInterpolator>( INTERPOLATORS_PER_THREAD * 2, 0.75f, true )
+                {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry( final Map.Entry<Model, ModelInterpolator> eldest )
+                    {
+                        return size() > INTERPOLATORS_PER_THREAD;
+                    }
+                };
+            }
+        };
+
     private ArtifactReferenceUtils()
     {
     }
 
+    /**
+     * Builds the reference from coordinates interned in the session's {@link RefSymbolTable}, so the many references
+     * to one project share their strings.
+     */
+    private static ProjectVersionRef newRef( final String groupId, final String artifactId, final String version,
+                                             final ValidatorSession session )
+        throws InvalidVersionSpecificationException
+    {
+        final RefSymbolTable symbols = session.getSymbolTable();
+        return new ProjectVersionRef( symbols.intern( groupId ), symbols.intern( artifactId ), symbols.intern( version ) );
+    }
+
     public static ProjectVersionRef toArtifactRef( final Model model, final ValidatorSession session )
     {
         String group = model.getGroupId();
@@ -54,7 +100,7 @@ public final class ArtifactReferenceUtils
                 return null;
             }
 
-            final ProjectVersionRef ref = new ProjectVersionRef( group, model.getArtifactId(), version );
+            final ProjectVersionRef ref = newRef( group, model.getArtifactId(), version, session );
 
             // Trigger version spec exception...
             ref.getVersionSpec();
@@ -82,7 +128,7 @@ public final class ArtifactReferenceUtils
         try
         {
             final ProjectVersionRef ref =
-                new ProjectVersionRef( parent.getGroupId(), parent.getArtifactId(), parent.getVersion() );
+                newRef( parent.getGroupId(), parent.getArtifactId(), parent.getVersion(), session );
 
             // Trigger version spec exception...
             ref.getVersionSpec();
@@ -112,8 +158,8 @@ public final class ArtifactReferenceUtils
         try
         {
             ref =
-                new ProjectVersionRef( resolveExpressions( ext.getGroupId(), session, model ), ext.getArtifactId(),
-                                       resolveExpressions( ext.getVersion(), session, model ) );
+                newRef( resolveExpressions( ext.getGroupId(), session, model ), ext.getArtifactId(),
+                        resolveExpressions( ext.getVersion(), session, model ), session );
 
             // Trigger version spec exception...
             ref.getVersionSpec();
@@ -144,14 +190,15 @@ public final class ArtifactReferenceUtils
     public static ArtifactRef toArtifactRef( final Dependency dep, final ProjectVersionRef src,
                                              final ValidatorSession session, final Model model )
     {
+        final RefSymbolTable symbols = session.getSymbolTable();
         ArtifactRef ref = null;
         try
         {
             ref =
-                new ArtifactRef( new ProjectVersionRef( resolveExpressions( dep.getGroupId(), session, model ),
-                                                        dep.getArtifactId(), resolveExpressions( dep.getVersion(),
-                                                                                                 session, model ) ),
-                                 dep.getType(), dep.getClassifier(), dep.isOptional() );
+                new ArtifactRef( newRef( resolveExpressions( dep.getGroupId(), session, model ), dep.getArtifactId(),
+                                         resolveExpressions( dep.getVersion(), session, model ), session ),
+                                 symbols.intern( dep.getType() ), symbols.intern( dep.getClassifier() ),
+                                 dep.isOptional() );
 
             // Trigger version spec exception...
             ref.getVersionSpec();
@@ -189,14 +236,13 @@ public final class ArtifactReferenceUtils
 
         if ( raw.contains( "${" ) )
         {
-            final StringSearchInterpolator interp = new StringSearchInterpolator();
-            interp.addValueSource( new PropertiesBasedValueSource( model.getProperties() ) );
-
-            final List<String> expressionRoots = new ArrayList<String>();
-            expressionRoots.add( "pom." );
-            expressionRoots.add( "project." );
-
-            interp.addValueSource( new PrefixedObjectValueSource( expressionRoots, model, true ) );
+            final Map<Model, ModelInterpolator> recent = INTERPOLATORS.get();
+            ModelInterpolator interp = recent.get( model );
+            if ( interp == null )
+            {
+                interp = new ModelInterpolator( model );
+                recent.put( model, interp );
+            }
 
             return interp.interpolate( raw );
         }
@@ -244,9 +290,8 @@ public final class ArtifactReferenceUtils
             else
             {
                 ref =
-                    new ProjectVersionRef( resolveExpressions( plugin.getGroupId(), session, model ),
-                                           plugin.getArtifactId(), resolveExpressions( plugin.getVersion(), session,
-                                                                                       model ) );
+                    newRef( resolveExpressions( plugin.getGroupId(), session, model ), plugin.getArtifactId(),
+                           resolveExpressions( plugin.getVersion(), session, model ), session );
 
                 // Trigger version spec exception...
                 ( (ProjectVersionRef) ref ).getVersionSpec();
@@ -293,9 +338,8 @@ public final class ArtifactReferenceUtils
             else
             {
                 ref =
-                    new ProjectVersionRef( resolveExpressions( plugin.getGroupId(), session, model ),
-                                           plugin.getArtifactId(), resolveExpressions( plugin.getVersion(), session,
-                                                                                       model ) );
+                    newRef( resolveExpressions( plugin.getGroupId(), session, model ), plugin.getArtifactId(),
+                           resolveExpressions( plugin.getVersion(), session, model ), session );
 
                 // Trigger version spec exception...
                 ( (ProjectVersionRef) ref ).getVersionSpec();
@@ -324,4 +368,34 @@ public final class ArtifactReferenceUtils
         return null;
     }
 
+    /**
+     * Interpolation context for one {@link Model}, built on first use and shared by every reference in that model.
+     * Expressions already seen are answered from a memo.
+     */
+    private static final class ModelInterpolator
+    {
+        private final StringSearchInterpolator interpolator = new StringSearchInterpolator();
+
+        private final Map<String, String> resolved = new HashMap<String, String>();
+
+        ModelInterpolator( final Model model )
+        {
+            interpolator.addValueSource( new PropertiesBasedValueSource( model.getProperties() ) );
+            interpolator.addValueSource( new PrefixedObjectValueSource( EXPRESSION_ROOTS, model, true ) );
+        }
+
+        String interpolate( final String raw )
+            throws InterpolationException
+        {
+            String result = resolved.get( raw );
+            if ( result == null )
+            {
+                result = interpolator.interpolate( raw );
+                resolved.put( raw, result );
+            }
+
+            return result;
+        }
+    }
+
 }
@@ -0,0 +1,70 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logger for high-volume, per-item progress messages. The caller only checks the level and hands the format and
+ * parameters to a bounded ring shared by all instances; a background thread formats and writes them. If the ring is
+ * full, the message is dropped instead of slowing the caller down, so this isn't for anything that must be logged.
+ * Parameters are rendered later, on another thread, so they must be safe to call toString() on from there.
+ */
+public final class AsyncLogger
+{
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final LogRing SHARED = new LogRing( DEFAULT_CAPACITY, true );
+
+    private final Logger logger;
+
+    private final LogRing ring;
+
+    public AsyncLogger( final Class<?> type )
+    {
+        this( LoggerFactory.getLogger( type ), SHARED );
+    }
+
+    AsyncLogger( final Logger logger, final LogRing ring )
+    {
+        this.logger = logger;
+        this.ring = ring;
+    }
+
+    public AsyncLogger info( final String format, final Object... params )
+    {
+        if ( logger.isInfoEnabled() )
+        {
+            ring.append( logger, LogRing.Level.INFO, format, params );
+        }
+
+        return this;
+    }
+
+    public AsyncLogger debug( final String format, final Object... params )
+    {
+        if ( logger.isDebugEnabled() )
+        {
+            ring.append( logger, LogRing.Level.DEBUG, format, params );
+        }
+
+        return this;
+    }
+
+    /**
+     * Waits until every message logged so far has been written.
+     */
+    public static void flush()
+    {
+        SHARED.flush();
+    }
+
+    /**
+     * @return the number of messages dropped so far because the ring was full
+     */
+    public static long getDropped()
+    {
+        return SHARED.getDropped();
+    }
+
+}
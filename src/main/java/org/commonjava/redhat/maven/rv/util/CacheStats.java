@@ -0,0 +1,59 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CacheStats
+{
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    public void hit()
+    {
+        hits.incrementAndGet();
+    }
+
+    public void miss()
+    {
+        misses.incrementAndGet();
+    }
+
+    public void eviction()
+    {
+        evictions.incrementAndGet();
+    }
+
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    public long getEvictions()
+    {
+        return evictions.get();
+    }
+
+    public double getHitRate()
+    {
+        final long h = hits.get();
+        final long total = h + misses.get();
+
+        return total == 0 ? 0 : ( h * 100.0 ) / total;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format( "%d hits, %d misses, %d evictions (%.1f%% hit rate)", getHits(), getMisses(),
+                              getEvictions(), getHitRate() );
+    }
+
+}
@@ -0,0 +1,49 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * FIFO work queue that accepts each distinct item only once. A membership index of everything ever offered makes
+ * de-duplication O(1), and an item is not re-queued after it has been taken off the queue.
+ */
+public class DedupQueue<T>
+{
+
+    private final ArrayDeque<T> queue = new ArrayDeque<T>();
+
+    private final Set<T> enqueued = new HashSet<T>();
+
+    public synchronized boolean offer( final T item )
+    {
+        if ( item == null || !enqueued.add( item ) )
+        {
+            return false;
+        }
+
+        queue.addLast( item );
+        return true;
+    }
+
+    public synchronized T poll()
+    {
+        return queue.pollFirst();
+    }
+
+    public synchronized boolean wasEnqueued( final T item )
+    {
+        return enqueued.contains( item );
+    }
+
+    public synchronized int size()
+    {
+        return queue.size();
+    }
+
+    public synchronized boolean isEmpty()
+    {
+        return queue.isEmpty();
+    }
+
+}
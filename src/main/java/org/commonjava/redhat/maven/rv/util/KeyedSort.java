@@ -0,0 +1,155 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.maven.graph.effective.rel.ProjectRelationship;
+
+/**
+ * Sorts by keys computed once per element up front, instead of once or twice per comparison. Each element is ordered
+ * by an int rank, then by a string key (null keys last), then by an optional tie-breaking comparator. The sort is
+ * stable, so elements that compare equal keep their original order.
+ */
+public final class KeyedSort
+{
+
+    /**
+     * Computes the sort keys of one element. Called exactly once per element and sort.
+     */
+    public interface Keys<T>
+    {
+        int rank( T item );
+
+        String key( T item );
+    }
+
+    private static final Keys<Object> TO_STRING = new Keys<Object>()
+    {
+        public int rank( final Object item )
+        {
+            return 0;
+        }
+
+        public String key( final Object item )
+        {
+            return item == null ? null : item.toString();
+        }
+    };
+
+    private static final Keys<ProjectRelationship<?>> DECLARATION = new Keys<ProjectRelationship<?>>()
+    {
+        public int rank( final ProjectRelationship<?> rel )
+        {
+            return rel.getType()
+                      .ordinal();
+        }
+
+        public String key( final ProjectRelationship<?> rel )
+        {
+            return rel.getDeclaring()
+                      .toString();
+        }
+    };
+
+    private KeyedSort()
+    {
+    }
+
+    /**
+     * Sorts by {@link Object#toString()}. Nulls sort last.
+     */
+    public static <T> List<T> sortByToString( final Collection<T> items )
+    {
+        return sort( items, TO_STRING, null );
+    }
+
+    /**
+     * Sorts relationships by type, then by the declaring project's {@link Object#toString()}.
+     */
+    public static <T extends ProjectRelationship<?>> List<T> sortByDeclaration( final Collection<T> rels )
+    {
+        return sort( rels, DECLARATION, null );
+    }
+
+    /**
+     * @return a read-only, sorted copy of the items
+     */
+    @SuppressWarnings( "unchecked" )
+    public static <T> List<T> sort( final Collection<T> items, final Keys<? super T> keys,
+                                    final Comparator<? super T> ties )
+    {
+        final Object[] values = items.toArray();
+        final Keyed[] keyed = new Keyed[values.length];
+        for ( int i = 0; i < values.length; i++ )
+        {
+            final T value = (T) values[i];
+            keyed[i] = new Keyed( keys.rank( value ), keys.key( value ), value );
+        }
+
+        Arrays.sort( keyed, new KeyedComparator( (Comparator<Object>) ties ) );
+
+        for ( int i = 0; i < keyed.length; i++ )
+        {
+            values[i] = keyed[i].value;
+        }
+
+        return Collections.unmodifiableList( (List<T>) Arrays.asList( values ) );
+    }
+
+    private static final class Keyed
+    {
+        private final int rank;
+
+        private final String key;
+
+        private final Object value;
+
+        Keyed( final int rank, final String key, final Object value )
+        {
+            this.rank = rank;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class KeyedComparator
+        implements Comparator<Keyed>
+    {
+        private final Comparator<Object> ties;
+
+        KeyedComparator( final Comparator<Object> ties )
+        {
+            this.ties = ties;
+        }
+
+        public int compare( final Keyed first, final Keyed second )
+        {
+            if ( first.rank != second.rank )
+            {
+                return first.rank < second.rank ? -1 : 1;
+            }
+
+            if ( first.key == null || second.key == null )
+            {
+                if ( first.key != second.key )
+                {
+                    return first.key == null ? 1 : -1;
+                }
+            }
+            else
+            {
+                final int comp = first.key.compareTo( second.key );
+                if ( comp != 0 )
+                {
+                    return comp;
+                }
+            }
+
+            return ties == null ? 0 : ties.compare( first.value, second.value );
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations, in buckets that double in width from one microsecond up. Percentiles are reported
+ * as the upper bound of the bucket they fall in, so they are accurate to within a factor of two; the count, mean and
+ * maximum are exact.
+ */
+public class LatencyHistogram
+{
+
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray( BUCKETS );
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong totalNanos = new AtomicLong();
+
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record( final long nanos )
+    {
+        final long duration = nanos < 0 ? 0 : nanos;
+
+        buckets.incrementAndGet( bucket( duration ) );
+        count.incrementAndGet();
+        totalNanos.addAndGet( duration );
+
+        long max;
+        while ( ( max = maxNanos.get() ) < duration && !maxNanos.compareAndSet( max, duration ) )
+        {
+            // retry until this duration is recorded or another thread recorded a longer one.
+        }
+    }
+
+    /**
+     * Records the time since <code>startNanos</code>, a value taken from {@link System#nanoTime()}.
+     */
+    public void recordSince( final long startNanos )
+    {
+        record( System.nanoTime() - startNanos );
+    }
+
+    public long getCount()
+    {
+        return count.get();
+    }
+
+    public double getMeanMillis()
+    {
+        final long n = count.get();
+        return n == 0 ? 0 : totalNanos.get() / ( n * 1000000.0 );
+    }
+
+    public double getMaxMillis()
+    {
+        return maxNanos.get() / 1000000.0;
+    }
+
+    public double getTotalSeconds()
+    {
+        return totalNanos.get() / 1000000000.0;
+    }
+
+    /**
+     * @param quantile between 0 and 1
+     * @return the upper bound of the bucket holding the given quantile, capped at the maximum
+     */
+    public double getPercentileMillis( final double quantile )
+    {
+        final long n = count.get();
+        if ( n == 0 )
+        {
+            return 0;
+        }
+
+        final long rank = (long) Math.ceil( quantile * n );
+        long seen = 0;
+        for ( int i = 0; i < BUCKETS; i++ )
+        {
+            seen += buckets.get( i );
+            if ( seen >= rank )
+            {
+                return Math.min( ( 1L << i ) / 1000.0, getMaxMillis() );
+            }
+        }
+
+        return getMaxMillis();
+    }
+
+    // bucket i holds durations of up to 2^i microseconds.
+    private static int bucket( final long nanos )
+    {
+        final long micros = ( nanos + 999 ) / 1000;
+        final int bucket = micros <= 1 ? 0 : 64 - Long.numberOfLeadingZeros( micros - 1 );
+
+        return bucket < BUCKETS ? bucket : BUCKETS - 1;
+    }
+
+}
@@ -0,0 +1,244 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import java.util.IllegalFormatException;
+
+import org.slf4j.Logger;
+
+/**
+ * Fixed-size ring of log messages waiting to be written by a single background thread. Messages are formatted on that
+ * thread, not the caller's. When the ring is full, new messages are dropped and counted rather than making the caller
+ * wait.
+ */
+final class LogRing
+    implements Runnable
+{
+
+    enum Level
+    {
+        DEBUG, INFO;
+    }
+
+    private final Logger[] loggers;
+
+    private final Level[] levels;
+
+    private final String[] formats;
+
+    private final Object[][] params;
+
+    private final boolean autoStart;
+
+    // the oldest waiting message; guarded by this.
+    private int head;
+
+    // guarded by this.
+    private int size;
+
+    // guarded by this.
+    private long appended;
+
+    // guarded by this.
+    private long written;
+
+    // guarded by this.
+    private long dropped;
+
+    // guarded by this.
+    private Thread drainer;
+
+    /**
+     * @param autoStart whether the first message starts the thread that writes them; if not, they are only written
+     *            by calls to {@link #drain()}
+     */
+    LogRing( final int capacity, final boolean autoStart )
+    {
+        final int cap = capacity < 1 ? 1 : capacity;
+        this.loggers = new Logger[cap];
+        this.levels = new Level[cap];
+        this.formats = new String[cap];
+        this.params = new Object[cap][];
+        this.autoStart = autoStart;
+    }
+
+    /**
+     * @return false if the ring was full and the message was dropped
+     */
+    synchronized boolean append( final Logger logger, final Level level, final String format, final Object[] args )
+    {
+        if ( size == loggers.length )
+        {
+            dropped++;
+            return false;
+        }
+
+        final int slot = ( head + size ) % loggers.length;
+        loggers[slot] = logger;
+        levels[slot] = level;
+        formats[slot] = format;
+        params[slot] = args;
+
+        size++;
+        appended++;
+
+        if ( drainer == null && autoStart )
+        {
+            drainer = new NamedThreadFactory( "rv-log", true ).newThread( this );
+            drainer.start();
+        }
+
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Writes every message waiting in the ring.
+     *
+     * @return the number written
+     */
+    int drain()
+    {
+        final Logger[] batchLoggers;
+        final Level[] batchLevels;
+        final String[] batchFormats;
+        final Object[][] batchParams;
+        synchronized ( this )
+        {
+            batchLoggers = new Logger[size];
+            batchLevels = new Level[size];
+            batchFormats = new String[size];
+            batchParams = new Object[size][];
+
+            for ( int i = 0; i < batchLoggers.length; i++ )
+            {
+                final int slot = ( head + i ) % loggers.length;
+                batchLoggers[i] = loggers[slot];
+                batchLevels[i] = levels[slot];
+                batchFormats[i] = formats[slot];
+                batchParams[i] = params[slot];
+
+                loggers[slot] = null;
+                formats[slot] = null;
+                params[slot] = null;
+            }
+
+            head = ( head + size ) % loggers.length;
+            size = 0;
+        }
+
+        for ( int i = 0; i < batchLoggers.length; i++ )
+        {
+            final String message = format( batchFormats[i], batchParams[i] );
+            if ( batchLevels[i] == Level.DEBUG )
+            {
+                batchLoggers[i].debug( message );
+            }
+            else
+            {
+                batchLoggers[i].info( message );
+            }
+        }
+
+        synchronized ( this )
+        {
+            written += batchLoggers.length;
+            notifyAll();
+        }
+
+        return batchLoggers.length;
+    }
+
+    /**
+     * Waits until every message appended before this call has been written.
+     */
+    void flush()
+    {
+        synchronized ( this )
+        {
+            final long target = appended;
+            try
+            {
+                while ( written < target && drainer != null )
+                {
+                    wait();
+                }
+            }
+            catch ( final InterruptedException e )
+            {
+                Thread.currentThread()
+                      .interrupt();
+                return;
+            }
+
+            if ( written >= target )
+            {
+                return;
+            }
+        }
+
+        // nothing is draining the ring in the background.
+        drain();
+    }
+
+    synchronized long getDropped()
+    {
+        return dropped;
+    }
+
+    public void run()
+    {
+        try
+        {
+            while ( true )
+            {
+                synchronized ( this )
+                {
+                    while ( size == 0 )
+                    {
+                        wait();
+                    }
+                }
+
+                drain();
+            }
+        }
+        catch ( final InterruptedException e )
+        {
+            Thread.currentThread()
+                  .interrupt();
+        }
+        finally
+        {
+            // a later message starts a new thread, and flush() stops waiting on this one.
+            synchronized ( this )
+            {
+                drainer = null;
+                notifyAll();
+            }
+        }
+    }
+
+    private static String format( final String format, final Object[] args )
+    {
+        if ( args == null || args.length == 0 )
+        {
+            return format;
+        }
+
+        try
+        {
+            return String.format( format, args );
+        }
+        catch ( final IllegalFormatException e )
+        {
+            final StringBuilder sb = new StringBuilder( format );
+            for ( final Object arg : args )
+            {
+                sb.append( ' ' )
+                  .append( arg );
+            }
+
+            return sb.toString();
+        }
+    }
+
+}
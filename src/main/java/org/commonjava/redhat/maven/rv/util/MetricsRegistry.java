@@ -0,0 +1,254 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import static org.apache.commons.io.IOUtils.closeQuietly;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Named counters, latency histograms and gauges for one validation run, rendered as a JSON snapshot on demand. Metrics
+ * are created the first time they're used, and updating them never blocks, so they can sit on the hot paths.
+ */
+public class MetricsRegistry
+{
+
+    public static final String SNAPSHOT_FILE = "metrics.json";
+
+    public static final String HISTORY_FILE = "metrics.jsonl";
+
+    /**
+     * A value read each time a snapshot is taken.
+     */
+    public interface Gauge
+    {
+        double getValue();
+    }
+
+    private final long started = System.nanoTime();
+
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<String, AtomicLong>();
+
+    private final ConcurrentMap<String, LatencyHistogram> histograms =
+        new ConcurrentHashMap<String, LatencyHistogram>();
+
+    private final ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<String, Gauge>();
+
+    public void increment( final String name )
+    {
+        add( name, 1 );
+    }
+
+    public void add( final String name, final long delta )
+    {
+        AtomicLong counter = counters.get( name );
+        if ( counter == null )
+        {
+            counter = new AtomicLong();
+            final AtomicLong existing = counters.putIfAbsent( name, counter );
+            if ( existing != null )
+            {
+                counter = existing;
+            }
+        }
+
+        counter.addAndGet( delta );
+    }
+
+    public long getCount( final String name )
+    {
+        final AtomicLong counter = counters.get( name );
+        return counter == null ? 0 : counter.get();
+    }
+
+    public LatencyHistogram histogram( final String name )
+    {
+        LatencyHistogram histogram = histograms.get( name );
+        if ( histogram == null )
+        {
+            histogram = new LatencyHistogram();
+            final LatencyHistogram existing = histograms.putIfAbsent( name, histogram );
+            if ( existing != null )
+            {
+                histogram = existing;
+            }
+        }
+
+        return histogram;
+    }
+
+    public void gauge( final String name, final Gauge gauge )
+    {
+        gauges.put( name, gauge );
+    }
+
+    public double getElapsedSeconds()
+    {
+        return ( System.nanoTime() - started ) / 1000000000.0;
+    }
+
+    /**
+     * @return a single-line JSON object with the elapsed time, every counter (with its average rate per second), every
+     *         histogram and the current value of every gauge, each sorted by name
+     */
+    public String toJson()
+    {
+        final double elapsed = getElapsedSeconds();
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append( "{\"timestamp\":" )
+          .append( System.currentTimeMillis() )
+          .append( ",\"elapsedSeconds\":" )
+          .append( number( elapsed ) );
+
+        sb.append( ",\"counters\":{" );
+        String sep = "";
+        for ( final Map.Entry<String, AtomicLong> entry : new TreeMap<String, AtomicLong>( counters ).entrySet() )
+        {
+            final long count = entry.getValue()
+                                    .get();
+
+            sb.append( sep );
+            name( sb, entry.getKey() );
+            sb.append( "{\"count\":" )
+              .append( count )
+              .append( ",\"perSecond\":" )
+              .append( number( elapsed > 0 ? count / elapsed : 0 ) )
+              .append( '}' );
+            sep = ",";
+        }
+
+        sb.append( "},\"histograms\":{" );
+        sep = "";
+        for ( final Map.Entry<String, LatencyHistogram> entry : new TreeMap<String, LatencyHistogram>( histograms ).entrySet() )
+        {
+            final LatencyHistogram histogram = entry.getValue();
+            final long count = histogram.getCount();
+
+            sb.append( sep );
+            name( sb, entry.getKey() );
+            sb.append( "{\"count\":" )
+              .append( count )
+              .append( ",\"perSecond\":" )
+              .append( number( elapsed > 0 ? count / elapsed : 0 ) )
+              .append( ",\"totalSeconds\":" )
+              .append( number( histogram.getTotalSeconds() ) )
+              .append( ",\"meanMillis\":" )
+              .append( number( histogram.getMeanMillis() ) )
+              .append( ",\"p50Millis\":" )
+              .append( number( histogram.getPercentileMillis( 0.5 ) ) )
+              .append( ",\"p90Millis\":" )
+              .append( number( histogram.getPercentileMillis( 0.9 ) ) )
+              .append( ",\"p99Millis\":" )
+              .append( number( histogram.getPercentileMillis( 0.99 ) ) )
+              .append( ",\"maxMillis\":" )
+              .append( number( histogram.getMaxMillis() ) )
+              .append( '}' );
+            sep = ",";
+        }
+
+        sb.append( "},\"gauges\":{" );
+        sep = "";
+        for ( final Map.Entry<String, Gauge> entry : new TreeMap<String, Gauge>( gauges ).entrySet() )
+        {
+            sb.append( sep );
+            name( sb, entry.getKey() );
+            sb.append( number( entry.getValue()
+                                    .getValue() ) );
+            sep = ",";
+        }
+
+        sb.append( "}}" );
+
+        return sb.toString();
+    }
+
+    /**
+     * Replaces {@link #SNAPSHOT_FILE} in the directory with the current snapshot, and appends it as one line to
+     * {@link #HISTORY_FILE}.
+     */
+    public synchronized void writeSnapshot( final File dir )
+        throws IOException
+    {
+        dir.mkdirs();
+
+        final String json = toJson();
+
+        final File tmp = new File( dir, SNAPSHOT_FILE + ".tmp" );
+        write( tmp, json + "\n", false );
+
+        final File snapshot = new File( dir, SNAPSHOT_FILE );
+        if ( !tmp.renameTo( snapshot ) )
+        {
+            snapshot.delete();
+            if ( !tmp.renameTo( snapshot ) )
+            {
+                throw new IOException( "Cannot move metrics snapshot into place: " + snapshot );
+            }
+        }
+
+        write( new File( dir, HISTORY_FILE ), json + "\n", true );
+    }
+
+    private static void write( final File file, final String content, final boolean append )
+        throws IOException
+    {
+        Writer writer = null;
+        try
+        {
+            writer = new OutputStreamWriter( new FileOutputStream( file, append ), "UTF-8" );
+            writer.write( content );
+
+            // the content is only flushed on close; a failure there must not go unnoticed.
+            writer.close();
+            writer = null;
+        }
+        finally
+        {
+            closeQuietly( writer );
+        }
+    }
+
+    private static void name( final StringBuilder sb, final String name )
+    {
+        sb.append( '"' );
+        for ( int i = 0; i < name.length(); i++ )
+        {
+            final char c = name.charAt( i );
+            if ( c == '"' || c == '\\' )
+            {
+                sb.append( '\\' )
+                  .append( c );
+            }
+            else if ( c < 0x20 )
+            {
+                sb.append( String.format( "\\u%04x", (int) c ) );
+            }
+            else
+            {
+                sb.append( c );
+            }
+        }
+
+        sb.append( "\":" );
+    }
+
+    private static String number( final double value )
+    {
+        if ( Double.isNaN( value ) || Double.isInfinite( value ) )
+        {
+            return "null";
+        }
+
+        return String.format( Locale.ROOT, "%.3f", value );
+    }
+
+}
@@ -0,0 +1,35 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class NamedThreadFactory
+    implements ThreadFactory
+{
+
+    private final String prefix;
+
+    private final boolean daemon;
+
+    private final AtomicInteger counter = new AtomicInteger( 0 );
+
+    public NamedThreadFactory( final String prefix )
+    {
+        this( prefix, false );
+    }
+
+    public NamedThreadFactory( final String prefix, final boolean daemon )
+    {
+        this.prefix = prefix;
+        this.daemon = daemon;
+    }
+
+    public Thread newThread( final Runnable r )
+    {
+        final Thread t = new Thread( r, prefix + "-" + counter.incrementAndGet() );
+        t.setDaemon( daemon );
+
+        return t;
+    }
+
+}
@@ -0,0 +1,209 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wall time, CPU time and allocated bytes per phase of a run, measured on the thread doing the work between
+ * {@link #start()} and {@link #stop(String, Split)}. A phase can be timed many times and on many threads at once; it
+ * adds up the time and allocations of every timing (its busy time) and also keeps the span from the first start to the
+ * last stop. CPU time and allocations are reported as unavailable where the JVM can't measure them per thread.
+ */
+public class PhaseTimer
+{
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static final boolean CPU_SUPPORTED;
+
+    private static final boolean ALLOCATION_SUPPORTED;
+
+    static
+    {
+        boolean cpu = THREADS.isCurrentThreadCpuTimeSupported();
+        if ( cpu && !THREADS.isThreadCpuTimeEnabled() )
+        {
+            try
+            {
+                THREADS.setThreadCpuTimeEnabled( true );
+            }
+            catch ( final UnsupportedOperationException e )
+            {
+                cpu = false;
+            }
+        }
+
+        CPU_SUPPORTED = cpu;
+
+        boolean allocation = false;
+        if ( THREADS instanceof com.sun.management.ThreadMXBean )
+        {
+            final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            allocation = threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled();
+        }
+
+        ALLOCATION_SUPPORTED = allocation;
+    }
+
+    /**
+     * The readings taken when a timing started.
+     */
+    public static final class Split
+    {
+        private final long wall = System.nanoTime();
+
+        private final long cpu = cpuTime();
+
+        private final long allocated = allocatedBytes();
+    }
+
+    public static final class Phase
+    {
+        private long count;
+
+        private long wallNanos;
+
+        private long cpuNanos;
+
+        private long allocatedBytes;
+
+        private long firstStart;
+
+        private long lastStop;
+
+        public long getCount()
+        {
+            return count;
+        }
+
+        public long getWallNanos()
+        {
+            return wallNanos;
+        }
+
+        public long getSpanNanos()
+        {
+            return lastStop - firstStart;
+        }
+
+        /**
+         * @return the CPU time used, or -1 if it can't be measured
+         */
+        public long getCpuNanos()
+        {
+            return CPU_SUPPORTED ? cpuNanos : -1;
+        }
+
+        /**
+         * @return the bytes allocated, or -1 if they can't be measured
+         */
+        public long getAllocatedBytes()
+        {
+            return ALLOCATION_SUPPORTED ? allocatedBytes : -1;
+        }
+    }
+
+    // in the order the phases were first stopped.
+    private final Map<String, Phase> phases = new LinkedHashMap<String, Phase>();
+
+    public Split start()
+    {
+        return new Split();
+    }
+
+    public void stop( final String phase, final Split split )
+    {
+        final long wall = System.nanoTime();
+        final long cpu = cpuTime();
+        final long allocated = allocatedBytes();
+
+        synchronized ( phases )
+        {
+            Phase p = phases.get( phase );
+            if ( p == null )
+            {
+                p = new Phase();
+                p.firstStart = split.wall;
+                phases.put( phase, p );
+            }
+
+            p.count++;
+            p.wallNanos += wall - split.wall;
+            p.cpuNanos += cpu - split.cpu;
+            p.allocatedBytes += allocated - split.allocated;
+            p.firstStart = Math.min( p.firstStart, split.wall );
+            p.lastStop = Math.max( p.lastStop, wall );
+        }
+    }
+
+    /**
+     * @return a copy of the phases timed so far, in the order they were first stopped
+     */
+    public Map<String, Phase> getPhases()
+    {
+        final Map<String, Phase> copy = new LinkedHashMap<String, Phase>();
+        synchronized ( phases )
+        {
+            for ( final Map.Entry<String, Phase> entry : phases.entrySet() )
+            {
+                final Phase p = entry.getValue();
+                final Phase c = new Phase();
+                c.count = p.count;
+                c.wallNanos = p.wallNanos;
+                c.cpuNanos = p.cpuNanos;
+                c.allocatedBytes = p.allocatedBytes;
+                c.firstStart = p.firstStart;
+                c.lastStop = p.lastStop;
+
+                copy.put( entry.getKey(), c );
+            }
+        }
+
+        return copy;
+    }
+
+    /**
+     * @return a header line and one line per phase, with its count, span, busy and CPU times in milliseconds, and the
+     *         megabytes it allocated
+     */
+    public List<String> getTable()
+    {
+        final List<String> lines = new ArrayList<String>();
+        lines.add( String.format( "%-40s %8s %12s %12s %12s %12s", "Phase", "Count", "Span (ms)", "Busy (ms)",
+                                  "CPU (ms)", "Alloc (MB)" ) );
+
+        for ( final Map.Entry<String, Phase> entry : getPhases().entrySet() )
+        {
+            final Phase p = entry.getValue();
+            final String cpu = p.getCpuNanos() < 0 ? "-" : Long.toString( p.getCpuNanos() / 1000000 );
+            final String allocated =
+                p.getAllocatedBytes() < 0 ? "-" : String.format( "%.1f", p.getAllocatedBytes() / ( 1024.0 * 1024.0 ) );
+
+            lines.add( String.format( "%-40s %8d %12d %12d %12s %12s", entry.getKey(), p.getCount(),
+                                      p.getSpanNanos() / 1000000, p.getWallNanos() / 1000000, cpu, allocated ) );
+        }
+
+        return lines;
+    }
+
+    private static long cpuTime()
+    {
+        return CPU_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+
+    private static long allocatedBytes()
+    {
+        if ( !ALLOCATION_SUPPORTED )
+        {
+            return 0;
+        }
+
+        return ( (com.sun.management.ThreadMXBean) THREADS ).getThreadAllocatedBytes( Thread.currentThread()
+                                                                                            .getId() );
+    }
+
+}
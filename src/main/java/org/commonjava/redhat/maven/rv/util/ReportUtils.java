@@ -0,0 +1,35 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import java.io.PrintWriter;
+
+public final class ReportUtils
+{
+
+    private ReportUtils()
+    {
+    }
+
+    /**
+     * Writes the same text as <code>writer.print( StringUtils.join( items, separator ) )</code>, without building the
+     * joined string first.
+     */
+    public static void printJoined( final PrintWriter writer, final Iterable<?> items, final String separator )
+    {
+        boolean first = true;
+        for ( final Object item : items )
+        {
+            if ( !first )
+            {
+                writer.print( separator );
+            }
+
+            if ( item != null )
+            {
+                writer.print( item );
+            }
+
+            first = false;
+        }
+    }
+
+}
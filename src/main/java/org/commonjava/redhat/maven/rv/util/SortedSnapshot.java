@@ -0,0 +1,39 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import static org.commonjava.redhat.maven.rv.util.KeyedSort.sortByToString;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Sorted, read-only copy of a grow-only collection, ordered by {@link KeyedSort#sortByToString(Collection)}. The copy is
+ * rebuilt only when the collection's size has changed since it was last taken, so every report asking for the same
+ * ordering shares one list.
+ */
+public class SortedSnapshot<T>
+{
+
+    private final Collection<T> source;
+
+    private List<T> sorted;
+
+    private int sortedSize = -1;
+
+    public SortedSnapshot( final Collection<T> source )
+    {
+        this.source = source;
+    }
+
+    public synchronized List<T> get()
+    {
+        final int size = source.size();
+        if ( sorted == null || size != sortedSize )
+        {
+            sorted = sortByToString( source );
+            sortedSize = size;
+        }
+
+        return sorted;
+    }
+
+}
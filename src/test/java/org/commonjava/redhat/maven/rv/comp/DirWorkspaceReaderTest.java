@@ -0,0 +1,53 @@
+package org.commonjava.redhat.maven.rv.comp;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonatype.aether.util.artifact.DefaultArtifact;
+
+public class DirWorkspaceReaderTest
+{
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void indexedLookupsMatchFilesystemWithoutTouchingIt()
+        throws Exception
+    {
+        final File repo = temp.newFolder( "repo" );
+        final File pom = new File( repo, "org/foo/bar/1.0/bar-1.0.pom" );
+        FileUtils.writeStringToFile( pom, "<project/>" );
+        FileUtils.writeStringToFile( new File( repo, "org/foo/bar/1.0/bar-1.0-sources.jar" ), "sources" );
+
+        final DefaultArtifact pomArtifact = new DefaultArtifact( "org.foo", "bar", "pom", "1.0" );
+        final DefaultArtifact sources = new DefaultArtifact( "org.foo", "bar", "sources", "jar", "1.0" );
+        final DefaultArtifact jar = new DefaultArtifact( "org.foo", "bar", "jar", "1.0" );
+
+        final DirWorkspaceReader direct = new DirWorkspaceReader( repo );
+        final DirWorkspaceReader indexed = new DirWorkspaceReader( repo, RepositoryWalker.scan( repo ) );
+
+        for ( final DirWorkspaceReader reader : new DirWorkspaceReader[] { direct, indexed } )
+        {
+            assertThat( reader.findArtifact( pomArtifact ), equalTo( pom ) );
+            assertThat( reader.findArtifact( sources ), equalTo( new File( repo,
+                                                                           "org/foo/bar/1.0/bar-1.0-sources.jar" ) ) );
+            assertThat( reader.findArtifact( jar ), nullValue() );
+            assertThat( reader.findVersions( pomArtifact ), equalTo( Collections.singletonList( "1.0" ) ) );
+        }
+
+        // the index is a snapshot of the initial scan.
+        FileUtils.forceDelete( pom );
+        assertThat( direct.findArtifact( pomArtifact ), nullValue() );
+        assertThat( indexed.findArtifact( pomArtifact ), equalTo( pom ) );
+    }
+
+}
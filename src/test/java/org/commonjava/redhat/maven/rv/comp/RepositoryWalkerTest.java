@@ -0,0 +1,106 @@
+package org.commonjava.redhat.maven.rv.comp;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RepositoryWalkerTest
+{
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void findPomsAndIndexSiblingsSkippingExcludesAndSymlinkCycles()
+        throws Exception
+    {
+        final File repo = temp.newFolder( "repo" );
+        touch( repo, "org/foo/bar/1.0/bar-1.0.pom" );
+        touch( repo, "org/foo/bar/1.0/bar-1.0.jar" );
+        touch( repo, "org/foo/bar/maven-metadata.xml" );
+        touch( repo, "org/foo/baz/2.0/baz-2.0.pom" );
+        touch( repo, "org/foo/skipped/1.0/skipped-1.0.pom" );
+        touch( repo, "checkout/pom.xml" );
+        touch( repo, "checkout/.git/pom.xml" );
+
+        // loops back to the repository root.
+        Files.createSymbolicLink( new File( repo, "org/foo/loop" ).toPath(), repo.toPath() );
+
+        final RepositoryWalker walker =
+            new RepositoryWalker( repo, new String[] { "**/*.pom", "**/pom.xml" },
+                                  new String[] { "org/foo/skipped/" }, 4 );
+        walker.start();
+
+        final Set<String> poms = new HashSet<String>();
+        final Iterator<String> it = walker.discovered();
+        while ( it.hasNext() )
+        {
+            poms.add( it.next()
+                        .replace( File.separatorChar, '/' ) );
+        }
+
+        walker.awaitCompletion();
+
+        assertThat( poms, equalTo( (Set<String>) new HashSet<String>( Arrays.asList( "org/foo/bar/1.0/bar-1.0.pom",
+                                                                                     "org/foo/baz/2.0/baz-2.0.pom",
+                                                                                     "checkout/pom.xml" ) ) ) );
+
+        final RepositoryIndex index = walker.getIndex();
+        assertThat( index.isComplete(), equalTo( true ) );
+        assertThat( index.getFiles( "org/foo/bar/1.0" ),
+                    equalTo( (Set<String>) new HashSet<String>( Arrays.asList( "bar-1.0.jar", "bar-1.0.pom" ) ) ) );
+        assertThat( index.contains( "org/foo/bar", "maven-metadata.xml" ), equalTo( true ) );
+        assertThat( index.contains( "org/foo/skipped/1.0", "skipped-1.0.pom" ), equalTo( true ) );
+        assertThat( index.contains( "checkout/.git", "pom.xml" ), equalTo( false ) );
+    }
+
+    @Test
+    public void walkSymlinkedAliasesOfTheSameDirectory()
+        throws Exception
+    {
+        final File repo = temp.newFolder( "repo" );
+        touch( repo, "org/foo/bar/1.0/bar-1.0.pom" );
+
+        final File elsewhere = temp.newFolder( "elsewhere" );
+        touch( elsewhere, "1.0/shared-1.0.pom" );
+
+        Files.createSymbolicLink( new File( repo, "org/foo/shared" ).toPath(), elsewhere.toPath() );
+        Files.createSymbolicLink( new File( repo, "org/foo/alias" ).toPath(), elsewhere.toPath() );
+
+        final RepositoryWalker walker = new RepositoryWalker( repo, new String[] { "**/*.pom" }, null, 1 );
+        walker.start();
+
+        final List<String> poms = new ArrayList<String>();
+        final Iterator<String> it = walker.discovered();
+        while ( it.hasNext() )
+        {
+            poms.add( it.next()
+                        .replace( File.separatorChar, '/' ) );
+        }
+
+        walker.awaitCompletion();
+
+        assertThat( poms, equalTo( Arrays.asList( "org/foo/alias/1.0/shared-1.0.pom", "org/foo/bar/1.0/bar-1.0.pom",
+                                                  "org/foo/shared/1.0/shared-1.0.pom" ) ) );
+    }
+
+    private void touch( final File repo, final String path )
+        throws Exception
+    {
+        FileUtils.writeStringToFile( new File( repo, path ), path );
+    }
+
+}
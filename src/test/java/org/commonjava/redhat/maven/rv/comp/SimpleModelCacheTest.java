@@ -0,0 +1,36 @@
+package org.commonjava.redhat.maven.rv.comp;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class SimpleModelCacheTest
+{
+
+    @Test
+    public void evictLeastRecentlyUsedEntryWhenFull()
+    {
+        final SimpleModelCache cache = new SimpleModelCache( 2 );
+        cache.put( "org.foo", "parent", "1", "raw", "parent-1" );
+        cache.put( "org.foo", "bom", "1", "import", "bom-1" );
+
+        // touch the parent, so the BOM becomes the eldest entry.
+        assertThat( (String) cache.get( "org.foo", "parent", "1", "raw" ), equalTo( "parent-1" ) );
+
+        cache.put( "org.foo", "parent", "2", "raw", "parent-2" );
+
+        assertThat( cache.size(), equalTo( 2 ) );
+        assertThat( cache.get( "org.foo", "bom", "1", "import" ), nullValue() );
+        assertThat( (String) cache.get( "org.foo", "parent", "1", "raw" ), equalTo( "parent-1" ) );
+
+        assertThat( cache.getStats()
+                         .getHits(), equalTo( 2L ) );
+        assertThat( cache.getStats()
+                         .getMisses(), equalTo( 1L ) );
+        assertThat( cache.getStats()
+                         .getEvictions(), equalTo( 1L ) );
+    }
+
+}
@@ -0,0 +1,56 @@
+package org.commonjava.redhat.maven.rv.graph;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.maven.graph.common.DependencyScope;
+import org.apache.maven.graph.common.RelationshipType;
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.apache.maven.graph.effective.rel.DependencyRelationship;
+import org.apache.maven.graph.effective.rel.ParentRelationship;
+import org.apache.maven.graph.effective.rel.PluginRelationship;
+import org.apache.maven.graph.effective.rel.ProjectRelationship;
+import org.junit.Test;
+
+public class InverseRelationshipIndexTest
+{
+
+    @Test
+    public void relationshipsAreGroupedByTargetProjectAndType()
+        throws Exception
+    {
+        final ProjectVersionRef app = new ProjectVersionRef( "org.test", "app", "1.0" );
+        final ProjectVersionRef tool = new ProjectVersionRef( "org.test", "tool", "1.0" );
+        final ProjectVersionRef lib = new ProjectVersionRef( "org.test", "lib", "2.0" );
+
+        final ProjectRelationship<?> jar =
+            new DependencyRelationship( app, new ArtifactRef( lib, "jar", null, false ), DependencyScope.compile, 0,
+                                        false );
+        final ProjectRelationship<?> tests =
+            new DependencyRelationship( app, new ArtifactRef( lib, "test-jar", "tests", false ), DependencyScope.test,
+                                        1, false );
+        final ProjectRelationship<?> parent = new ParentRelationship( tool, lib );
+        final ProjectRelationship<?> plugin = new PluginRelationship( tool, lib, 0, false );
+
+        final InverseRelationshipIndex index =
+            new InverseRelationshipIndex( Arrays.<ProjectRelationship<?>> asList( jar, tests, parent, plugin ) );
+
+        assertThat( index.size(), equalTo( 4 ) );
+        assertThat( index.getRelationshipsTargeting( lib ), equalTo( rels( jar, tests, parent, plugin ) ) );
+        assertThat( index.getRelationshipsTargeting( new ArtifactRef( lib, "pom", null, false ),
+                                                     RelationshipType.DEPENDENCY, RelationshipType.PARENT ),
+                    equalTo( rels( jar, tests, parent ) ) );
+        assertThat( index.getRelationshipsTargeting( app ), equalTo( rels() ) );
+    }
+
+    private static Set<ProjectRelationship<?>> rels( final ProjectRelationship<?>... rels )
+    {
+        return new HashSet<ProjectRelationship<?>>( Arrays.asList( rels ) );
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.commonjava.redhat.maven.rv.graph;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.graph.common.DependencyScope;
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.apache.maven.graph.effective.EProjectWeb;
+import org.apache.maven.graph.effective.rel.DependencyRelationship;
+import org.apache.maven.graph.effective.rel.ParentRelationship;
+import org.apache.maven.graph.effective.rel.ProjectRelationship;
+import org.commonjava.redhat.maven.rv.report.MissingImpactTraversal;
+import org.junit.Test;
+
+public class MemoryEGraphDriverTest
+{
+
+    private final ProjectVersionRef app = new ProjectVersionRef( "org.test", "app", "1.0" );
+
+    private final ProjectVersionRef other = new ProjectVersionRef( "org.test", "other", "1.0" );
+
+    private final ProjectVersionRef parent = new ProjectVersionRef( "org.test", "parent", "1" );
+
+    private final ProjectVersionRef lib = new ProjectVersionRef( "org.test", "lib", "2.0" );
+
+    private final ProjectVersionRef missing = new ProjectVersionRef( "org.test", "missing", "3.0" );
+
+    private final ProjectRelationship<?> appParent = new ParentRelationship( app, parent );
+
+    private final ProjectRelationship<?> appLib = dependency( app, lib, 0 );
+
+    private final ProjectRelationship<?> otherLib = dependency( other, lib, 0 );
+
+    private final ProjectRelationship<?> libMissing = dependency( lib, missing, 0 );
+
+    @Test
+    public void directAndUserRelationshipsComeFromTheAdjacencyListsAndRootsFromTheDriver()
+        throws Exception
+    {
+        final EProjectWeb web = newWeb();
+
+        assertThat( web.getDirectRelationships( app ), equalTo( relationships( appParent, appLib ) ) );
+        assertThat( web.getUserRelationships( lib ), equalTo( relationships( appLib, otherLib ) ) );
+        assertThat( web.getRoots(),
+                    equalTo( (Set<ProjectVersionRef>) new HashSet<ProjectVersionRef>( Arrays.asList( app, other ) ) ) );
+
+        final MemoryEGraphDriver driver = new MemoryEGraphDriver();
+        driver.addRelationships( appLib, libMissing );
+
+        assertThat( driver.getRoots()
+                          .isEmpty(), equalTo( true ) );
+        assertThat( driver.getAllPathsTo( missing )
+                          .isEmpty(), equalTo( true ) );
+
+        assertThat( driver.isMissing( missing ), equalTo( true ) );
+        assertThat( driver.isMissing( lib ), equalTo( false ) );
+        assertThat( driver.introducesCycle( dependency( missing, app, 0 ) ), equalTo( true ) );
+        assertThat( driver.introducesCycle( dependency( missing, other, 0 ) ), equalTo( false ) );
+    }
+
+    @Test
+    public void pathsToAMissingProjectMatchTheImpactTraversalFromEachRoot()
+        throws Exception
+    {
+        final EProjectWeb web = newWeb();
+
+        final Set<List<ProjectRelationship<?>>> expected = new HashSet<List<ProjectRelationship<?>>>();
+        expected.add( Arrays.<ProjectRelationship<?>> asList( appLib, libMissing ) );
+        expected.add( Arrays.<ProjectRelationship<?>> asList( otherLib, libMissing ) );
+
+        assertThat( web.getPathsTo( missing ), equalTo( expected ) );
+
+        final MissingImpactTraversal traversal = new MissingImpactTraversal( Collections.singleton( missing ) );
+        for ( final ProjectVersionRef root : web.getRoots() )
+        {
+            web.traverse( root, traversal );
+        }
+
+        assertThat( new HashSet<List<ProjectRelationship<?>>>( traversal.getPaths( missing ) ), equalTo( expected ) );
+    }
+
+    private EProjectWeb newWeb()
+    {
+        final EProjectWeb web = new EProjectWeb( new MemoryEGraphDriver( app, other ) );
+        web.add( appParent );
+        web.add( appLib );
+        web.add( otherLib );
+        web.add( libMissing );
+
+        return web;
+    }
+
+    private static Set<ProjectRelationship<?>> relationships( final ProjectRelationship<?>... rels )
+    {
+        return new HashSet<ProjectRelationship<?>>( Arrays.asList( rels ) );
+    }
+
+    private static ProjectRelationship<?> dependency( final ProjectVersionRef declaring,
+                                                      final ProjectVersionRef target, final int index )
+    {
+        return new DependencyRelationship( declaring, new ArtifactRef( target, "jar", null, false ),
+                                           DependencyScope.compile, index, false );
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.commonjava.redhat.maven.rv.graph;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.graph.common.DependencyScope;
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.apache.maven.graph.effective.rel.DependencyRelationship;
+import org.apache.maven.graph.effective.rel.ParentRelationship;
+import org.apache.maven.graph.effective.rel.ProjectRelationship;
+import org.junit.Test;
+
+public class ReverseReachabilityTest
+{
+
+    @Test
+    public void eachTargetGetsEveryProjectThatReachesItThroughSharedAndCyclicAncestors()
+        throws Exception
+    {
+        final ProjectVersionRef app = ref( "app" );
+        final ProjectVersionRef tool = ref( "tool" );
+        final ProjectVersionRef parent = ref( "parent" );
+        final ProjectVersionRef lib = ref( "lib" );
+        final ProjectVersionRef cyclic = ref( "cyclic" );
+        final ProjectVersionRef missingA = ref( "missing-a" );
+        final ProjectVersionRef missingB = ref( "missing-b" );
+        final ProjectVersionRef unused = ref( "unused" );
+
+        final List<ProjectRelationship<?>> rels =
+            Arrays.<ProjectRelationship<?>> asList( new ParentRelationship( app, parent ),
+                                                    new ParentRelationship( tool, parent ), dependency( app, lib ),
+                                                    dependency( tool, lib ), dependency( lib, cyclic ),
+                                                    dependency( cyclic, lib ), dependency( cyclic, missingA ),
+                                                    dependency( parent, missingB ) );
+
+        final Map<ProjectVersionRef, Set<ProjectVersionRef>> impacted =
+            new ReverseReachability( rels ).getImpacted( Arrays.asList( missingA, missingB, unused ) );
+
+        assertThat( impacted.get( missingA ), equalTo( refs( app, tool, lib, cyclic ) ) );
+        assertThat( impacted.get( missingB ), equalTo( refs( app, tool, parent ) ) );
+        assertThat( impacted.get( unused ), equalTo( refs() ) );
+    }
+
+    private static Set<ProjectVersionRef> refs( final ProjectVersionRef... refs )
+    {
+        return new HashSet<ProjectVersionRef>( Arrays.asList( refs ) );
+    }
+
+    private static ProjectVersionRef ref( final String artifactId )
+    {
+        return new ProjectVersionRef( "org.test", artifactId, "1.0" );
+    }
+
+    private static ProjectRelationship<?> dependency( final ProjectVersionRef declaring,
+                                                      final ProjectVersionRef target )
+    {
+        return new DependencyRelationship( declaring, new ArtifactRef( target, "jar", null, false ),
+                                           DependencyScope.compile, 0, false );
+    }
+
+}
@@ -0,0 +1,169 @@
+package org.commonjava.redhat.maven.rv.mgr;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
+import org.apache.maven.artifact.repository.MavenArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.commonjava.redhat.maven.rv.ValidationException;
+import org.commonjava.redhat.maven.rv.comp.RepositoryArtifactResolver;
+import org.commonjava.redhat.maven.rv.session.ValidatorSession;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArtifactResolutionStageTest
+{
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void resolveFromFileRepositoriesWithinConnectionLimit()
+        throws Exception
+    {
+        final File first = temp.newFolder( "first" );
+        final File second = temp.newFolder( "second" );
+
+        final ValidatorSession session =
+            new ValidatorSession.Builder( temp.newFolder( "repo" ), temp.newFolder( "workspace" ) ).withGraphingEnabled( false )
+                                                                                                   .build();
+
+        final List<ArtifactRef> inFirst = new ArrayList<ArtifactRef>();
+        final List<ArtifactRef> inSecond = new ArrayList<ArtifactRef>();
+        for ( int i = 0; i < 10; i++ )
+        {
+            inFirst.add( deploy( first, "first-" + i ) );
+            inSecond.add( deploy( second, "second-" + i ) );
+        }
+
+        final ArtifactRef missing = new ArtifactRef( new ProjectVersionRef( "org.foo", "missing", "1" ), "jar", null,
+                                                     false );
+
+        for ( int i = 0; i < 10; i++ )
+        {
+            session.addArtifactToResolve( inFirst.get( i ), "jar" );
+            session.addArtifactToResolve( inSecond.get( i ), "jar" );
+        }
+        session.addArtifactToResolve( missing, "jar" );
+
+        final FileRepositoryResolver resolver = new FileRepositoryResolver();
+
+        final List<ArtifactRepository> repositories = new ArrayList<ArtifactRepository>();
+        repositories.add( repository( "first", first ) );
+        repositories.add( repository( "second", second ) );
+
+        new ArtifactResolutionStage( resolver, 8, 2 ).run( session, repositories );
+
+        assertThat( session.isMissing( missing ), equalTo( true ) );
+        assertThat( session.getErrorsByRef()
+                           .get( missing.asProjectVersionRef() )
+                           .size(), equalTo( 2 ) );
+
+        for ( final ArtifactRef ref : inFirst )
+        {
+            assertThat( session.getArtifactResolutionRepositories( ref ),
+                        equalTo( Collections.singletonList( repositories.get( 0 )
+                                                                        .getUrl() ) ) );
+        }
+
+        for ( final ArtifactRef ref : inSecond )
+        {
+            assertThat( session.getArtifactResolutionRepositories( ref ),
+                        equalTo( Collections.singletonList( repositories.get( 1 )
+                                                                        .getUrl() ) ) );
+        }
+
+        for ( final AtomicInteger max : resolver.maxInFlight.values() )
+        {
+            assertTrue( "Too many concurrent requests: " + max.get(), max.get() <= 2 );
+        }
+    }
+
+    private ArtifactRef deploy( final File repo, final String artifactId )
+        throws Exception
+    {
+        final ArtifactRef ref = new ArtifactRef( new ProjectVersionRef( "org.foo", artifactId, "1" ), "jar", null,
+                                                 false );
+        FileUtils.writeStringToFile( new File( repo, path( ref ) ), artifactId );
+
+        return ref;
+    }
+
+    private static String path( final ArtifactRef ref )
+    {
+        return ref.getGroupId()
+                  .replace( '.', '/' ) + "/" + ref.getArtifactId() + "/" + ref.getVersionString() + "/"
+            + ref.getArtifactId() + "-" + ref.getVersionString() + "." + ref.getType();
+    }
+
+    private ArtifactRepository repository( final String id, final File dir )
+        throws Exception
+    {
+        return new MavenArtifactRepository( id, dir.toURI()
+                                                   .toURL()
+                                                   .toExternalForm(), new DefaultRepositoryLayout(),
+                                            new ArtifactRepositoryPolicy(), new ArtifactRepositoryPolicy() );
+    }
+
+    private static final class FileRepositoryResolver
+        implements RepositoryArtifactResolver
+    {
+        private final ConcurrentMap<String, AtomicInteger> inFlight = new ConcurrentHashMap<String, AtomicInteger>();
+
+        private final ConcurrentMap<String, AtomicInteger> maxInFlight =
+            new ConcurrentHashMap<String, AtomicInteger>();
+
+        public List<Exception> resolve( final ArtifactRef ref, final ArtifactRepository repository )
+        {
+            inFlight.putIfAbsent( repository.getId(), new AtomicInteger() );
+            maxInFlight.putIfAbsent( repository.getId(), new AtomicInteger() );
+
+            final int current = inFlight.get( repository.getId() )
+                                        .incrementAndGet();
+            final AtomicInteger max = maxInFlight.get( repository.getId() );
+            int seen;
+            while ( ( seen = max.get() ) < current && !max.compareAndSet( seen, current ) )
+            {
+                // retry
+            }
+
+            try
+            {
+                Thread.sleep( 10 );
+
+                if ( new File( repository.getBasedir(), path( ref ) ).exists() )
+                {
+                    return Collections.emptyList();
+                }
+
+                return Collections.<Exception> singletonList( new ValidationException( "Not found: %s in %s", ref,
+                                                                                      repository.getId() ) );
+            }
+            catch ( final InterruptedException e )
+            {
+                return Collections.<Exception> singletonList( e );
+            }
+            finally
+            {
+                inFlight.get( repository.getId() )
+                        .decrementAndGet();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package org.commonjava.redhat.maven.rv.mgr;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Named;
+
+import org.commonjava.redhat.maven.rv.ValidationException;
+import org.commonjava.redhat.maven.rv.report.ReadOnlyReport;
+import org.commonjava.redhat.maven.rv.report.ValidationReport;
+import org.commonjava.redhat.maven.rv.session.ValidatorSession;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ReportWritingStageTest
+{
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void readOnlyReportsAreWrittenConcurrentlyAndFailuresCounted()
+        throws Exception
+    {
+        final ValidatorSession session =
+            new ValidatorSession.Builder( temp.newFolder( "repo" ), temp.newFolder( "workspace" ) ).withGraphingEnabled( false )
+                                                                                                   .build();
+
+        // each of these waits until both are running, so they only succeed if written at the same time.
+        final CountDownLatch latch = new CountDownLatch( 2 );
+
+        final ReportWritingStage stage = new ReportWritingStage( 2 );
+        stage.run( Arrays.<ValidationReport> asList( new FirstReport( latch ), new SecondReport( latch ),
+                                                     new FailingReport() ), session );
+
+        assertThat( stage.getReportsWritten(), equalTo( 2 ) );
+        assertThat( stage.getReportsFailed(), equalTo( 1 ) );
+
+        final Set<String> timed = new HashSet<String>( Arrays.asList( "first.txt", "second.txt", "failing.txt" ) );
+        assertThat( stage.getTimings()
+                         .keySet(), equalTo( timed ) );
+
+        final Set<String> phases = new HashSet<String>( Arrays.asList( "report.first.txt", "report.second.txt",
+                                                                       "report.failing.txt" ) );
+        assertThat( session.getPhaseTimer()
+                           .getPhases()
+                           .keySet(), equalTo( phases ) );
+    }
+
+    private static abstract class LatchReport
+        implements ValidationReport
+    {
+        private final CountDownLatch latch;
+
+        LatchReport( final CountDownLatch latch )
+        {
+            this.latch = latch;
+        }
+
+        public boolean canRun( final ValidatorSession session )
+        {
+            return true;
+        }
+
+        public void write( final ValidatorSession session )
+            throws IOException, ValidationException
+        {
+            latch.countDown();
+            try
+            {
+                if ( !latch.await( 10, TimeUnit.SECONDS ) )
+                {
+                    throw new ValidationException( "Reports were not written concurrently." );
+                }
+            }
+            catch ( final InterruptedException e )
+            {
+                throw new ValidationException( "Interrupted", e );
+            }
+        }
+    }
+
+    @Named( "first.txt" )
+    @ReadOnlyReport
+    private static final class FirstReport
+        extends LatchReport
+    {
+        FirstReport( final CountDownLatch latch )
+        {
+            super( latch );
+        }
+    }
+
+    @Named( "second.txt" )
+    @ReadOnlyReport
+    private static final class SecondReport
+        extends LatchReport
+    {
+        SecondReport( final CountDownLatch latch )
+        {
+            super( latch );
+        }
+    }
+
+    @Named( "failing.txt" )
+    private static final class FailingReport
+        implements ValidationReport
+    {
+        public boolean canRun( final ValidatorSession session )
+        {
+            return true;
+        }
+
+        public void write( final ValidatorSession session )
+            throws IOException, ValidationException
+        {
+            throw new IOException( "Expected failure." );
+        }
+    }
+
+}
@@ -0,0 +1,215 @@
+package org.commonjava.redhat.maven.rv.mgr;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.commonjava.redhat.maven.rv.graph.GraphBackend;
+import org.commonjava.redhat.maven.rv.session.ValidatorSession;
+import org.jboss.weld.environment.se.Weld;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ValidationManagerTest
+{
+
+    private static Weld weld;
+
+    private static ValidationManager manager;
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @BeforeClass
+    public static void startWeld()
+    {
+        weld = new Weld();
+        manager = weld.initialize()
+                      .instance()
+                      .select( ValidationManager.class )
+                      .get();
+    }
+
+    @AfterClass
+    public static void stopWeld()
+    {
+        if ( weld != null )
+        {
+            weld.shutdown();
+        }
+    }
+
+    @Test
+    public void reportsAreTheSameWithOneThreadAndWithFour()
+        throws Exception
+    {
+        final File repo = temp.newFolder( "repo" );
+
+        pom( repo, "org.test", "parent", "1.0", "<packaging>pom</packaging>"
+            + "<dependencyManagement><dependencies>"
+            + dependency( "org.test", "lib", "1.0", null )
+            + "</dependencies></dependencyManagement>"
+            + "<build><pluginManagement><plugins>"
+            + "<plugin><groupId>org.test</groupId><artifactId>missing-plugin</artifactId><version>1.0</version></plugin>"
+            + "</plugins></pluginManagement></build>" );
+
+        pom( repo, "org.test", "bom", "1.0", "<packaging>pom</packaging>"
+            + "<dependencyManagement><dependencies>"
+            + dependency( "org.test", "util", "2.0", null )
+            + "</dependencies></dependencyManagement>" );
+
+        pom( repo, "org.test", "lib", "1.0", "<dependencies>"
+            + dependency( "org.test", "util", "2.0", null )
+            + "</dependencies>" );
+        FileUtils.writeStringToFile( new File( repo, "org/test/lib/1.0/lib-1.0.jar" ), "jar" );
+
+        pom( repo, "org.test", "util", "2.0", "" );
+
+        for ( int i = 0; i < 12; i++ )
+        {
+            pom( repo, "org.test", "app" + i, "1.0", parent( "org.test", "parent", "1.0" )
+                + "<dependencyManagement><dependencies>"
+                + "<dependency><groupId>org.test</groupId><artifactId>bom</artifactId><version>1.0</version>"
+                + "<type>pom</type><scope>import</scope></dependency>"
+                + "</dependencies></dependencyManagement>"
+                + "<dependencies>"
+                + dependency( "org.test", "lib", null, null )
+                + dependency( "org.test", "util", null, "test" )
+                + dependency( "org.test", "app" + ( ( i + 1 ) % 12 ), "1.0", null )
+                + dependency( "org.test", "missing" + ( i % 3 ), "1.0", null )
+                + dependency( "org.test", "ranged", "[1.0,2.0)", null )
+                + "</dependencies>"
+                + "<build><extensions><extension><groupId>org.test</groupId><artifactId>missing-extension</artifactId>"
+                + "<version>1.0</version></extension></extensions><plugins>"
+                + "<plugin><groupId>org.test</groupId><artifactId>missing-plugin</artifactId></plugin>"
+                + "</plugins></build>" );
+        }
+
+        pom( repo, "org.test", "orphan", "1.0", parent( "org.test", "absent-parent", "1.0" ) );
+
+        final File single = validate( repo, 1 );
+        final File multi = validate( repo, 4 );
+
+        final String[] names = single.list();
+        Arrays.sort( names );
+
+        final String[] multiNames = multi.list();
+        Arrays.sort( multiNames );
+
+        assertThat( Arrays.asList( multiNames ), equalTo( Arrays.asList( names ) ) );
+
+        for ( final String name : names )
+        {
+            // these report how the run went rather than what it found.
+            if ( name.equals( "timings.txt" ) || name.equals( "metrics.json" ) )
+            {
+                continue;
+            }
+
+            assertThat( name, FileUtils.readFileToString( new File( multi, name ) ),
+                        equalTo( FileUtils.readFileToString( new File( single, name ) ) ) );
+        }
+    }
+
+    @Test
+    public void rawModelOfAPomWithAMissingParentIsNotParsedAgain()
+        throws Exception
+    {
+        final File repo = temp.newFolder( "repo" );
+        pom( repo, "org.test", "orphan", "1.0", parent( "org.test", "absent-parent", "1.0" ) );
+
+        final ValidatorSession session = newSession( repo, temp.newFolder( "workspace" ), 1 );
+        manager.validate( session );
+
+        assertThat( session.getErrorsByRef()
+                           .isEmpty(), equalTo( false ) );
+        assertThat( session.getMetrics()
+                           .histogram( "model.parse" )
+                           .getCount(), equalTo( 0L ) );
+    }
+
+    @Test
+    public void bomImportOfAPomWhoseImportFailsIsStillRecorded()
+        throws Exception
+    {
+        final File repo = temp.newFolder( "repo" );
+        pom( repo, "org.test", "app", "1.0", "<dependencyManagement><dependencies>"
+            + "<dependency><groupId>org.test</groupId><artifactId>absent-bom</artifactId><version>1.0</version>"
+            + "<type>pom</type><scope>import</scope></dependency>"
+            + "</dependencies></dependencyManagement>" );
+
+        final ValidatorSession session = newSession( repo, temp.newFolder( "workspace" ), 1 );
+        manager.validate( session );
+
+        assertThat( session.getErrorsByRef()
+                           .isEmpty(), equalTo( false ) );
+        assertThat( session.getBoms()
+                           .contains( new ProjectVersionRef( "org.test", "absent-bom", "1.0" ) ), equalTo( true ) );
+        assertThat( session.getMetrics()
+                           .histogram( "model.parse" )
+                           .getCount(), equalTo( 0L ) );
+    }
+
+    private File validate( final File repo, final int threads )
+        throws Exception
+    {
+        final File workspace = temp.newFolder( "workspace-" + threads );
+        manager.validate( newSession( repo, workspace, threads ) );
+
+        return new File( workspace, "reports" );
+    }
+
+    private ValidatorSession newSession( final File repo, final File workspace, final int threads )
+        throws Exception
+    {
+        // projects missing from the fixture would otherwise be looked up in central.
+        final File settings = new File( workspace, "settings.xml" );
+        FileUtils.writeStringToFile( settings, "<settings><offline>true</offline></settings>" );
+
+        return new ValidatorSession.Builder( repo, workspace ).withReportsDirectory( new File( workspace, "reports" ) )
+                                                              .withSettingsXmlPath( settings.getAbsolutePath() )
+                                                              .withGraphingEnabled( true )
+                                                              .withGraphBackend( GraphBackend.MEMORY )
+                                                              .withThreads( threads )
+                                                              .withResolverThreads( threads )
+                                                              .withQueueCapacity( 2 )
+                                                              .withProgressInterval( 0 )
+                                                              .withMetricsInterval( 0 )
+                                                              .build();
+    }
+
+    private void pom( final File repo, final String groupId, final String artifactId, final String version,
+                      final String body )
+        throws Exception
+    {
+        final File pom =
+            new File( repo, groupId.replace( '.', '/' ) + "/" + artifactId + "/" + version + "/" + artifactId + "-"
+                + version + ".pom" );
+
+        FileUtils.writeStringToFile( pom, "<project><modelVersion>4.0.0</modelVersion><groupId>" + groupId
+            + "</groupId><artifactId>" + artifactId + "</artifactId><version>" + version + "</version>" + body
+            + "</project>" );
+    }
+
+    private String parent( final String groupId, final String artifactId, final String version )
+    {
+        return "<parent><groupId>" + groupId + "</groupId><artifactId>" + artifactId + "</artifactId><version>"
+            + version + "</version></parent>";
+    }
+
+    private String dependency( final String groupId, final String artifactId, final String version,
+                               final String scope )
+    {
+        return "<dependency><groupId>" + groupId + "</groupId><artifactId>" + artifactId + "</artifactId>"
+            + ( version == null ? "" : "<version>" + version + "</version>" )
+            + ( scope == null ? "" : "<scope>" + scope + "</scope>" ) + "</dependency>";
+    }
+
+}
@@ -0,0 +1,136 @@
+package org.commonjava.redhat.maven.rv.mgr;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.commonjava.redhat.maven.rv.session.ValidatorSession;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ValidationPipelineTest
+{
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void projectsAndArtifactsQueuedByValidationAreProcessedBeforeTheRunEnds()
+        throws Exception
+    {
+        final ValidatorSession session = newSession();
+        final Set<String> resolved = Collections.synchronizedSet( new HashSet<String>() );
+
+        final ValidationPipeline<String> pipeline =
+            new ValidationPipeline<String>( new ValidationPipeline.Stages<String>()
+            {
+                public String build( final String pom )
+                {
+                    return pom;
+                }
+
+                public String build( final ProjectVersionRef ref )
+                {
+                    session.addSeen( ref );
+                    return "dep:" + ref.getArtifactId();
+                }
+
+                public void validate( final String project )
+                {
+                    if ( !project.startsWith( "dep:" ) )
+                    {
+                        session.addArtifactToResolve( new ProjectVersionRef( "org.test", project, "1" ), "jar" );
+                    }
+                }
+
+                public void resolve( final ArtifactRef ref )
+                {
+                    resolved.add( ref.getArtifactId() );
+                }
+            }, 2, 2, 2, 2 );
+
+        pipeline.run( Arrays.asList( "a", "b", "c" )
+                            .iterator(), session );
+
+        assertThat( pipeline.getPomsDiscovered(), equalTo( 3 ) );
+        assertThat( pipeline.getProjectsBuilt(), equalTo( 6 ) );
+        assertThat( pipeline.getProjectsValidated(), equalTo( 6 ) );
+        assertThat( resolved, equalTo( (Set<String>) new HashSet<String>( Arrays.asList( "a", "b", "c" ) ) ) );
+        assertThat( session.getLowLevelErrors()
+                           .size(), equalTo( 0 ) );
+    }
+
+    @Test
+    public void builtProjectsWaitingForValidationNeverExceedTheCapacity()
+        throws Exception
+    {
+        final ValidatorSession session = newSession();
+
+        final List<String> poms = new ArrayList<String>();
+        for ( int i = 0; i < 20; i++ )
+        {
+            poms.add( "pom-" + i );
+        }
+
+        final ValidationPipeline<String> pipeline =
+            new ValidationPipeline<String>( new ValidationPipeline.Stages<String>()
+            {
+                public String build( final String pom )
+                {
+                    if ( pom.equals( "pom-3" ) )
+                    {
+                        throw new IllegalStateException( "Expected failure." );
+                    }
+
+                    return pom;
+                }
+
+                public String build( final ProjectVersionRef ref )
+                {
+                    return null;
+                }
+
+                public void validate( final String project )
+                {
+                    try
+                    {
+                        Thread.sleep( 5 );
+                    }
+                    catch ( final InterruptedException e )
+                    {
+                        Thread.currentThread()
+                              .interrupt();
+                    }
+                }
+
+                public void resolve( final ArtifactRef ref )
+                {
+                }
+            }, 4, 1, 1, 2 );
+
+        pipeline.run( poms.iterator(), session );
+
+        assertThat( pipeline.getProjectsValidated(), equalTo( 19 ) );
+        assertTrue( "Peak queue was: " + pipeline.getPeakProjectsQueued(), pipeline.getPeakProjectsQueued() <= 2 );
+        assertThat( session.getLowLevelErrors()
+                           .size(), equalTo( 1 ) );
+    }
+
+    private ValidatorSession newSession()
+        throws Exception
+    {
+        return new ValidatorSession.Builder( temp.newFolder( "repo" ), temp.newFolder( "workspace" ) ).withGraphingEnabled( false )
+                                                                                                      .build();
+    }
+
+}
@@ -0,0 +1,113 @@
+package org.commonjava.redhat.maven.rv.report;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.graph.common.DependencyScope;
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.apache.maven.graph.effective.EProjectWeb;
+import org.apache.maven.graph.effective.rel.DependencyRelationship;
+import org.apache.maven.graph.effective.rel.ProjectRelationship;
+import org.commonjava.redhat.maven.rv.graph.MemoryEGraphDriver;
+import org.junit.Test;
+
+public class MissingImpactTraversalTest
+{
+
+    private final ProjectVersionRef root = ref( "root" );
+
+    private final ProjectVersionRef missing = ref( "missing" );
+
+    private final ProjectRelationship<?> rootA = dependency( root, ref( "a" ), 0 );
+
+    private final ProjectRelationship<?> rootB = dependency( root, ref( "b" ), 1 );
+
+    private final ProjectRelationship<?> rootC = dependency( root, ref( "c" ), 2 );
+
+    private final ProjectRelationship<?> aMissing = dependency( ref( "a" ), missing, 0 );
+
+    private final ProjectRelationship<?> bMissing = dependency( ref( "b" ), missing, 0 );
+
+    private final ProjectRelationship<?> cD = dependency( ref( "c" ), ref( "d" ), 0 );
+
+    private final ProjectRelationship<?> dMissing = dependency( ref( "d" ), missing, 0 );
+
+    @Test
+    public void pathCountAndDepthLimitsDropTheExcessPaths()
+        throws Exception
+    {
+        final MissingImpactTraversal unlimited = traverse( 0, 0, false );
+        assertThat( paths( unlimited ), equalTo( paths( Arrays.asList( path( rootA, aMissing ), path( rootB, bMissing ),
+                                                                        path( rootC, cD, dMissing ) ) ) ) );
+        assertThat( unlimited.isTruncated( missing ), equalTo( false ) );
+
+        final MissingImpactTraversal counted = traverse( 2, 0, false );
+        assertThat( counted.getPaths( missing )
+                           .size(), equalTo( 2 ) );
+        assertThat( counted.isTruncated( missing ), equalTo( true ) );
+        assertThat( counted.isSaturated(), equalTo( true ) );
+
+        final MissingImpactTraversal shallow = traverse( 0, 2, false );
+        assertThat( paths( shallow ),
+                    equalTo( paths( Arrays.asList( path( rootA, aMissing ), path( rootB, bMissing ) ) ) ) );
+        assertThat( shallow.isTruncated( missing ), equalTo( false ) );
+    }
+
+    @Test
+    public void shortestOnlyKeepsThePathsOfMinimalLength()
+        throws Exception
+    {
+        final MissingImpactTraversal shortest = traverse( 0, 0, true );
+        assertThat( paths( shortest ),
+                    equalTo( paths( Arrays.asList( path( rootA, aMissing ), path( rootB, bMissing ) ) ) ) );
+        assertThat( shortest.isSaturated(), equalTo( false ) );
+    }
+
+    private MissingImpactTraversal traverse( final int maxPaths, final int maxDepth, final boolean shortestOnly )
+        throws Exception
+    {
+        final EProjectWeb web = new EProjectWeb( new MemoryEGraphDriver() );
+        web.addAll( path( rootA, rootB, rootC, aMissing, bMissing, cD, dMissing ) );
+
+        final MissingImpactTraversal traversal =
+            new MissingImpactTraversal( Collections.singleton( missing ), maxPaths, maxDepth, shortestOnly );
+        web.traverse( root, traversal );
+
+        return traversal;
+    }
+
+    private Set<List<ProjectRelationship<?>>> paths( final MissingImpactTraversal traversal )
+    {
+        return new HashSet<List<ProjectRelationship<?>>>( traversal.getPaths( missing ) );
+    }
+
+    private static Set<List<ProjectRelationship<?>>> paths( final List<List<ProjectRelationship<?>>> paths )
+    {
+        return new HashSet<List<ProjectRelationship<?>>>( paths );
+    }
+
+    private static List<ProjectRelationship<?>> path( final ProjectRelationship<?>... rels )
+    {
+        return Arrays.asList( rels );
+    }
+
+    private static ProjectVersionRef ref( final String artifactId )
+    {
+        return new ProjectVersionRef( "org.test", artifactId, "1.0" );
+    }
+
+    private static ProjectRelationship<?> dependency( final ProjectVersionRef declaring,
+                                                      final ProjectVersionRef target, final int index )
+    {
+        return new DependencyRelationship( declaring, new ArtifactRef( target, "jar", null, false ),
+                                           DependencyScope.compile, index, false );
+    }
+
+}
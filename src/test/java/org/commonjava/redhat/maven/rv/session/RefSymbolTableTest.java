@@ -0,0 +1,129 @@
+package org.commonjava.redhat.maven.rv.session;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.junit.Test;
+
+public class RefSymbolTableTest
+{
+
+    @Test
+    public void artifactsAndProjectsGetTheirOwnIdsAndAreLinked()
+        throws Exception
+    {
+        final RefSymbolTable symbols = new RefSymbolTable();
+
+        final ProjectVersionRef project = new ProjectVersionRef( "org.test", "project", "1.0" );
+        final ArtifactRef jar = new ArtifactRef( project, "jar", null, false );
+
+        final int projectId = symbols.register( project );
+        final int jarId = symbols.register( jar );
+
+        assertThat( jarId, not( equalTo( projectId ) ) );
+        assertThat( symbols.register( new ProjectVersionRef( "org.test", "project", "1.0" ) ), equalTo( projectId ) );
+        assertThat( symbols.find( new ProjectVersionRef( "org.test", "other", "1.0" ) ), equalTo( -1 ) );
+        assertThat( symbols.projectOf( jarId ), equalTo( projectId ) );
+        assertThat( symbols.projectOf( projectId ), equalTo( projectId ) );
+        assertThat( symbols.intern( new String( "org.test" ) ), sameInstance( symbols.intern( "org.test" ) ) );
+
+        final RefIdSet missing = new RefIdSet( symbols );
+        missing.add( project );
+
+        assertThat( missing.contains( project ), equalTo( true ) );
+        assertThat( missing.contains( jar ), equalTo( false ) );
+        assertThat( missing.containsProjectOf( jar ), equalTo( true ) );
+        assertThat( missing.containsProjectOf( new ArtifactRef( project, "pom", null, false ) ), equalTo( true ) );
+    }
+
+    @Test
+    public void artifactRegistersItsProjectAndIsKeyedOnTypeClassifierAndOptional()
+        throws Exception
+    {
+        final RefSymbolTable symbols = new RefSymbolTable();
+
+        final ProjectVersionRef project = new ProjectVersionRef( "org.test", "project", "1.0" );
+        final int jarId = symbols.register( new ArtifactRef( project, "jar", null, false ) );
+
+        final int projectId = symbols.find( new ProjectVersionRef( "org.test", "project", "1.0" ) );
+        assertThat( projectId, not( equalTo( -1 ) ) );
+        assertThat( symbols.get( projectId )
+                           .getClass(), equalTo( (Object) ProjectVersionRef.class ) );
+        assertThat( symbols.findProject( new ArtifactRef( project, "pom", null, false ) ), equalTo( projectId ) );
+        assertThat( symbols.projectOf( jarId ), equalTo( projectId ) );
+
+        assertThat( symbols.find( new ArtifactRef( project, "pom", null, false ) ), equalTo( -1 ) );
+        assertThat( symbols.register( new ArtifactRef( project, "jar", null, false ) ), equalTo( jarId ) );
+        assertThat( symbols.register( new ArtifactRef( project, "jar", "sources", false ) ), not( equalTo( jarId ) ) );
+        assertThat( symbols.register( new ArtifactRef( project, "jar", null, true ) ), not( equalTo( jarId ) ) );
+        assertThat( symbols.size(), equalTo( 4 ) );
+    }
+
+    @Test
+    public void setAndMapGrowPastTheirInitialCapacity()
+        throws Exception
+    {
+        final RefSymbolTable symbols = new RefSymbolTable();
+        final RefIdSet seen = new RefIdSet( symbols );
+        final RefIdMap<ProjectVersionRef, String> files = new RefIdMap<ProjectVersionRef, String>( symbols );
+
+        final List<ProjectVersionRef> refs = new ArrayList<ProjectVersionRef>();
+        for ( int i = 0; i < 3000; i++ )
+        {
+            final ProjectVersionRef ref = new ProjectVersionRef( "org.test", "project-" + i, "1.0" );
+            refs.add( ref );
+
+            assertThat( seen.add( ref ), equalTo( true ) );
+            if ( i % 2 == 0 )
+            {
+                assertThat( files.putIfAbsent( ref, "files-" + i ), nullValue() );
+            }
+        }
+
+        final List<Integer> jarIds = new ArrayList<Integer>();
+        for ( final ProjectVersionRef ref : refs )
+        {
+            jarIds.add( symbols.register( new ArtifactRef( ref, "jar", null, false ) ) );
+        }
+
+        for ( int i = 0; i < refs.size(); i++ )
+        {
+            final ArtifactRef jar = new ArtifactRef( refs.get( i ), "jar", null, false );
+            assertThat( symbols.find( jar ), equalTo( jarIds.get( i ) ) );
+            assertThat( symbols.find( new ProjectVersionRef( "org.test", "project-" + i, "1.0" ) ),
+                        equalTo( symbols.projectOf( jarIds.get( i ) ) ) );
+        }
+
+        assertThat( seen.add( refs.get( 0 ) ), equalTo( false ) );
+        assertThat( files.putIfAbsent( refs.get( 0 ), "other" ), equalTo( "files-0" ) );
+
+        assertThat( seen.size(), equalTo( 3000 ) );
+        assertThat( new ArrayList<ProjectVersionRef>( seen ), equalTo( refs ) );
+
+        assertThat( files.size(), equalTo( 1500 ) );
+        assertThat( files.get( refs.get( 2998 ) ), equalTo( "files-2998" ) );
+        assertThat( files.get( refs.get( 2999 ) ), nullValue() );
+
+        int entries = 0;
+        for ( final Map.Entry<ProjectVersionRef, String> entry : files.entrySet() )
+        {
+            assertThat( entry.getValue(), equalTo( "files-" + refs.indexOf( entry.getKey() ) ) );
+            entries++;
+        }
+
+        assertThat( entries, equalTo( 1500 ) );
+        assertThat( files.keySet()
+                         .containsAll( Arrays.asList( refs.get( 0 ), refs.get( 2 ) ) ), equalTo( true ) );
+    }
+
+}
@@ -0,0 +1,102 @@
+package org.commonjava.redhat.maven.rv.session;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.graph.common.ref.ProjectRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.commonjava.redhat.maven.rv.session.ResolutionCache.PluginVersion;
+import org.commonjava.redhat.maven.rv.session.ResolutionCache.PluginVersionLookup;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResolutionCacheTest
+{
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void rangeCachedForOneReferenceTypeIsFoundForAnother()
+        throws Exception
+    {
+        final ResolutionCache cache = new ResolutionCache();
+
+        final ProjectVersionRef range = new ProjectVersionRef( "org.foo", "bar", "[1.0,2.0)" );
+        final ProjectVersionRef resolved = new ProjectVersionRef( "org.foo", "bar", "1.5" );
+        final ProjectVersionRef unresolvable = new ProjectVersionRef( "org.foo", "bar", "[3.0,)" );
+
+        cache.cacheResolvedRange( new ArtifactRef( range, "jar", null, false ), resolved );
+        cache.cacheResolvedRange( unresolvable, null );
+
+        assertThat( cache.isRangeCached( range ), equalTo( true ) );
+        assertThat( cache.getResolvedRange( range ), equalTo( resolved ) );
+
+        assertThat( cache.isRangeCached( new ArtifactRef( unresolvable, "pom", null, false ) ), equalTo( true ) );
+        assertThat( cache.getResolvedRange( unresolvable ), nullValue() );
+
+        assertThat( cache.isRangeCached( new ProjectVersionRef( "org.foo", "baz", "[1.0,2.0)" ) ), equalTo( false ) );
+        assertThat( cache.getRangeStats()
+                         .getHits(), equalTo( 2L ) );
+    }
+
+    @Test
+    public void pluginVersionIsLookedUpOnceAndFailuresAreReportedForEachDeclaringPom()
+        throws Exception
+    {
+        final ResolutionCache cache = new ResolutionCache();
+        final ValidatorSession session =
+            new ValidatorSession.Builder( temp.newFolder( "repo" ), temp.newFolder( "workspace" ) ).build();
+
+        final ProjectRef found = new ProjectRef( "org.foo", "found-plugin" );
+        final ProjectRef broken = new ProjectRef( "org.foo", "broken-plugin" );
+        final ProjectVersionRef resolved = new ProjectVersionRef( "org.foo", "found-plugin", "1.0" );
+
+        final int[] lookups = new int[1];
+        final PluginVersionLookup lookup = new PluginVersionLookup()
+        {
+            public PluginVersion lookup( final ProjectRef plugin )
+            {
+                lookups[0]++;
+                if ( plugin.equals( found ) )
+                {
+                    return new PluginVersion( resolved, "1.0", null );
+                }
+
+                return new PluginVersion( null, null, new Exception( "No versions for " + plugin ) );
+            }
+        };
+
+        final ProjectVersionRef first = new ProjectVersionRef( "org.test", "first", "1.0" );
+        final ProjectVersionRef second = new ProjectVersionRef( "org.test", "second", "1.0" );
+
+        for ( final ProjectVersionRef src : new ProjectVersionRef[] { first, second } )
+        {
+            assertThat( cache.getPluginVersion( found, lookup )
+                             .getRef(), equalTo( resolved ) );
+
+            final PluginVersion failed = cache.getPluginVersion( broken, lookup );
+            assertThat( failed.getRef(), nullValue() );
+            failed.reportFailure( session, broken, src );
+        }
+
+        assertThat( lookups[0], equalTo( 2 ) );
+        assertThat( cache.getPluginStats()
+                         .getHits(), equalTo( 2L ) );
+
+        assertThat( session.getErrorsByRef()
+                           .get( first )
+                           .size(), equalTo( 1 ) );
+        assertThat( session.getErrorsByRef()
+                           .get( second )
+                           .size(), equalTo( 1 ) );
+        assertThat( session.getVersionResolutionFailures()
+                           .contains( broken ), equalTo( true ) );
+    }
+
+}
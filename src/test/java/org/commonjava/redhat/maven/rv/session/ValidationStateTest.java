@@ -0,0 +1,120 @@
+package org.commonjava.redhat.maven.rv.session;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.graph.common.ref.ProjectRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ValidationStateTest
+{
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void saveLoadAndReplayRestoresSessionResults()
+        throws Exception
+    {
+        final File repo = temp.newFolder( "repo" );
+        final File workspace = temp.newFolder( "workspace" );
+
+        final ProjectVersionRef child = new ProjectVersionRef( "org.foo", "child", "1" );
+        final ProjectVersionRef parent = new ProjectVersionRef( "org.foo", "parent", "1" );
+
+        final ValidatorSession first = newSession( repo, workspace );
+        first.startRecording( "child.pom", pom( repo, "child.pom" ) );
+        first.addSeen( child );
+        first.addMissing( parent );
+        first.addParentLink( child, parent );
+        first.addLowLevelError( new IOException( "boom" ) );
+        first.stopRecording();
+
+        first.getValidationState()
+             .save( first.getValidationStateFile() );
+
+        final ValidationState loaded = ValidationState.load( first.getValidationStateFile() );
+        assertThat( loaded.getFingerprint(), equalTo( first.getStateFingerprint() ) );
+        assertThat( loaded.get( "child.pom" )
+                          .isUnchanged( new File( repo, "child.pom" ) ), equalTo( true ) );
+
+        final ValidatorSession second = newSession( repo, workspace );
+        second.replay( loaded.get( "child.pom" ) );
+
+        assertThat( second.hasSeen( child ), equalTo( true ) );
+        assertThat( second.isMissing( parent ), equalTo( true ) );
+        assertThat( second.getLowLevelErrors()
+                          .size(), equalTo( 1 ) );
+        assertThat( second.getNextToProjectResolve(), equalTo( null ) );
+    }
+
+    @Test
+    public void changedParentInvalidatesChildrenTransitively()
+        throws Exception
+    {
+        final File repo = temp.newFolder( "repo" );
+        final File workspace = temp.newFolder( "workspace" );
+
+        final ProjectVersionRef grandparent = new ProjectVersionRef( "org.foo", "grandparent", "1" );
+        final ProjectVersionRef parent = new ProjectVersionRef( "org.foo", "parent", "1" );
+        final ProjectVersionRef child = new ProjectVersionRef( "org.foo", "child", "1" );
+        final ProjectVersionRef other = new ProjectVersionRef( "org.bar", "other", "1" );
+
+        final ValidatorSession session = newSession( repo, workspace );
+        record( session, repo, "parent.pom", parent, grandparent );
+        record( session, repo, "child.pom", child, parent );
+        record( session, repo, "other.pom", other, null );
+
+        final Set<String> dependents =
+            session.getValidationState()
+                   .findDependents( Collections.<String> emptySet(),
+                                    Collections.<ProjectRef> singleton( grandparent.asProjectRef() ) );
+
+        final Set<String> expected = new HashSet<String>();
+        expected.add( "parent.pom" );
+        expected.add( "child.pom" );
+
+        assertThat( dependents, equalTo( expected ) );
+    }
+
+    private void record( final ValidatorSession session, final File repo, final String path,
+                         final ProjectVersionRef ref, final ProjectVersionRef parent )
+        throws IOException
+    {
+        session.startRecording( path, pom( repo, path ) );
+        session.addSeen( ref );
+        if ( parent != null )
+        {
+            session.addParentLink( ref, parent );
+        }
+        session.addProjectFiles( ref, new String[] { path } );
+        session.stopRecording();
+    }
+
+    private File pom( final File repo, final String path )
+        throws IOException
+    {
+        final File pom = new File( repo, path );
+        FileUtils.writeStringToFile( pom, "<project/>" );
+
+        return pom;
+    }
+
+    private ValidatorSession newSession( final File repo, final File workspace )
+    {
+        return new ValidatorSession.Builder( repo, workspace ).withGraphingEnabled( false )
+                                                              .withIncremental( true )
+                                                              .build();
+    }
+
+}
@@ -1,11 +1,16 @@
 package org.commonjava.redhat.maven.rv.session;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 import org.apache.log4j.Level;
+import org.apache.maven.graph.common.DependencyScope;
+import org.apache.maven.graph.common.ref.ArtifactRef;
 import org.apache.maven.graph.common.ref.ProjectVersionRef;
 import org.apache.maven.graph.common.version.InvalidVersionSpecificationException;
+import org.apache.maven.graph.effective.EProjectWeb;
+import org.commonjava.redhat.maven.rv.graph.GraphBackend;
 import org.commonjava.util.logging.Log4jUtil;
 import org.junit.BeforeClass;
 import org.junit.Rule;
@@ -54,4 +59,57 @@ public class ValidatorSessionTest
                            .size(), equalTo( 1 ) );
     }
 
+    @Test
+    public void addSameArtifactToResolveTwice_QueuedOnlyOnce()
+        throws InvalidVersionSpecificationException, Exception
+    {
+        final ValidatorSession session = new ValidatorSession.Builder( null, null ).withGraphingEnabled( false )
+                                                                                   .build();
+
+        final ProjectVersionRef ref = new ProjectVersionRef( "isorelax", "isorelax", "20050331" );
+        session.addArtifactToResolve( ref, "jar" );
+        session.addArtifactToResolve( new ProjectVersionRef( "isorelax", "isorelax", "20050331" ), "jar" );
+
+        assertThat( session.getNextToProjectResolve(), equalTo( ref ) );
+        assertThat( session.getNextToProjectResolve(), nullValue() );
+
+        assertThat( session.getNextArtifactToResolve(), equalTo( new ArtifactRef( ref, "jar", null, false ) ) );
+        assertThat( session.getNextArtifactToResolve(), nullValue() );
+
+        // once drained, the same reference is not queued again.
+        session.addArtifactToResolve( ref, "jar" );
+        assertThat( session.getNextToProjectResolve(), nullValue() );
+        assertThat( session.getNextArtifactToResolve(), nullValue() );
+    }
+
+    @Test
+    public void relationshipsReachTheGraphInFullBatchesAndOnFlush()
+        throws Exception
+    {
+        final ValidatorSession session = new ValidatorSession.Builder( null, null ).withGraphingEnabled( true )
+                                                                                   .withGraphBackend( GraphBackend.MEMORY )
+                                                                                   .withGraphBatchSize( 2 )
+                                                                                   .build();
+
+        final ProjectVersionRef src = new ProjectVersionRef( "org.test", "app", "1.0" );
+        final EProjectWeb web = session.getProjectWeb();
+
+        session.addParentLink( src, new ProjectVersionRef( "org.test", "parent", "1" ) );
+        assertThat( web.getAllRelationships()
+                       .size(), equalTo( 0 ) );
+
+        session.addExtensionLink( src, new ProjectVersionRef( "org.test", "ext", "1" ), 0 );
+        assertThat( web.getAllRelationships()
+                       .size(), equalTo( 2 ) );
+
+        session.addDependencyLink( src, new ArtifactRef( "org.test", "lib", "1", "jar", null, false ),
+                                   DependencyScope.compile, 0, false );
+        assertThat( web.getAllRelationships()
+                       .size(), equalTo( 2 ) );
+
+        session.flushRelationships();
+        assertThat( web.getDirectRelationships( src )
+                       .size(), equalTo( 3 ) );
+    }
+
 }
@@ -1,6 +1,7 @@
 package org.commonjava.redhat.maven.rv.util;
 
 import static org.commonjava.redhat.maven.rv.util.ArtifactReferenceUtils.toArtifactRef;
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 
@@ -45,4 +46,38 @@ public class ArtifactReferenceUtilsTest
         assertThat( artifactRef, nullValue() );
     }
 
+    @Test
+    public void interpolateEachModelAgainstItsOwnProperties()
+        throws Exception
+    {
+        final ValidatorSession session = new ValidatorSession.Builder( null, null ).withGraphingEnabled( false )
+                                                                                   .build();
+
+        final Dependency dep = new Dependency();
+        dep.setGroupId( "${project.groupId}" );
+        dep.setArtifactId( "dep-artifact" );
+        dep.setVersion( "${version.dep}" );
+
+        for ( int i = 0; i < 2; i++ )
+        {
+            for ( final String version : new String[] { "1.0", "2.0" } )
+            {
+                final Model model = new Model();
+                model.setModelVersion( "4.0.0" );
+                model.setGroupId( "group.id" );
+                model.setArtifactId( "artifact-id" );
+                model.setVersion( "1.0" );
+                model.addProperty( "version.dep", version );
+
+                final ProjectVersionRef ref =
+                    new ProjectVersionRef( model.getGroupId(), model.getArtifactId(), model.getVersion() );
+
+                final ArtifactRef artifactRef = toArtifactRef( dep, ref, session, model );
+
+                assertThat( artifactRef.getGroupId(), equalTo( "group.id" ) );
+                assertThat( artifactRef.getVersionString(), equalTo( version ) );
+            }
+        }
+    }
+
 }
@@ -0,0 +1,47 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+public class AsyncLoggerTest
+{
+
+    @Test
+    public void messagesAreFormattedWhenWrittenAndDroppedWhenTheRingIsFull()
+    {
+        final LogRing ring = new LogRing( 2, false );
+        final AsyncLogger logger = new AsyncLogger( LoggerFactory.getLogger( getClass() ), ring );
+
+        final Rendered first = new Rendered();
+        logger.info( "first: %s", first );
+        logger.info( "second: %s", new Rendered() );
+        logger.info( "third: %s", new Rendered() );
+
+        assertThat( first.count, equalTo( 0 ) );
+        assertThat( ring.getDropped(), equalTo( 1L ) );
+
+        assertThat( ring.drain(), equalTo( 2 ) );
+        assertThat( first.count, equalTo( 1 ) );
+
+        logger.info( "fourth: %s", new Rendered() );
+        ring.flush();
+        assertThat( ring.drain(), equalTo( 0 ) );
+        assertThat( ring.getDropped(), equalTo( 1L ) );
+    }
+
+    private static final class Rendered
+    {
+        private int count;
+
+        @Override
+        public String toString()
+        {
+            count++;
+            return "rendered";
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.graph.common.DependencyScope;
+import org.apache.maven.graph.common.ref.ArtifactRef;
+import org.apache.maven.graph.common.ref.ProjectVersionRef;
+import org.apache.maven.graph.effective.rel.DependencyRelationship;
+import org.apache.maven.graph.effective.rel.ParentRelationship;
+import org.apache.maven.graph.effective.rel.ProjectRelationship;
+import org.junit.Test;
+
+public class KeyedSortTest
+{
+
+    @Test
+    public void sortsByRankThenKeyWithNullsLastAndKeepsTiesInOrder()
+    {
+        assertThat( KeyedSort.sortByToString( Arrays.asList( "b", null, "a:x", "a.b:x" ) ),
+                    equalTo( Arrays.asList( "a.b:x", "a:x", "b", null ) ) );
+
+        final ProjectVersionRef child = new ProjectVersionRef( "org.test", "child", "1.0" );
+        final ProjectVersionRef other = new ProjectVersionRef( "org.test", "other", "1.0" );
+        final ProjectVersionRef parent = new ProjectVersionRef( "org.test", "parent", "1.0" );
+
+        final ProjectRelationship<?> otherDep = dependency( other, parent, 0 );
+        final ProjectRelationship<?> childDep1 = dependency( child, parent, 1 );
+        final ProjectRelationship<?> childDep0 = dependency( child, parent, 0 );
+        final ProjectRelationship<?> otherParent = new ParentRelationship( other, parent );
+
+        final List<ProjectRelationship<?>> sorted =
+            KeyedSort.sortByDeclaration( Arrays.asList( otherParent, otherDep, childDep1, childDep0 ) );
+
+        assertThat( sorted, equalTo( Arrays.asList( otherParent, childDep1, childDep0, otherDep ) ) );
+    }
+
+    private static ProjectRelationship<?> dependency( final ProjectVersionRef declaring,
+                                                      final ProjectVersionRef target, final int index )
+    {
+        return new DependencyRelationship( declaring, new ArtifactRef( target, "jar", null, false ),
+                                           DependencyScope.compile, index, false );
+    }
+
+}
@@ -0,0 +1,66 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.matchers.JUnitMatchers.containsString;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MetricsRegistryTest
+{
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void snapshotsRenderEveryMetricAndAccumulateInTheHistory()
+        throws Exception
+    {
+        final MetricsRegistry metrics = new MetricsRegistry();
+        metrics.add( "graph.relationshipsWritten", 5 );
+        metrics.increment( "graph.relationshipsWritten" );
+        metrics.gauge( "queue.\"depth\"", new MetricsRegistry.Gauge()
+        {
+            public double getValue()
+            {
+                return 3;
+            }
+        } );
+
+        final LatencyHistogram histogram = metrics.histogram( "model.build" );
+        for ( int i = 0; i < 9; i++ )
+        {
+            histogram.record( 1000000 );
+        }
+        histogram.record( 100000000 );
+
+        assertThat( histogram.getCount(), equalTo( 10L ) );
+        assertThat( histogram.getPercentileMillis( 0.5 ), equalTo( 1.024 ) );
+        assertThat( histogram.getPercentileMillis( 0.99 ), equalTo( 100.0 ) );
+        assertThat( histogram.getMaxMillis(), equalTo( 100.0 ) );
+
+        final String json = metrics.toJson();
+        assertThat( json, containsString( "\"graph.relationshipsWritten\":{\"count\":6," ) );
+        assertThat( json, containsString( "\"model.build\":{\"count\":10," ) );
+        assertThat( json, containsString( "\"meanMillis\":10.900," ) );
+        assertThat( json, containsString( "\"gauges\":{\"queue.\\\"depth\\\"\":3.000}}" ) );
+
+        final File dir = temp.newFolder( "workspace" );
+        metrics.writeSnapshot( dir );
+        metrics.writeSnapshot( dir );
+
+        assertThat( FileUtils.readFileToString( new File( dir, MetricsRegistry.SNAPSHOT_FILE ) )
+                             .trim()
+                             .startsWith( "{\"timestamp\":" ), equalTo( true ) );
+
+        final List<?> history = FileUtils.readLines( new File( dir, MetricsRegistry.HISTORY_FILE ) );
+        assertThat( history.size(), equalTo( 2 ) );
+    }
+
+}
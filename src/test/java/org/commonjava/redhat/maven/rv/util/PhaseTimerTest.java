@@ -0,0 +1,60 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.matchers.JUnitMatchers.containsString;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class PhaseTimerTest
+{
+
+    @Test
+    public void phasesAddUpEveryTimingInTheOrderTheyFirstFinish()
+        throws Exception
+    {
+        final PhaseTimer timer = new PhaseTimer();
+
+        final PhaseTimer.Split scan = timer.start();
+        final PhaseTimer.Split first = timer.start();
+        Thread.sleep( 5 );
+        timer.stop( "build.poms", first );
+
+        final PhaseTimer.Split second = timer.start();
+        final byte[][] garbage = new byte[64][];
+        for ( int i = 0; i < garbage.length; i++ )
+        {
+            garbage[i] = new byte[16 * 1024];
+        }
+        timer.stop( "build.poms", second );
+        timer.stop( "scan.poms", scan );
+
+        final Map<String, PhaseTimer.Phase> phases = timer.getPhases();
+        assertThat( phases.keySet()
+                          .toString(), equalTo( Arrays.asList( "build.poms", "scan.poms" )
+                                                      .toString() ) );
+
+        final PhaseTimer.Phase build = phases.get( "build.poms" );
+        assertThat( build.getCount(), equalTo( 2L ) );
+        assertThat( build.getWallNanos() >= 5000000, equalTo( true ) );
+        assertThat( build.getSpanNanos() >= build.getWallNanos(), equalTo( true ) );
+        assertThat( build.getCpuNanos() <= build.getWallNanos(), equalTo( true ) );
+        if ( build.getAllocatedBytes() >= 0 )
+        {
+            assertThat( build.getAllocatedBytes() >= 64 * 16 * 1024, equalTo( true ) );
+        }
+
+        assertThat( phases.get( "scan.poms" )
+                          .getCount(), equalTo( 1L ) );
+
+        final List<String> table = timer.getTable();
+        assertThat( table.size(), equalTo( 3 ) );
+        assertThat( table.get( 0 ), containsString( "Busy (ms)" ) );
+        assertThat( table.get( 1 ), containsString( "build.poms" ) );
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.commonjava.redhat.maven.rv.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class SortedSnapshotTest
+{
+
+    @Test
+    public void snapshotIsReusedUntilSourceGrows()
+    {
+        final Set<String> source = new HashSet<String>( Arrays.asList( "c", "a", "b" ) );
+        final SortedSnapshot<String> snapshot = new SortedSnapshot<String>( source );
+
+        final List<String> first = snapshot.get();
+        assertThat( first, equalTo( Arrays.asList( "a", "b", "c" ) ) );
+        assertThat( snapshot.get(), sameInstance( first ) );
+
+        source.add( "0" );
+        assertThat( snapshot.get(), equalTo( Arrays.asList( "0", "a", "b", "c" ) ) );
+
+        final StringWriter sw = new StringWriter();
+        ReportUtils.printJoined( new PrintWriter( sw, true ), snapshot.get(), "\n" );
+        assertThat( sw.toString(), equalTo( "0\na\nb\nc" ) );
+    }
+
+}